@@ -0,0 +1,46 @@
+package com.bcnc_group_test.benchmarks;
+
+import com.bcnc_group_test.BcncGroupExamApplication;
+import com.bcnc_group_test.persistence.IPriceDAO;
+import com.bcnc_group_test.persistence.impl.PriceColumnarDAOImpl;
+import com.bcnc_group_test.persistence.impl.PriceInMemoryDAOImpl;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Starts the application without the web layer on its own in-memory database, loaded with a synthetic dataset.
+ */
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static ConfigurableApplicationContext start(String priceDao, int datasetSize) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BcncGroupExamApplication.class)
+            .web(WebApplicationType.NONE)
+            // As command line arguments, which take precedence over application.properties and the environment.
+            .run(
+                "--DATABASE_NAME=jmh",
+                "--DATABASE_USER=sa",
+                "--DATABASE_PASSWORD=",
+                "--bcnc_group_test.price.dao=" + priceDao,
+                "--spring.main.banner-mode=off",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=warn",
+                "--logging.level.org.hibernate.SQL=warn",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=warn"
+            );
+
+        SyntheticPrices.insert(context.getBean(JdbcTemplate.class), datasetSize);
+        IPriceDAO priceDAO = context.getBean(IPriceDAO.class);
+        if (priceDAO instanceof PriceInMemoryDAOImpl inMemoryDAO) {
+            inMemoryDAO.loadIndex();
+        } else if (priceDAO instanceof PriceColumnarDAOImpl columnarDAO) {
+            columnarDAO.loadStore();
+        }
+        return context;
+    }
+}
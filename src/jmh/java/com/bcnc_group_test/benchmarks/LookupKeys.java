@@ -0,0 +1,46 @@
+package com.bcnc_group_test.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * A fixed, seeded sequence of price lookups spread over every brand, product and day of a synthetic dataset.
+ */
+public final class LookupKeys {
+
+    private static final int SIZE = 1 << 12;
+
+    private final long[] productIds = new long[SIZE];
+    private final long[] brandIds = new long[SIZE];
+    private final LocalDateTime[] applicationDates = new LocalDateTime[SIZE];
+    private int next;
+
+    public LookupKeys(int datasetSize) {
+        Random random = new Random(42);
+        int products = SyntheticPrices.productsPerBrand(datasetSize);
+        for (int index = 0; index < SIZE; index++) {
+            productIds[index] = SyntheticPrices.FIRST_PRODUCT_ID + random.nextInt(products);
+            brandIds[index] = 1 + random.nextInt(SyntheticPrices.BRANDS);
+            applicationDates[index] = SyntheticPrices.randomDate(random);
+        }
+    }
+
+    /**
+     * Moves to the next lookup and returns its position, to be read with the accessors below.
+     */
+    public int next() {
+        return next++ & (SIZE - 1);
+    }
+
+    public long productId(int index) {
+        return productIds[index];
+    }
+
+    public long brandId(int index) {
+        return brandIds[index];
+    }
+
+    public LocalDateTime applicationDate(int index) {
+        return applicationDates[index];
+    }
+}
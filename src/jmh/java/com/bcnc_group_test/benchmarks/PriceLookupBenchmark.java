@@ -0,0 +1,61 @@
+package com.bcnc_group_test.benchmarks;
+
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.services.impl.PriceServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PriceServiceImpl#getPrice} below the controller, answered by each price DAO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PriceLookupBenchmark {
+
+    @Param({"10000"})
+    private int datasetSize;
+
+    @Param({"in-memory", "columnar", "jpa"})
+    private String priceDao;
+
+    private ConfigurableApplicationContext context;
+    private PriceServiceImpl priceService;
+    private LookupKeys lookupKeys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(priceDao, datasetSize);
+        priceService = context.getBean(PriceServiceImpl.class);
+        lookupKeys = new LookupKeys(datasetSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Price> getPrice() {
+        int index = lookupKeys.next();
+        return priceService.getPrice(lookupKeys.productId(index), lookupKeys.brandId(index), lookupKeys.applicationDate(index));
+    }
+}
@@ -0,0 +1,81 @@
+package com.bcnc_group_test.benchmarks;
+
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.services.impl.PriceServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the database price lookup with {@code idx_price_lookup} covering every column of the price row, with only
+ * its key columns (brand, product, dates and priority, as created by V2) and without it.
+ * Run it at several sizes with {@code -Djmh.datasetSize=10000,1000000,10000000}; the largest needs a few GB of heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class PriceLookupIndexBenchmark {
+
+    @Param({"10000"})
+    private int datasetSize;
+
+    @Param({"covering", "keys", "none"})
+    private String lookupIndex;
+
+    private ConfigurableApplicationContext context;
+    private PriceServiceImpl priceService;
+    private LookupKeys lookupKeys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("jpa", datasetSize);
+        if (!lookupIndex.equals("covering")) {
+            dropLookupIndex(context.getBean(JdbcTemplate.class));
+        }
+        if (lookupIndex.equals("keys")) {
+            context.getBean(JdbcTemplate.class)
+                .execute("CREATE INDEX idx_price_lookup ON price (brand_id, product_id, start_date, end_date, priority)");
+        }
+        priceService = context.getBean(PriceServiceImpl.class);
+        lookupKeys = new LookupKeys(datasetSize);
+    }
+
+    /**
+     * H2 reuses idx_price_lookup for the foreign key on brand_id, so the foreign keys of the table are dropped first.
+     */
+    private static void dropLookupIndex(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.queryForList("SELECT CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS " +
+                "WHERE TABLE_NAME = 'PRICE' AND CONSTRAINT_TYPE = 'FOREIGN KEY'", String.class)
+            .forEach(constraint -> jdbcTemplate.execute("ALTER TABLE price DROP CONSTRAINT " + constraint));
+        jdbcTemplate.execute("DROP INDEX idx_price_lookup");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Price> getPrice() {
+        int index = lookupKeys.next();
+        return priceService.getPrice(lookupKeys.productId(index), lookupKeys.brandId(index), lookupKeys.applicationDate(index));
+    }
+}
@@ -0,0 +1,72 @@
+package com.bcnc_group_test.benchmarks;
+
+import com.bcnc_group_test.controllers.dto.PriceDTO;
+import com.bcnc_group_test.controllers.dto.PriceToApplyDTO;
+import com.bcnc_group_test.controllers.dto.mapper.PriceMapper;
+import com.bcnc_group_test.entities.Price;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the mapping of a single price between the entity and its DTOs, cycling over a synthetic dataset.
+ * The gc profiler reports the bytes allocated per mapping as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PriceMapperBenchmark {
+
+    @Param({"10000"})
+    private int datasetSize;
+
+    private List<Price> prices;
+    private List<PriceDTO> priceDTOs;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        prices = SyntheticPrices.generate(datasetSize);
+        priceDTOs = prices.stream().map(PriceMapper::toPriceDTO).toList();
+    }
+
+    @Benchmark
+    public PriceDTO toPriceDTO() {
+        return PriceMapper.toPriceDTO(nextPrice());
+    }
+
+    @Benchmark
+    public PriceToApplyDTO toPriceToApplyDTO() {
+        return PriceMapper.toPriceToApplyDTO(nextPrice());
+    }
+
+    @Benchmark
+    public Price toPriceEntity() {
+        if (next == priceDTOs.size()) {
+            next = 0;
+        }
+        return PriceMapper.toPriceEntity(priceDTOs.get(next++));
+    }
+
+    private Price nextPrice() {
+        if (next == prices.size()) {
+            next = 0;
+        }
+        return prices.get(next++);
+    }
+}
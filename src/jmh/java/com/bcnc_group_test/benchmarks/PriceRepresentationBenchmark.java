@@ -0,0 +1,81 @@
+package com.bcnc_group_test.benchmarks;
+
+import com.bcnc_group_test.controllers.dto.mapper.PriceMapper;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.handler.ResponseEnvelope;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures encoding {@code datasetSize} prices, mapping included, in each representation {@code GET /api/v1/prices}
+ * can answer with: JSON objects, JSON columns, CBOR and Smile, each also gzip compressed the way the server does when
+ * the client accepts it. The time per operation is the serialization CPU for the whole dataset; the bytes on the wire
+ * of each representation are printed once per trial, before the warmup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PriceRepresentationBenchmark {
+
+    @Param({"10000"})
+    private int datasetSize;
+
+    @Param({"json", "columns", "cbor", "smile"})
+    private String representation;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private List<Price> prices;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = switch (representation) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        prices = SyntheticPrices.generate(datasetSize);
+        System.out.printf("%n%s%s: %d bytes for %d prices%n", representation, gzip ? "+gzip" : "", encode().length, prices.size());
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        Object data = representation.equals("columns")
+            ? PriceMapper.toPriceColumnsDTO(prices)
+            : prices.stream().map(PriceMapper::toPriceDTO).toList();
+        byte[] body = objectMapper.writeValueAsBytes(new ResponseEnvelope<>("OK", HttpStatus.OK.value(), data, prices.size()));
+        return gzip ? gzip(body) : body;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream outputStream = new GZIPOutputStream(compressed)) {
+            outputStream.write(body);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,86 @@
+package com.bcnc_group_test.benchmarks;
+
+import com.bcnc_group_test.controllers.dto.PriceDTO;
+import com.bcnc_group_test.controllers.dto.PriceToApplyDTO;
+import com.bcnc_group_test.controllers.dto.mapper.PriceMapper;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.handler.ResponseHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures building a response with {@link ResponseHandler} and serializing its body to JSON bytes, as the
+ * message converter does, for the get-price response and for a default sized page of prices. Static responses
+ * are encoded once, so their benchmark measures the lookup and copy of the cached body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseHandlerBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"10000"})
+    private int datasetSize;
+
+    private ObjectMapper objectMapper;
+    private List<PriceToApplyDTO> pricesToApply;
+    private List<List<PriceDTO>> pages;
+    private int nextPrice;
+    private int nextPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Price> prices = SyntheticPrices.generate(datasetSize);
+        pricesToApply = prices.stream().map(PriceMapper::toPriceToApplyDTO).toList();
+        List<PriceDTO> priceDTOs = prices.stream().map(PriceMapper::toPriceDTO).toList();
+        pages = IntStream.range(0, Math.max(1, priceDTOs.size() / PAGE_SIZE))
+            .mapToObj(page -> priceDTOs.subList(page * PAGE_SIZE, Math.min(priceDTOs.size(), (page + 1) * PAGE_SIZE)))
+            .toList();
+    }
+
+    @Benchmark
+    public byte[] getPriceResponse() throws JsonProcessingException {
+        if (nextPrice == pricesToApply.size()) {
+            nextPrice = 0;
+        }
+        PriceToApplyDTO price = pricesToApply.get(nextPrice++);
+        return objectMapper.writeValueAsBytes(ResponseHandler.generateResponse("OK", HttpStatus.OK, price, 1).getBody());
+    }
+
+    @Benchmark
+    public byte[] findAllPageResponse() throws JsonProcessingException {
+        if (nextPage == pages.size()) {
+            nextPage = 0;
+        }
+        List<PriceDTO> page = pages.get(nextPage++);
+        return objectMapper.writeValueAsBytes(ResponseHandler.generateResponse("OK", HttpStatus.OK, page, page.size()).getBody());
+    }
+
+    @Benchmark
+    public byte[] priceNotFoundResponse() {
+        return ResponseHandler.generateStaticResponse(objectMapper, "Price not found", HttpStatus.NOT_FOUND).getBody();
+    }
+}
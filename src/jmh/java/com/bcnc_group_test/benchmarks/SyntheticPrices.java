@@ -0,0 +1,112 @@
+package com.bcnc_group_test.benchmarks;
+
+import com.bcnc_group_test.entities.Brand;
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.Product;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic price datasets shaped like the seed data: every product of every brand gets a base price for the
+ * whole year and three shorter promotions with a higher priority on top of it.
+ */
+public final class SyntheticPrices {
+
+    public static final int BRANDS = 4;
+    public static final int PRICES_PER_PRODUCT = 4;
+    public static final long FIRST_PRODUCT_ID = 100_000L;
+    public static final LocalDateTime YEAR_START = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private SyntheticPrices() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Number of products per brand needed to reach roughly the given number of prices.
+     */
+    public static int productsPerBrand(int datasetSize) {
+        return Math.max(1, datasetSize / (BRANDS * PRICES_PER_PRODUCT));
+    }
+
+    public static List<Price> generate(int datasetSize) {
+        int products = productsPerBrand(datasetSize);
+        List<Price> prices = new ArrayList<>(products * BRANDS * PRICES_PER_PRODUCT);
+        long id = 1;
+        for (long brandId = 1; brandId <= BRANDS; brandId++) {
+            Brand brand = Brand.builder().id(brandId).name("Brand " + brandId).build();
+            for (int index = 0; index < products; index++) {
+                long productId = FIRST_PRODUCT_ID + index;
+                Product product = Product.builder().id(productId).name("Product " + productId).build();
+                for (int position = 0; position < PRICES_PER_PRODUCT; position++) {
+                    prices.add(price(id++, brand, product, position));
+                }
+            }
+        }
+        return prices;
+    }
+
+    /**
+     * Inserts the dataset with JDBC batches, creating the products it references. Brands 1 to {@value #BRANDS}
+     * already exist in the seed data.
+     */
+    public static void insert(JdbcTemplate jdbcTemplate, int datasetSize) {
+        int products = productsPerBrand(datasetSize);
+        List<Object[]> productRows = new ArrayList<>(BATCH_SIZE);
+        for (int index = 0; index < products; index++) {
+            long productId = FIRST_PRODUCT_ID + index;
+            productRows.add(new Object[]{productId, "Product " + productId});
+            if (productRows.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate("INSERT INTO product (id, name) VALUES (?, ?)", productRows);
+                productRows.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO product (id, name) VALUES (?, ?)", productRows);
+
+        String insertPrice = "INSERT INTO price (brand_id, product_id, start_date, end_date, price_list, priority, price, currency) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> priceRows = new ArrayList<>(BATCH_SIZE);
+        for (Price price : generate(datasetSize)) {
+            priceRows.add(new Object[]{
+                price.getBrand().getId(), price.getProduct().getId(),
+                Timestamp.valueOf(price.getStartDate()), Timestamp.valueOf(price.getEndDate()),
+                price.getPriceList(), price.getPriority(), price.getPrice(), price.getCurrency().name()
+            });
+            if (priceRows.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(insertPrice, priceRows);
+                priceRows.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate(insertPrice, priceRows);
+    }
+
+    /**
+     * A random application date within the year covered by the dataset.
+     */
+    public static LocalDateTime randomDate(Random random) {
+        return YEAR_START.plusMinutes(random.nextInt(365 * 24 * 60));
+    }
+
+    private static Price price(long id, Brand brand, Product product, int position) {
+        LocalDateTime startDate = position == 0 ? YEAR_START : YEAR_START.plusDays(position * 90L + product.getId() % 30);
+        LocalDateTime endDate = position == 0 ? YEAR_START.plusYears(1).minusSeconds(1) : startDate.plusDays(20);
+        return Price.builder()
+            .id(id)
+            .brand(brand)
+            .product(product)
+            .startDate(startDate)
+            .endDate(endDate)
+            .priceList((long) position + 1)
+            .priority(position == 0 ? 0 : 1)
+            .price(10 + position * 2.5)
+            .currency(CurrencyCode.EUR)
+            .build();
+    }
+}
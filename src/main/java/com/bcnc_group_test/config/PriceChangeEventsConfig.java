@@ -0,0 +1,21 @@
+package com.bcnc_group_test.config;
+
+import com.bcnc_group_test.events.InProcessPriceChangeBroker;
+import com.bcnc_group_test.events.PriceChangeBroker;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PriceChangeEventsConfig {
+
+    /**
+     * Broker of the published price changes. The in-process one only reaches this instance; declare a
+     * {@link PriceChangeBroker} bean backed by a message broker to reach the other instances.
+     */
+    @Bean
+    @ConditionalOnMissingBean(PriceChangeBroker.class)
+    public PriceChangeBroker priceChangeBroker() {
+        return new InProcessPriceChangeBroker();
+    }
+}
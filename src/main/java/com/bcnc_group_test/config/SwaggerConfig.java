@@ -65,7 +65,7 @@ public class SwaggerConfig {
             Paths filteredPaths = new Paths();
 
             paths.forEach((key, value) -> {
-                if (key.startsWith("/api/v1/")) {
+                if (key.startsWith("/api/v1/") || key.startsWith("/api/v2/")) {
                     filteredPaths.addPathItem(key, value);
                 }
             });
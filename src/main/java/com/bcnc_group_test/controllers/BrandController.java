@@ -3,8 +3,10 @@ package com.bcnc_group_test.controllers;
 import com.bcnc_group_test.controllers.dto.BrandDTO;
 import com.bcnc_group_test.controllers.dto.mapper.BrandMapper;
 import com.bcnc_group_test.entities.Brand;
+import com.bcnc_group_test.handler.PageResponseHandler;
 import com.bcnc_group_test.handler.ResponseHandler;
 import com.bcnc_group_test.services.IBrandService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -16,6 +18,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -27,24 +30,45 @@ import java.util.Optional;
 public class BrandController {
 
     private final IBrandService brandService;
+    private final ObjectMapper objectMapper;
 
-    public BrandController(IBrandService brandService) {
+    public BrandController(IBrandService brandService, ObjectMapper objectMapper) {
         this.brandService = brandService;
+        this.objectMapper = objectMapper;
     }
 
-    @Operation(summary = "Get all brands", description = "Retrieve a list of all brands", tags = {"getAll"})
+    @Operation(summary = "Get all brands", description = "Retrieve a page of brands ordered by ID. " +
+        "Pass the ID of the last brand received as afterId to get the next page", tags = {"getAll"})
     @ApiResponse(
         responseCode = "200",
         description = "Successful operation",
         content = @Content(mediaType = "application/json", schema = @Schema(implementation = BrandDTO.class))
     )
     @GetMapping("")
-    public ResponseEntity<?> findAll() {
-        List<BrandDTO> brandDTOList = brandService.findAll()
-            .stream()
-            .map(BrandMapper::toBrandDTO)
-            .toList();
-        return ResponseHandler.generateResponse("OK", HttpStatus.OK, brandDTOList, brandDTOList.size());
+    public ResponseEntity<?> findAll(
+        @RequestParam(defaultValue = "0", name = "afterId") Long afterId,
+        @RequestParam(defaultValue = PageResponseHandler.DEFAULT_PAGE_SIZE, name = "size") int size
+    ) {
+        if (afterId < 0) {
+            return ResponseHandler.generateResponse("Invalid afterId " + afterId, HttpStatus.BAD_REQUEST);
+        }
+        if (size <= 0 || size > PageResponseHandler.MAX_PAGE_SIZE) {
+            return ResponseHandler.generateStaticResponse(objectMapper, "Page size must be between 1 and " + PageResponseHandler.MAX_PAGE_SIZE, HttpStatus.BAD_REQUEST);
+        }
+
+        List<Brand> brands = brandService.findAll(afterId, size);
+        return PageResponseHandler.generatePageResponse(brands, size, Brand::getId, BrandMapper::toBrandDTO);
+    }
+
+    @Operation(summary = "Stream all brands", description = "Stream every brand as newline-delimited JSON, reading the table in keyset pages", tags = {"getAll"})
+    @ApiResponse(
+        responseCode = "200",
+        description = "Successful operation",
+        content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = BrandDTO.class))
+    )
+    @GetMapping(value = "", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> findAllAsStream() {
+        return PageResponseHandler.generateStreamResponse(objectMapper, brandService::findAll, Brand::getId, BrandMapper::toBrandDTO);
     }
 
     @Operation(summary = "Get a brand by ID", description = "Retrieve a brand by its ID", tags = {"get"})
@@ -89,11 +113,11 @@ public class BrandController {
     @PostMapping("")
     public ResponseEntity<?> save(@RequestBody BrandDTO brandDTO) {
         if (brandDTO.getName() == null || brandDTO.getName().isBlank()) {
-            return ResponseHandler.generateResponse("Brand name is required", HttpStatus.BAD_REQUEST);
+            return ResponseHandler.generateStaticResponse(objectMapper, "Brand name is required", HttpStatus.BAD_REQUEST);
         }
 
         brandService.save(BrandMapper.toBrandEntity(brandDTO));
-        return ResponseHandler.generateResponse("Brand created successfully", HttpStatus.CREATED);
+        return ResponseHandler.generateStaticResponse(objectMapper, "Brand created successfully", HttpStatus.CREATED);
     }
 
     @Operation(summary = "Update a brand by ID", description = "Update an existing brand by its ID", tags = {"update"})
@@ -119,10 +143,10 @@ public class BrandController {
             Brand brand = brandOptional.get();
             brand.setName(brandDTO.getName());
             brandService.save(brand);
-            return ResponseHandler.generateResponse("Brand updated successfully", HttpStatus.OK);
+            return ResponseHandler.generateStaticResponse(objectMapper, "Brand updated successfully", HttpStatus.OK);
         }
         return brandDTO.getName().isBlank() ?
-            ResponseHandler.generateResponse("Brand name is required", HttpStatus.BAD_REQUEST) :
+            ResponseHandler.generateStaticResponse(objectMapper, "Brand name is required", HttpStatus.BAD_REQUEST) :
             ResponseHandler.generateResponse("Brand " + id + " not found", HttpStatus.NOT_FOUND);
     }
 
@@ -146,6 +170,6 @@ public class BrandController {
         }
 
         brandService.deleteById(id);
-        return ResponseHandler.generateResponse("Brand deleted successfully", HttpStatus.OK);
+        return ResponseHandler.generateStaticResponse(objectMapper, "Brand deleted successfully", HttpStatus.OK);
     }
 }
@@ -1,51 +1,207 @@
 package com.bcnc_group_test.controllers;
 
+import com.bcnc_group_test.controllers.dto.PriceBatchRequestDTO;
+import com.bcnc_group_test.controllers.dto.PriceColumnsDTO;
 import com.bcnc_group_test.controllers.dto.PriceDTO;
 import com.bcnc_group_test.controllers.dto.PriceToApplyDTO;
 import com.bcnc_group_test.controllers.dto.mapper.PriceMapper;
 import com.bcnc_group_test.entities.CurrencyCode;
 import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.handler.ConditionalResponseHandler;
+import com.bcnc_group_test.handler.ConditionalResponseHandler.ContentHash;
+import com.bcnc_group_test.handler.ExportResponseHandler;
+import com.bcnc_group_test.handler.ExportResponseHandler.ExportFormat;
+import com.bcnc_group_test.handler.PageResponseHandler;
 import com.bcnc_group_test.handler.ResponseHandler;
+import com.bcnc_group_test.metrics.PriceLookupMetrics;
+import com.bcnc_group_test.metrics.PriceLookupMetrics.Stage;
+import com.bcnc_group_test.repository.projection.PriceRow;
+import com.bcnc_group_test.services.IPriceImportService;
 import com.bcnc_group_test.services.IPriceService;
+import com.bcnc_group_test.services.PriceImportFormat;
+import com.bcnc_group_test.services.PriceImportReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 
 @Tag(name = "Price", description = "Price management API")
 @RestController
 @RequestMapping("/api/v1/prices")
 public class PriceController {
 
+    static final int MAX_BATCH_SIZE = 500;
+    /**
+     * Version of the price book a lookup was answered from, or an earlier one: every write acknowledged with version
+     * N is visible to the lookups answered with N or later. Only sent when the lookups are served from memory.
+     */
+    static final String PRICE_BOOK_VERSION_HEADER = "X-Price-Book-Version";
+
     private final IPriceService priceService;
+    private final IPriceImportService priceImportService;
+    private final PriceLookupMetrics priceLookupMetrics;
+    private final ObjectMapper objectMapper;
+    private final CacheControl cacheControl;
+    /**
+     * Prefix of the entity tags built from the price book version. Versions are counted per instance from startup, so
+     * a tag is only trusted without a lookup by the process that issued it.
+     */
+    private final String versionTagEpoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
 
-    public PriceController(IPriceService priceService) {
+    public PriceController(IPriceService priceService, IPriceImportService priceImportService, PriceLookupMetrics priceLookupMetrics,
+                           ObjectMapper objectMapper, @Value("${bcnc_group_test.price.http.max-age-seconds:0}") long maxAgeSeconds) {
         this.priceService = priceService;
+        this.priceImportService = priceImportService;
+        this.priceLookupMetrics = priceLookupMetrics;
+        this.objectMapper = objectMapper;
+        this.cacheControl = ConditionalResponseHandler.cacheControl(maxAgeSeconds);
+    }
+
+    @Operation(summary = "Get all prices", description = "Retrieve a page of prices ordered by ID. " +
+        "Pass the ID of the last price received as afterId to get the next page. Pass the ETag of a page as " +
+        "If-None-Match to get a 304 while it is unchanged. Besides JSON, the page is sent as CBOR (application/cbor) " +
+        "or Smile (application/x-jackson-smile) when accepted", tags = {"getAll"})
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successful operation",
+            content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = PriceDTO.class)),
+                @Content(mediaType = "application/cbor", schema = @Schema(implementation = PriceDTO.class)),
+                @Content(mediaType = "application/x-jackson-smile", schema = @Schema(implementation = PriceDTO.class))
+            }
+        ),
+        @ApiResponse(responseCode = "304", description = "The page matches If-None-Match")
+    })
+    @GetMapping("")
+    public ResponseEntity<?> findAll(
+        @RequestParam(defaultValue = "0", name = "afterId") Long afterId,
+        @RequestParam(defaultValue = PageResponseHandler.DEFAULT_PAGE_SIZE, name = "size") int size,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return findPage(afterId, size, accept, ifNoneMatch,
+            prices -> PageResponseHandler.generatePageResponse(prices, size, Price::getId, PriceMapper::toPriceDTO));
+    }
+
+    @Operation(summary = "Get all prices as columns", description = "Retrieve the same page of prices as one array per " +
+        "field, with brand and product as ids and their names listed once. Requested with Accept: " +
+        PriceColumnsDTO.MEDIA_TYPE, tags = {"getAll"})
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successful operation",
+            content = @Content(mediaType = PriceColumnsDTO.MEDIA_TYPE, schema = @Schema(implementation = PriceColumnsDTO.class))
+        ),
+        @ApiResponse(responseCode = "304", description = "The page matches If-None-Match")
+    })
+    @GetMapping(value = "", produces = PriceColumnsDTO.MEDIA_TYPE)
+    public ResponseEntity<?> findAllAsColumns(
+        @RequestParam(defaultValue = "0", name = "afterId") Long afterId,
+        @RequestParam(defaultValue = PageResponseHandler.DEFAULT_PAGE_SIZE, name = "size") int size,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return findPage(afterId, size, accept, ifNoneMatch, prices -> PageResponseHandler.generatePageResponse(prices, size,
+            Price::getId, PriceMapper.toPriceColumnsDTO(prices), prices.size()));
     }
 
-    @Operation(summary = "Get all prices", description = "Retrieve a list of all prices", tags = {"getAll"})
+    /**
+     * Loads a page of prices and answers it, or a 304 when it matches {@code ifNoneMatch}. The tag covers the
+     * {@code Accept} header the representation was negotiated from, so every representation of a page has its own.
+     */
+    private ResponseEntity<?> findPage(Long afterId, int size, String accept, String ifNoneMatch,
+                                       Function<List<Price>, ResponseEntity<?>> toResponse) {
+        if (afterId < 0) {
+            return ResponseHandler.generateResponse("Invalid afterId " + afterId, HttpStatus.BAD_REQUEST);
+        }
+        if (size <= 0 || size > PageResponseHandler.MAX_PAGE_SIZE) {
+            return ResponseHandler.generateStaticResponse(objectMapper, "Page size must be between 1 and " + PageResponseHandler.MAX_PAGE_SIZE, HttpStatus.BAD_REQUEST);
+        }
+
+        List<Price> prices = priceService.findAll(afterId, size);
+        ContentHash contentHash = new ContentHash().add(accept).add(size).add(prices.size());
+        prices.forEach(price -> addPrice(contentHash.add(price.getId()), price).add(price.getPriority()));
+        String etag = contentHash.value();
+        ResponseEntity<?> response = ConditionalResponseHandler.matches(ConditionalResponseHandler.parseIfNoneMatch(ifNoneMatch), etag)
+            ? ConditionalResponseHandler.generateNotModifiedResponse(etag, cacheControl)
+            : ConditionalResponseHandler.withValidators(toResponse.apply(prices), etag, cacheControl);
+        return ResponseEntity.status(response.getStatusCode())
+            .headers(response.getHeaders())
+            .varyBy(HttpHeaders.ACCEPT)
+            .body(response.getBody());
+    }
+
+    @Operation(summary = "Stream all prices", description = "Stream every price as newline-delimited JSON, reading the table in keyset pages. Brand and product are written as ids", tags = {"getAll"})
     @ApiResponse(
         responseCode = "200",
         description = "Successful operation",
-        content = @Content(mediaType = "application/json", schema = @Schema(implementation = PriceDTO.class))
+        content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = PriceRow.class))
     )
-    @GetMapping("")
-    public ResponseEntity<?> findAll() {
-        List<PriceDTO> priceDTOList = priceService.findAll()
-            .stream()
-            .map(PriceMapper::toPriceDTO)
-            .toList();
-        return ResponseHandler.generateResponse("OK", HttpStatus.OK, priceDTOList, priceDTOList.size());
+    @GetMapping(value = "", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> findAllAsStream() {
+        return PageResponseHandler.generateStreamResponse(objectMapper, priceService::findAllRows, PriceRow::id, Function.identity());
+    }
+
+    @Operation(summary = "Export all prices", description = "Download every price, with brand and product ids, as " +
+        "newline-delimited JSON or CSV. Rows are read with a database cursor and written as they arrive, optionally gzip " +
+        "compressed", tags = {"getAll"})
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successful operation",
+            content = {
+                @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = PriceRow.class)),
+                @Content(mediaType = "text/csv", schema = @Schema(implementation = PriceRow.class))
+            }
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Unsupported format",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseEntity.class))
+        )
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAll(
+        @RequestParam(defaultValue = "ndjson", name = "format") String format,
+        @RequestParam(defaultValue = "false", name = "gzip") boolean gzip
+    ) {
+        Optional<ExportFormat> exportFormat = ExportFormat.of(format);
+        if (exportFormat.isEmpty()) {
+            return ExportResponseHandler.generateErrorResponse(
+                ResponseHandler.generateStaticResponse(objectMapper, "Format must be ndjson or csv", HttpStatus.BAD_REQUEST));
+        }
+
+        return ExportResponseHandler.generateExportResponse(objectMapper, priceService::forEachRow, PriceRow.class,
+            exportFormat.get(), gzip, "prices");
     }
 
     @Operation(summary = "Get a price by ID", description = "Retrieve a price by its ID", tags = {"get"})
@@ -90,11 +246,39 @@ public class PriceController {
     @PostMapping("")
     public ResponseEntity<?> save(@RequestBody PriceDTO priceDTO) {
         if (priceDTO.getPrice() <= 0) {
-            return ResponseHandler.generateResponse("Price value is required", HttpStatus.BAD_REQUEST);
+            return ResponseHandler.generateStaticResponse(objectMapper, "Price value is required", HttpStatus.BAD_REQUEST);
         }
 
         priceService.save(PriceMapper.toPriceEntity(priceDTO));
-        return ResponseHandler.generateResponse("Price created successfully", HttpStatus.CREATED);
+        return withPriceBookVersion(ResponseHandler.generateStaticResponse(objectMapper, "Price created successfully", HttpStatus.CREATED),
+            priceService.priceBookVersion());
+    }
+
+    @Operation(summary = "Import prices", description = "Bulk import prices from a CSV (text/csv) or newline-delimited JSON " +
+        "(application/x-ndjson) body. Rows are validated while the body is read; invalid rows are skipped and listed " +
+        "in the report, the rest are inserted in batches", tags = {"save"})
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Import finished",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = PriceImportReport.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Unreadable body",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseEntity.class))
+        )
+    })
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importPrices(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, HttpServletRequest request) {
+        PriceImportFormat format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType) ? PriceImportFormat.NDJSON : PriceImportFormat.CSV;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            PriceImportReport report = priceImportService.importPrices(reader, format);
+            return withPriceBookVersion(ResponseHandler.generateResponse("Prices imported", HttpStatus.OK, report, Math.toIntExact(report.imported())),
+                priceService.priceBookVersion());
+        } catch (IOException exception) {
+            return ResponseHandler.generateStaticResponse(objectMapper, "The import body could not be read", HttpStatus.BAD_REQUEST);
+        }
     }
 
     @Operation(summary = "Update a price by ID", description = "Update an existing price by its ID", tags = {"update"})
@@ -125,10 +309,11 @@ public class PriceController {
             price.setPrice(priceDTO.getPrice());
             price.setCurrency(CurrencyCode.valueOf(String.valueOf(priceDTO.getCurrency())));
             priceService.save(price);
-            return ResponseHandler.generateResponse("Price updated successfully", HttpStatus.OK);
+            return withPriceBookVersion(ResponseHandler.generateStaticResponse(objectMapper, "Price updated successfully", HttpStatus.OK),
+                priceService.priceBookVersion());
         }
         return priceDTO.getPrice() <= 0 ?
-            ResponseHandler.generateResponse("Price value is required", HttpStatus.BAD_REQUEST) :
+            ResponseHandler.generateStaticResponse(objectMapper, "Price value is required", HttpStatus.BAD_REQUEST) :
             ResponseHandler.generateResponse("Price " + id + " not found", HttpStatus.NOT_FOUND);
     }
 
@@ -152,7 +337,8 @@ public class PriceController {
         }
 
         priceService.deleteById(id);
-        return ResponseHandler.generateResponse("Price deleted successfully", HttpStatus.OK);
+        return withPriceBookVersion(ResponseHandler.generateStaticResponse(objectMapper, "Price deleted successfully", HttpStatus.OK),
+            priceService.priceBookVersion());
     }
 
 
@@ -162,15 +348,21 @@ public class PriceController {
      * @param productId the ID of the product for which the price is being requested
      * @param brandId the ID of the brand for which the price is being requested
      * @param applicationDate the date and time for which the price is being requested, in the format "yyyy-MM-dd HH:mm:ss"
+     * @param asOf optional point in time, in the same format, at which the price is resolved from the price history
+     *             instead of the current prices
+     * @param ifNoneMatch optional entity tags of responses the client already has
      * @return a {@link ResponseEntity} containing a {@link PriceToApplyDTO} with the price information if found,
-     *         or a response indicating that the price was not found
+     *         a 304 without body if it matches {@code ifNoneMatch}, or a response indicating that the price was not found
      *
      * @apiNote This method is documented for OpenAPI.
      */
-    @Operation(summary = "Get applicable price", description = "Retrieve the price to be applied for a specific product and brand at a given application date")
+    @Operation(summary = "Get applicable price", description = "Retrieve the price to be applied for a specific product and brand at a given application date. " +
+        "With asOf, retrieve the price that would have been returned at that time instead. Pass the ETag of a response as " +
+        "If-None-Match to get a 304 while the price is unchanged")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successful operation",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = PriceToApplyDTO.class))),
+        @ApiResponse(responseCode = "304", description = "The price matches If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Price not found",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseEntity.class)))
     })
@@ -178,13 +370,115 @@ public class PriceController {
     public ResponseEntity<?> getPrice(
         @RequestParam(defaultValue = "35455", name = "productId") Long productId,
         @RequestParam(defaultValue = "1", name = "brandId")  Long brandId,
-        @RequestParam(defaultValue = "2020-06-14 00:00:00", name = "applicationDate") @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime applicationDate
+        @RequestParam(defaultValue = "2020-06-14 00:00:00", name = "applicationDate") @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime applicationDate,
+        @RequestParam(required = false, name = "asOf") @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime asOf,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        Optional<Price> optionalPrice = priceService.getPrice(productId, brandId, applicationDate);
-        if (optionalPrice.isPresent()) {
-            PriceToApplyDTO priceToApplyDTO = PriceMapper.toPriceToApplyDTO(optionalPrice.get());
-            return ResponseHandler.generateResponse("OK", HttpStatus.OK, priceToApplyDTO, 1);
+        return priceLookupMetrics.observe(Stage.CONTROLLER, () -> {
+            OptionalLong priceBookVersion = asOf == null ? priceService.priceBookVersion() : OptionalLong.empty();
+            List<String> clientTags = ConditionalResponseHandler.parseIfNoneMatch(ifNoneMatch);
+            String versionTag = priceBookVersion.isPresent() ? versionTagEpoch + "-" + priceBookVersion.getAsLong() + "-" : null;
+            // A tag issued by this instance at the current version cannot be stale: no price has changed since.
+            if (versionTag != null) {
+                for (String clientTag : clientTags) {
+                    if (clientTag.startsWith(versionTag)) {
+                        return withPriceBookVersion(ConditionalResponseHandler.generateNotModifiedResponse(clientTag, cacheControl), priceBookVersion);
+                    }
+                }
+            }
+            Optional<Price> optionalPrice = asOf == null
+                ? priceService.getPrice(productId, brandId, applicationDate)
+                : priceService.getPriceAsOf(productId, brandId, applicationDate, asOf);
+            priceLookupMetrics.recordResult(optionalPrice.isPresent());
+            if (optionalPrice.isPresent()) {
+                String contentTag = addPrice(new ContentHash(), optionalPrice.get()).value();
+                String etag = versionTag == null ? contentTag : versionTag + contentTag;
+                if (clientTags.contains("*") || clientTags.stream().anyMatch(clientTag -> clientTag.endsWith(contentTag))) {
+                    return withPriceBookVersion(ConditionalResponseHandler.generateNotModifiedResponse(etag, cacheControl), priceBookVersion);
+                }
+                PriceToApplyDTO priceToApplyDTO = priceLookupMetrics.observe(Stage.MAPPING, () -> PriceMapper.toPriceToApplyDTO(optionalPrice.get()));
+                return withPriceBookVersion(ConditionalResponseHandler.withValidators(priceLookupMetrics.observe(Stage.SERIALIZATION,
+                    () -> ResponseHandler.generateEncodedResponse(objectMapper, "OK", HttpStatus.OK, priceToApplyDTO, 1)), etag, cacheControl),
+                    priceBookVersion);
+            }
+            return withPriceBookVersion(ResponseHandler.generateStaticResponse(objectMapper, "Price not found", HttpStatus.NOT_FOUND), priceBookVersion);
+        });
+    }
+
+    /**
+     * Retrieve the prices to be applied for several products of a brand at a given application date.
+     *
+     * @param priceBatchRequestDTO the brand, the products and the date and time for which the prices are being requested
+     * @return a {@link ResponseEntity} containing a map keyed by product ID, where each value is the {@link PriceToApplyDTO}
+     *         of the product, or {@code null} when no price applies to it
+     *
+     * @apiNote This method is documented for OpenAPI.
+     */
+    @Operation(summary = "Get applicable prices", description = "Retrieve the prices to be applied for several products of a brand at a given application date. " +
+        "Products without an applicable price are returned with a null value")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successful operation",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = PriceToApplyDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input data",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseEntity.class)))
+    })
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Brand, products and application date of the prices to be retrieved",
+        required = true, content = @Content(schema = @Schema(implementation = PriceBatchRequestDTO.class)))
+    @PostMapping("/get-prices")
+    public ResponseEntity<?> getPrices(@RequestBody PriceBatchRequestDTO priceBatchRequestDTO) {
+        if (priceBatchRequestDTO.getBrandId() == null || priceBatchRequestDTO.getBrandId() <= 0) {
+            return ResponseHandler.generateStaticResponse(objectMapper, "Brand id is required", HttpStatus.BAD_REQUEST);
+        }
+        if (priceBatchRequestDTO.getApplicationDate() == null) {
+            return ResponseHandler.generateStaticResponse(objectMapper, "Application date is required", HttpStatus.BAD_REQUEST);
+        }
+        List<Long> requestedProductIds = priceBatchRequestDTO.getProductIds();
+        if (requestedProductIds == null || requestedProductIds.isEmpty() || requestedProductIds.contains(null)) {
+            return ResponseHandler.generateStaticResponse(objectMapper, "Product ids are required", HttpStatus.BAD_REQUEST);
+        }
+
+        Set<Long> productIds = new LinkedHashSet<>(requestedProductIds);
+        if (productIds.size() > MAX_BATCH_SIZE) {
+            return ResponseHandler.generateStaticResponse(objectMapper, "A maximum of " + MAX_BATCH_SIZE + " products can be requested at once", HttpStatus.BAD_REQUEST);
+        }
+
+        OptionalLong priceBookVersion = priceService.priceBookVersion();
+        Map<Long, Optional<Price>> prices = priceService.getPrices(
+            priceBatchRequestDTO.getBrandId(), productIds, priceBatchRequestDTO.getApplicationDate());
+        Map<Long, PriceToApplyDTO> pricesToApply = new LinkedHashMap<>();
+        int found = 0;
+        for (Long productId : productIds) {
+            Optional<Price> price = prices.getOrDefault(productId, Optional.empty());
+            pricesToApply.put(productId, price.map(PriceMapper::toPriceToApplyDTO).orElse(null));
+            found += price.isPresent() ? 1 : 0;
+        }
+        return withPriceBookVersion(ResponseHandler.generateResponse("OK", HttpStatus.OK, pricesToApply, found), priceBookVersion);
+    }
+
+    /**
+     * Adds the fields of the price that are part of its representations to the hash.
+     */
+    private static ContentHash addPrice(ContentHash contentHash, Price price) {
+        return contentHash
+            .add(price.getProduct().getId()).add(price.getProduct().getName())
+            .add(price.getBrand().getId()).add(price.getBrand().getName())
+            .add(price.getPriceList())
+            .add(price.getStartDate()).add(price.getEndDate())
+            .add(price.getPrice())
+            .add(price.getCurrency());
+    }
+
+    /**
+     * Copies the response with the {@value #PRICE_BOOK_VERSION_HEADER} header, leaving the original untouched since
+     * static responses are shared.
+     */
+    private static <T> ResponseEntity<T> withPriceBookVersion(ResponseEntity<T> response, OptionalLong priceBookVersion) {
+        if (priceBookVersion.isEmpty()) {
+            return response;
         }
-        return ResponseHandler.generateResponse("Price not found", HttpStatus.NOT_FOUND);
+        return ResponseEntity.status(response.getStatusCode())
+            .headers(response.getHeaders())
+            .header(PRICE_BOOK_VERSION_HEADER, Long.toString(priceBookVersion.getAsLong()))
+            .body(response.getBody());
     }
 }
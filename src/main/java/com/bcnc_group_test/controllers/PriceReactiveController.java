@@ -0,0 +1,74 @@
+package com.bcnc_group_test.controllers;
+
+import com.bcnc_group_test.controllers.dto.PriceDTO;
+import com.bcnc_group_test.controllers.dto.PriceToApplyDTO;
+import com.bcnc_group_test.controllers.dto.mapper.PriceMapper;
+import com.bcnc_group_test.handler.ResponseHandler;
+import com.bcnc_group_test.services.IPriceReactiveService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking version of the price read API. The request thread is released while the database answers,
+ * so the number of lookups in progress is not bound to the number of request threads.
+ */
+@Tag(name = "Price v2", description = "Reactive price read API")
+@RestController
+@RequestMapping("/api/v2/prices")
+public class PriceReactiveController {
+
+    private final IPriceReactiveService priceReactiveService;
+    private final ObjectMapper objectMapper;
+
+    public PriceReactiveController(IPriceReactiveService priceReactiveService, ObjectMapper objectMapper) {
+        this.priceReactiveService = priceReactiveService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Operation(summary = "Stream all prices", description = "Stream every price as newline-delimited JSON. " +
+        "Rows are read from the database as the client consumes them", tags = {"getAll"})
+    @ApiResponse(
+        responseCode = "200",
+        description = "Successful operation",
+        content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = PriceDTO.class))
+    )
+    @GetMapping(value = "", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PriceDTO> findAll() {
+        return priceReactiveService.findAll().map(PriceMapper::toPriceDTO);
+    }
+
+    @Operation(summary = "Get applicable price", description = "Retrieve the price to be applied for a specific product and brand at a given application date")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successful operation",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = PriceToApplyDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Price not found",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseEntity.class)))
+    })
+    @GetMapping("/get-price")
+    public Mono<ResponseEntity<?>> getPrice(
+        @RequestParam(defaultValue = "35455", name = "productId") Long productId,
+        @RequestParam(defaultValue = "1", name = "brandId") Long brandId,
+        @RequestParam(defaultValue = "2020-06-14 00:00:00", name = "applicationDate") @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime applicationDate
+    ) {
+        return priceReactiveService.getPrice(productId, brandId, applicationDate)
+            .<ResponseEntity<?>>map(price -> ResponseHandler.generateResponse("OK", HttpStatus.OK, PriceMapper.toPriceToApplyDTO(price), 1))
+            .defaultIfEmpty(ResponseHandler.generateStaticResponse(objectMapper, "Price not found", HttpStatus.NOT_FOUND));
+    }
+}
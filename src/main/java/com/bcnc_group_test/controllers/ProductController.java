@@ -3,8 +3,10 @@ package com.bcnc_group_test.controllers;
 import com.bcnc_group_test.controllers.dto.ProductDTO;
 import com.bcnc_group_test.controllers.dto.mapper.ProductMapper;
 import com.bcnc_group_test.entities.Product;
+import com.bcnc_group_test.handler.PageResponseHandler;
 import com.bcnc_group_test.handler.ResponseHandler;
 import com.bcnc_group_test.services.IProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,6 +16,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,24 +27,45 @@ import java.util.Optional;
 public class ProductController {
 
     private final IProductService productService;
+    private final ObjectMapper objectMapper;
 
-    public ProductController(IProductService productService) {
+    public ProductController(IProductService productService, ObjectMapper objectMapper) {
         this.productService = productService;
+        this.objectMapper = objectMapper;
     }
 
-    @Operation(summary = "Get all products", description = "Retrieve a list of all products", tags = {"getAll"})
+    @Operation(summary = "Get all products", description = "Retrieve a page of products ordered by ID. " +
+        "Pass the ID of the last product received as afterId to get the next page", tags = {"getAll"})
     @ApiResponse(
         responseCode = "200",
         description = "Successful operation",
         content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductDTO.class))
     )
     @GetMapping("")
-    public ResponseEntity<?> findAll() {
-        List<ProductDTO> productDTOList = productService.findAll()
-            .stream()
-            .map(ProductMapper::toProductDTO)
-            .toList();
-        return ResponseHandler.generateResponse("OK", HttpStatus.OK, productDTOList, productDTOList.size());
+    public ResponseEntity<?> findAll(
+        @RequestParam(defaultValue = "0", name = "afterId") Long afterId,
+        @RequestParam(defaultValue = PageResponseHandler.DEFAULT_PAGE_SIZE, name = "size") int size
+    ) {
+        if (afterId < 0) {
+            return ResponseHandler.generateResponse("Invalid afterId " + afterId, HttpStatus.BAD_REQUEST);
+        }
+        if (size <= 0 || size > PageResponseHandler.MAX_PAGE_SIZE) {
+            return ResponseHandler.generateStaticResponse(objectMapper, "Page size must be between 1 and " + PageResponseHandler.MAX_PAGE_SIZE, HttpStatus.BAD_REQUEST);
+        }
+
+        List<Product> products = productService.findAll(afterId, size);
+        return PageResponseHandler.generatePageResponse(products, size, Product::getId, ProductMapper::toProductDTO);
+    }
+
+    @Operation(summary = "Stream all products", description = "Stream every product as newline-delimited JSON, reading the table in keyset pages", tags = {"getAll"})
+    @ApiResponse(
+        responseCode = "200",
+        description = "Successful operation",
+        content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = ProductDTO.class))
+    )
+    @GetMapping(value = "", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> findAllAsStream() {
+        return PageResponseHandler.generateStreamResponse(objectMapper, productService::findAll, Product::getId, ProductMapper::toProductDTO);
     }
 
     @Operation(summary = "Get a product by ID", description = "Retrieve a product by its ID", tags = {"get"})
@@ -86,10 +110,10 @@ public class ProductController {
     @PostMapping("")
     public ResponseEntity<?> save(@RequestBody ProductDTO productDTO) {
         if (productDTO.getName() == null || productDTO.getName().isBlank()) {
-            return ResponseHandler.generateResponse("Product name is required", HttpStatus.BAD_REQUEST);
+            return ResponseHandler.generateStaticResponse(objectMapper, "Product name is required", HttpStatus.BAD_REQUEST);
         }
         productService.save(ProductMapper.toProductEntity(productDTO));
-        return ResponseHandler.generateResponse("Product created successfully", HttpStatus.CREATED);
+        return ResponseHandler.generateStaticResponse(objectMapper, "Product created successfully", HttpStatus.CREATED);
     }
 
     @Operation(summary = "Update a product by ID", description = "Update an existing product by its ID", tags = {"update"})
@@ -115,10 +139,10 @@ public class ProductController {
             Product product = productOptional.get();
             product.setName(productDTO.getName());
             productService.save(product);
-            return ResponseHandler.generateResponse("Product updated successfully", HttpStatus.OK);
+            return ResponseHandler.generateStaticResponse(objectMapper, "Product updated successfully", HttpStatus.OK);
         }
         return productDTO.getName().isBlank() ?
-            ResponseHandler.generateResponse("Product name is required", HttpStatus.BAD_REQUEST) :
+            ResponseHandler.generateStaticResponse(objectMapper, "Product name is required", HttpStatus.BAD_REQUEST) :
             ResponseHandler.generateResponse("Product " + id + " not found", HttpStatus.NOT_FOUND);
     }
 
@@ -142,6 +166,6 @@ public class ProductController {
         }
 
         productService.deleteById(id);
-        return ResponseHandler.generateResponse("Product deleted successfully", HttpStatus.OK);
+        return ResponseHandler.generateStaticResponse(objectMapper, "Product deleted successfully", HttpStatus.OK);
     }
 }
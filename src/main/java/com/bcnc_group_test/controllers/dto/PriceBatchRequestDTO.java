@@ -0,0 +1,30 @@
+package com.bcnc_group_test.controllers.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PriceBatchRequestDTO {
+    @NotNull(message = "Brand cannot be null")
+    @Positive(message = "Brand must be greater than 0")
+    private Long brandId;
+
+    @NotEmpty(message = "Products cannot be empty")
+    private List<Long> productIds;
+
+    @NotNull(message = "Application date cannot be null")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime applicationDate;
+}
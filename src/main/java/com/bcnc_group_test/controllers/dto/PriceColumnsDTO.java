@@ -0,0 +1,46 @@
+package com.bcnc_group_test.controllers.dto;
+
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A page of prices as one array per field instead of one object per price: the i-th price is made of the i-th
+ * element of every array. Brand and product are written as ids, and each name is written once in {@code brands}
+ * and {@code products}, keyed by id, however many prices of the page share it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonPropertyOrder({"brands", "products", "brandId", "productId", "startDate", "endDate", "priceList", "priority", "price", "currency"})
+public class PriceColumnsDTO {
+
+    public static final String MEDIA_TYPE = "application/vnd.bcnc-group.price-columns+json";
+
+    private Map<Long, String> brands;
+
+    private Map<Long, String> products;
+
+    private long[] brandId;
+
+    private long[] productId;
+
+    private LocalDateTime[] startDate;
+
+    private LocalDateTime[] endDate;
+
+    private long[] priceList;
+
+    private int[] priority;
+
+    private double[] price;
+
+    private CurrencyCode[] currency;
+}
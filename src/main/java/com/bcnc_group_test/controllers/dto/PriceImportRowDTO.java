@@ -0,0 +1,31 @@
+package com.bcnc_group_test.controllers.dto;
+
+import com.bcnc_group_test.entities.CurrencyCode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PriceImportRowDTO {
+    private Long brandId;
+
+    private Long productId;
+
+    private LocalDateTime startDate;
+
+    private LocalDateTime endDate;
+
+    private Long priceList;
+
+    private Integer priority;
+
+    private Double price;
+
+    private CurrencyCode currency;
+}
@@ -1,63 +1,95 @@
 package com.bcnc_group_test.controllers.dto.mapper;
 
+import com.bcnc_group_test.controllers.dto.PriceColumnsDTO;
 import com.bcnc_group_test.controllers.dto.PriceDTO;
 import com.bcnc_group_test.controllers.dto.PriceToApplyDTO;
+import com.bcnc_group_test.entities.CurrencyCode;
 import com.bcnc_group_test.entities.Price;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Copies the fields between prices and their DTOs. Dates are only truncated to whole seconds, which is all the
+ * exposed formats keep; turning them into text is left to the JSON serialization.
+ */
 @Component
 public class PriceMapper {
 
-    private static final DateTimeFormatter INPUT_FORMATTER_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-    private static final DateTimeFormatter OUTPUT_FORMATTER_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd-HH.mm.ss");
-
-
     public static PriceDTO toPriceDTO(Price price) {
-        String formattedStartDate = price.getStartDate().format(OUTPUT_FORMATTER_DATE);
-        String formattedEndDate = price.getEndDate().format(OUTPUT_FORMATTER_DATE);
-        return PriceDTO.builder()
-            .product(price.getProduct())
-            .brand(price.getBrand())
-            .price(price.getPrice())
-            .currency(price.getCurrency())
-            .startDate(LocalDateTime.parse(formattedStartDate, OUTPUT_FORMATTER_DATE))
-            .endDate(LocalDateTime.parse(formattedEndDate, OUTPUT_FORMATTER_DATE))
-            .priceList(price.getPriceList())
-            .priority(price.getPriority())
-            .build();
+        return new PriceDTO(
+            price.getBrand(),
+            toSeconds(price.getStartDate()),
+            toSeconds(price.getEndDate()),
+            price.getPriceList(),
+            price.getProduct(),
+            price.getPriority(),
+            price.getPrice(),
+            price.getCurrency()
+        );
     }
 
     public static Price toPriceEntity(PriceDTO priceDTO) {
-        LocalDateTime startDate = LocalDateTime.parse(priceDTO.getStartDate().format(INPUT_FORMATTER_DATE), INPUT_FORMATTER_DATE);
-        LocalDateTime endDate = LocalDateTime.parse(priceDTO.getEndDate().format(INPUT_FORMATTER_DATE), INPUT_FORMATTER_DATE);
-
-        return Price.builder()
-            .product(priceDTO.getProduct())
-            .brand(priceDTO.getBrand())
-            .price(priceDTO.getPrice())
-            .currency(priceDTO.getCurrency())
-            .startDate(startDate)
-            .endDate(endDate)
-            .priceList(priceDTO.getPriceList())
-            .priority(priceDTO.getPriority())
-            .build();
+        return new Price(
+            null,
+            priceDTO.getBrand(),
+            toSeconds(priceDTO.getStartDate()),
+            toSeconds(priceDTO.getEndDate()),
+            priceDTO.getPriceList(),
+            priceDTO.getProduct(),
+            priceDTO.getPriority(),
+            priceDTO.getPrice(),
+            priceDTO.getCurrency()
+        );
     }
 
     public static PriceToApplyDTO toPriceToApplyDTO(Price price) {
-        String formattedStartDate = price.getStartDate().format(OUTPUT_FORMATTER_DATE);
-        String formattedEndDate = price.getEndDate().format(OUTPUT_FORMATTER_DATE);
-        return PriceToApplyDTO.builder()
-            .product(price.getProduct())
-            .brand(price.getBrand())
-            .priceList(price.getPriceList())
-            .startDate(LocalDateTime.parse(formattedStartDate, OUTPUT_FORMATTER_DATE))
-            .endDate(LocalDateTime.parse(formattedEndDate, OUTPUT_FORMATTER_DATE))
-            .price(price.getPrice())
-            .currency(price.getCurrency())
-            .build();
+        return new PriceToApplyDTO(
+            price.getProduct(),
+            price.getBrand(),
+            price.getPriceList(),
+            toSeconds(price.getStartDate()),
+            toSeconds(price.getEndDate()),
+            price.getPrice(),
+            price.getCurrency()
+        );
     }
 
+    public static PriceColumnsDTO toPriceColumnsDTO(List<Price> prices) {
+        int size = prices.size();
+        Map<Long, String> brands = new LinkedHashMap<>();
+        Map<Long, String> products = new LinkedHashMap<>();
+        long[] brandId = new long[size];
+        long[] productId = new long[size];
+        LocalDateTime[] startDate = new LocalDateTime[size];
+        LocalDateTime[] endDate = new LocalDateTime[size];
+        long[] priceList = new long[size];
+        int[] priority = new int[size];
+        double[] price = new double[size];
+        CurrencyCode[] currency = new CurrencyCode[size];
+        for (int index = 0; index < size; index++) {
+            Price row = prices.get(index);
+            brandId[index] = row.getBrand().getId();
+            productId[index] = row.getProduct().getId();
+            brands.putIfAbsent(brandId[index], row.getBrand().getName());
+            products.putIfAbsent(productId[index], row.getProduct().getName());
+            startDate[index] = toSeconds(row.getStartDate());
+            endDate[index] = toSeconds(row.getEndDate());
+            priceList[index] = row.getPriceList();
+            priority[index] = row.getPriority();
+            price[index] = row.getPrice();
+            currency[index] = row.getCurrency();
+        }
+        return new PriceColumnsDTO(brands, products, brandId, productId, startDate, endDate, priceList, priority, price, currency);
+    }
+
+    /**
+     * Drops the fraction of a second. Returns the same instance when there is none, which is the usual case.
+     */
+    private static LocalDateTime toSeconds(LocalDateTime date) {
+        return date.withNano(0);
+    }
 }
@@ -13,7 +13,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "price")
+@Table(name = "price", indexes = {
+    @Index(name = "idx_price_lookup",
+        columnList = "brand_id, product_id, start_date, end_date, priority, price_list, price, currency")
+})
 public class Price {
 
     @Id
@@ -21,7 +24,7 @@ public class Price {
     private Long id;
 
     @NotBlank(message = "Brand is required")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "brand_id", referencedColumnName = "id")
     private Brand brand;
 
@@ -37,7 +40,7 @@ public class Price {
     private Long priceList;
 
     @NotBlank(message = "product id is required")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", referencedColumnName = "id")
     private Product product;
 
@@ -0,0 +1,76 @@
+package com.bcnc_group_test.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A price change waiting in the outbox to be published. It is written in the transaction of the change, so it exists
+ * if and only if the change was committed, and its id orders the changes of each price. The brand and product are
+ * copied by value, names included, so the published event is self-contained and outlives them.
+ */
+@Builder
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "price_change")
+public class PriceChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The {@link com.bcnc_group_test.events.PriceChangeEvent#PROTOCOL_VERSION} of the instance that wrote the change.
+     */
+    @Column(nullable = false, columnDefinition = "int default 1")
+    private int protocol;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 7)
+    private PriceChangeType changeType;
+
+    @Column(nullable = false)
+    private Long priceId;
+
+    private Long brandId;
+
+    private String brandName;
+
+    private Long productId;
+
+    private String productName;
+
+    /**
+     * The brand of a saved price before the change, if it existed; differs from {@code brandId} when it was moved.
+     */
+    private Long previousBrandId;
+
+    private Long previousProductId;
+
+    private LocalDateTime startDate;
+
+    private LocalDateTime endDate;
+
+    private Long priceList;
+
+    @Column(columnDefinition = "int default 0")
+    private int priority;
+
+    private double price;
+
+    @Enumerated(EnumType.STRING)
+    private CurrencyCode currency;
+
+    /**
+     * The instance that made the change, which has already applied it and skips it when it is published.
+     */
+    @Column(nullable = false, length = 64)
+    private String origin;
+
+    @Column(nullable = false)
+    private LocalDateTime recordedAt;
+}
@@ -0,0 +1,15 @@
+package com.bcnc_group_test.entities;
+
+/**
+ * What happened to a price in a {@link PriceChange}.
+ */
+public enum PriceChangeType {
+    /**
+     * The price was created or updated; the change carries its new state.
+     */
+    SAVED,
+    /**
+     * The price was deleted; the change carries its last state.
+     */
+    DELETED
+}
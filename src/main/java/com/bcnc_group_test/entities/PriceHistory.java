@@ -0,0 +1,61 @@
+package com.bcnc_group_test.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One recorded version of a {@link Price}. The start and end dates are the valid time of the price, as in
+ * {@link Price}; {@code recordedFrom} and {@code recordedTo} are the system time, the stretch during which this version
+ * was the one stored. The version currently stored has {@code recordedTo} set to {@link #RECORDED_UNTIL_CHANGED}.
+ */
+@Builder
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "price_history", indexes = {
+    @Index(name = "idx_price_history_lookup", columnList = "brand_id, product_id, start_date, end_date, recorded_from, recorded_to, priority"),
+    @Index(name = "idx_price_history_price", columnList = "price_id, recorded_to")
+})
+public class PriceHistory {
+
+    public static final LocalDateTime RECORDED_UNTIL_CHANGED = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long priceId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "brand_id", referencedColumnName = "id")
+    private Brand brand;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", referencedColumnName = "id")
+    private Product product;
+
+    private LocalDateTime startDate;
+
+    private LocalDateTime endDate;
+
+    private Long priceList;
+
+    @Column(columnDefinition = "int default 0")
+    private int priority;
+
+    private double price;
+
+    @Enumerated(EnumType.STRING)
+    private CurrencyCode currency;
+
+    @Column(nullable = false)
+    private LocalDateTime recordedFrom;
+
+    @Column(nullable = false)
+    private LocalDateTime recordedTo;
+}
@@ -0,0 +1,27 @@
+package com.bcnc_group_test.events;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Broker that hands every batch to the subscribers of the same JVM, on the publishing thread. It is the default, where
+ * it only reaches the instance itself, and it stands in for a network broker in tests, where several application
+ * contexts share one instance to act as peers.
+ */
+public class InProcessPriceChangeBroker implements PriceChangeBroker {
+
+    private final List<Consumer<List<PriceChangeEvent>>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<PriceChangeEvent> events) {
+        for (Consumer<List<PriceChangeEvent>> subscriber : subscribers) {
+            subscriber.accept(events);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<List<PriceChangeEvent>> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
@@ -0,0 +1,21 @@
+package com.bcnc_group_test.events;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carries the published price changes to every instance. A broker must deliver the batches of a publisher in the
+ * order they were published; delivering one more than once is fine, as applying a change again leaves the same state.
+ */
+public interface PriceChangeBroker {
+
+    /**
+     * @param events Changes in outbox order.
+     */
+    void publish(List<PriceChangeEvent> events);
+
+    /**
+     * @param subscriber Receives every published batch, the changes made by its own instance included.
+     */
+    void subscribe(Consumer<List<PriceChangeEvent>> subscriber);
+}
@@ -0,0 +1,81 @@
+package com.bcnc_group_test.events;
+
+import com.bcnc_group_test.entities.Brand;
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.PriceChangeType;
+import com.bcnc_group_test.entities.Product;
+import com.bcnc_group_test.persistence.index.PriceKey;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A committed price change, as published by the {@link PriceChangeRelay}. It carries the whole state of the price,
+ * so it can be applied without reading the database.
+ *
+ * @param protocol          The version of the format, {@link #PROTOCOL_VERSION} when published by this code.
+ * @param sequence          The id of the change in the outbox; the changes of a price are published in this order.
+ * @param changeType        Whether the price was saved or deleted.
+ * @param origin            The id of the instance that made the change.
+ * @param previousBrandId   For a saved price that already existed, its brand before the change.
+ * @param previousProductId For a saved price that already existed, its product before the change.
+ */
+public record PriceChangeEvent(
+    int protocol,
+    long sequence,
+    PriceChangeType changeType,
+    long priceId,
+    long brandId,
+    String brandName,
+    long productId,
+    String productName,
+    LocalDateTime startDate,
+    LocalDateTime endDate,
+    Long priceList,
+    int priority,
+    double price,
+    CurrencyCode currency,
+    String origin,
+    LocalDateTime recordedAt,
+    Long previousBrandId,
+    Long previousProductId
+) {
+
+    /**
+     * Raised whenever a field changes meaning or a new one must be understood to apply the change correctly, so a
+     * subscriber still running the previous version can tell it is missing something.
+     */
+    public static final int PROTOCOL_VERSION = 1;
+
+    public boolean isUnderstood() {
+        return protocol <= PROTOCOL_VERSION;
+    }
+
+    /**
+     * The (brand, product) pairs whose prices the change affects: the pair of the price and, if it was moved, the one it
+     * left.
+     */
+    public List<PriceKey> keys() {
+        PriceKey key = new PriceKey(brandId, productId);
+        if (previousBrandId == null || previousProductId == null) {
+            return List.of(key);
+        }
+        PriceKey previousKey = new PriceKey(previousBrandId, previousProductId);
+        return previousKey.equals(key) ? List.of(key) : List.of(previousKey, key);
+    }
+
+    public Price toPrice() {
+        return new Price(
+            priceId,
+            new Brand(brandId, brandName),
+            startDate,
+            endDate,
+            priceList,
+            new Product(productId, productName),
+            priority,
+            price,
+            currency
+        );
+    }
+}
@@ -0,0 +1,28 @@
+package com.bcnc_group_test.events;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Identifies this instance as the origin of the price changes it makes, so it can skip them when they come back
+ * from the broker. Taken from {@code bcnc_group_test.price.events.node-id}, or random when it is empty.
+ */
+@Component
+public class PriceChangeNode {
+
+    private final String id;
+
+    public PriceChangeNode(@Value("${bcnc_group_test.price.events.node-id:}") String id) {
+        this.id = id.isBlank() ? UUID.randomUUID().toString() : id;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public boolean isOrigin(PriceChangeEvent event) {
+        return id.equals(event.origin());
+    }
+}
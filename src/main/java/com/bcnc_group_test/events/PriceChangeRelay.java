@@ -0,0 +1,88 @@
+package com.bcnc_group_test.events;
+
+import com.bcnc_group_test.persistence.IPriceChangeOutboxDAO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the committed price changes of the outbox to the {@link PriceChangeBroker}, oldest first, and deletes them
+ * once published. A change is published at least once: if the instance stops between publishing a batch and deleting
+ * it, the next relay publishes it again, which subscribers tolerate.
+ * <p>
+ * Every {@code poll-interval} the outbox is drained in batches of {@code batch-size}. Run the relay on a single
+ * instance ({@code bcnc_group_test.price.events.relay.enabled}), as two relays could publish the same changes out of
+ * order with each other.
+ */
+@Component
+@ConditionalOnProperty(name = {"bcnc_group_test.price.events.enabled", "bcnc_group_test.price.events.relay.enabled"}, havingValue = "true")
+public class PriceChangeRelay {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PriceChangeRelay.class);
+
+    private final IPriceChangeOutboxDAO priceChangeOutboxDAO;
+    private final PriceChangeBroker priceChangeBroker;
+    private final long pollIntervalMillis;
+    private final int batchSize;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "price-change-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PriceChangeRelay(IPriceChangeOutboxDAO priceChangeOutboxDAO, PriceChangeBroker priceChangeBroker,
+                            @Value("${bcnc_group_test.price.events.relay.poll-interval:50}") long pollIntervalMillis,
+                            @Value("${bcnc_group_test.price.events.relay.batch-size:500}") int batchSize) {
+        this.priceChangeOutboxDAO = priceChangeOutboxDAO;
+        this.priceChangeBroker = priceChangeBroker;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        executor.scheduleWithFixedDelay(this::relaySafely, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Publishes everything in the outbox, one batch at a time.
+     *
+     * @return The number of changes published.
+     */
+    public synchronized int relay() {
+        int published = 0;
+        List<PriceChangeEvent> batch;
+        do {
+            batch = priceChangeOutboxDAO.findPending(batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            priceChangeBroker.publish(batch);
+            priceChangeOutboxDAO.deletePublished(batch.stream().map(PriceChangeEvent::sequence).toList());
+            published += batch.size();
+        } while (batch.size() == batchSize);
+        return published;
+    }
+
+    private void relaySafely() {
+        try {
+            relay();
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Could not relay the price changes, retrying in {}ms", pollIntervalMillis, exception);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.bcnc_group_test.handler;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class ConditionalResponseHandler {
+
+    private static final String ANY_TAG = "*";
+
+    private ConditionalResponseHandler() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * The {@code Cache-Control} of the conditional responses: {@code no-cache} when the max age is 0, so clients and
+     * CDNs keep the response but revalidate it with its ETag on every use, or {@code public, max-age} otherwise.
+     *
+     * @param maxAgeSeconds How long the response may be reused without revalidation.
+     */
+    public static CacheControl cacheControl(long maxAgeSeconds) {
+        return maxAgeSeconds > 0 ? CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic() : CacheControl.noCache();
+    }
+
+    /**
+     * Parses an {@code If-None-Match} header into its entity tags, without quotes nor the weak prefix, since
+     * {@code If-None-Match} is compared weakly. A {@code *} is kept as is.
+     *
+     * @param ifNoneMatch The header value, or {@code null} when absent.
+     * @return The entity tags, empty when the header is absent.
+     */
+    public static List<String> parseIfNoneMatch(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return List.of();
+        }
+        List<String> tags = new ArrayList<>();
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                tag = tag.substring(1, tag.length() - 1);
+            }
+            if (!tag.isEmpty()) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Whether any of the parsed tags of {@code If-None-Match} matches the given entity tag.
+     */
+    public static boolean matches(List<String> ifNoneMatch, String etag) {
+        return ifNoneMatch.contains(ANY_TAG) || ifNoneMatch.contains(etag);
+    }
+
+    /**
+     * Generates a 304 Not Modified response, without body, carrying the current entity tag.
+     *
+     * @param etag         The opaque part of the entity tag.
+     * @param cacheControl The {@code Cache-Control} of the response.
+     * @return A {@link ResponseEntity} representing the constructed HTTP response.
+     */
+    public static ResponseEntity<byte[]> generateNotModifiedResponse(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(weakTag(etag))
+            .cacheControl(cacheControl)
+            .build();
+    }
+
+    /**
+     * Copies the response with the given entity tag and {@code Cache-Control}, leaving the original untouched since
+     * static responses are shared.
+     *
+     * @param response     The response to copy.
+     * @param etag         The opaque part of the entity tag.
+     * @param cacheControl The {@code Cache-Control} of the response.
+     * @return A {@link ResponseEntity} representing the constructed HTTP response.
+     */
+    public static <T> ResponseEntity<T> withValidators(ResponseEntity<T> response, String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(response.getStatusCode())
+            .headers(response.getHeaders())
+            .eTag(weakTag(etag))
+            .cacheControl(cacheControl)
+            .body(response.getBody());
+    }
+
+    /**
+     * Weak, since a representation is sent gzip compressed or not depending on the request, and a server that sees a
+     * strong ETag does not compress the body.
+     */
+    private static String weakTag(String etag) {
+        return "W/\"" + etag + "\"";
+    }
+
+    /**
+     * A 64-bit FNV-1a hash of the fields of a response, used as its entity tag. It is computed from the objects
+     * before they are serialized, so a matching {@code If-None-Match} is answered without encoding the body.
+     */
+    public static final class ContentHash {
+
+        private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+        private static final long PRIME = 0x100000001b3L;
+
+        private long hash = OFFSET_BASIS;
+
+        public ContentHash add(long value) {
+            for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+                addByte((byte) (value >>> shift));
+            }
+            return this;
+        }
+
+        public ContentHash add(double value) {
+            return add(Double.doubleToLongBits(value));
+        }
+
+        /**
+         * Adds the string form of the value, or a marker distinct from any string when it is {@code null}.
+         */
+        public ContentHash add(Object value) {
+            if (value == null) {
+                return add(-1L);
+            }
+            byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+            add(bytes.length);
+            for (byte b : bytes) {
+                addByte(b);
+            }
+            return this;
+        }
+
+        private void addByte(byte value) {
+            hash ^= value & 0xff;
+            hash *= PRIME;
+        }
+
+        /**
+         * The hash as 16 hex digits.
+         */
+        public String value() {
+            return String.format("%016x", hash);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.bcnc_group_test.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+public class ExportResponseHandler {
+
+    public static final int FLUSH_EVERY_ROWS = 1000;
+    private static final int GZIP_BUFFER_SIZE = 8192;
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+        .addModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+        .build();
+
+    private ExportResponseHandler() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public enum ExportFormat {
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+        CSV(new MediaType("text", "csv"), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        ExportFormat(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public static Optional<ExportFormat> of(String value) {
+            return Arrays.stream(values())
+                .filter(format -> format.extension.equalsIgnoreCase(value))
+                .findFirst();
+        }
+    }
+
+    /**
+     * Pushes every row of the export to the given action, in order.
+     *
+     * @param <E> The type of the rows.
+     */
+    @FunctionalInterface
+    public interface RowSource<E> {
+        void forEach(Consumer<E> action);
+    }
+
+    /**
+     * Generates a download that writes every row straight to the response stream as soon as the source hands it
+     * over, flushing every {@value #FLUSH_EVERY_ROWS} rows. Rows are never collected, so memory use is the same
+     * for ten rows or ten million.
+     *
+     * @param objectMapper The mapper used to serialize NDJSON rows.
+     * @param source       Pushes the rows to export.
+     * @param rowType      The type of the rows, used to derive the CSV columns from its properties.
+     * @param format       The format of the body.
+     * @param gzip         Whether the body is gzip compressed, announced with {@code Content-Encoding: gzip}.
+     * @param fileName     The name of the downloaded file, without extension.
+     * @return A {@link ResponseEntity} streaming the rows.
+     */
+    public static <E> ResponseEntity<StreamingResponseBody> generateExportResponse(ObjectMapper objectMapper, RowSource<E> source,
+                                                                                   Class<E> rowType, ExportFormat format,
+                                                                                   boolean gzip, String fileName) {
+        ObjectWriter writer = format == ExportFormat.CSV
+            ? CSV_MAPPER.writer(CSV_MAPPER.schemaFor(rowType).withHeader())
+            : objectMapper.writer().withRootValueSeparator("\n");
+        ObjectWriter rowWriter = writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE) : outputStream;
+            try (SequenceWriter rows = rowWriter.writeValues(target)) {
+                long[] written = {0};
+                source.forEach(row -> {
+                    try {
+                        rows.write(row);
+                        if (++written[0] % FLUSH_EVERY_ROWS == 0) {
+                            rows.flush();
+                        }
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                });
+                if (format == ExportFormat.NDJSON && written[0] > 0) {
+                    rows.flush();
+                    target.write('\n');
+                }
+            } catch (UncheckedIOException exception) {
+                throw exception.getCause();
+            }
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(format.mediaType);
+        headers.setContentDisposition(ContentDisposition.attachment().filename(fileName + "." + format.extension).build());
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    /**
+     * Copies an error response into one with the body type of the export. Spring MVC only streams a
+     * {@code ResponseEntity} declared with a {@link StreamingResponseBody} body, so the error has to be one as well.
+     *
+     * @param response The error response, with its encoded body.
+     * @return A {@link ResponseEntity} writing the same status, headers and body.
+     */
+    public static ResponseEntity<StreamingResponseBody> generateErrorResponse(ResponseEntity<byte[]> response) {
+        byte[] body = response.getBody();
+        return ResponseEntity.status(response.getStatusCode())
+            .headers(response.getHeaders())
+            .body(outputStream -> outputStream.write(body));
+    }
+}
@@ -0,0 +1,121 @@
+package com.bcnc_group_test.handler;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class PageResponseHandler {
+
+    public static final String DEFAULT_PAGE_SIZE = "100";
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int STREAM_PAGE_SIZE = 500;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private PageResponseHandler() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Loads the page of rows whose id is greater than the given cursor, ordered by id.
+     *
+     * @param <E> The type of the rows.
+     */
+    @FunctionalInterface
+    public interface PageLoader<E> {
+        List<E> load(Long afterId, int size);
+    }
+
+    /**
+     * Generates the response of a keyset page. When the page is full, the id of its last row is returned as the
+     * cursor of the next page, both in the {@value #NEXT_CURSOR_HEADER} header and as a {@code Link} header. The link
+     * is built from the resolved page size and cursor, whether the request sent them in the query string or not.
+     *
+     * @param page  The rows of the page, ordered by id.
+     * @param size  The requested page size.
+     * @param idOf  Extracts the id of a row.
+     * @param toDTO Maps a row to the object included in the response.
+     * @return A {@link ResponseEntity} representing the constructed HTTP response.
+     */
+    public static <E, D> ResponseEntity<ResponseEnvelope<List<D>>> generatePageResponse(List<E> page, int size,
+                                                                                      Function<E, Long> idOf, Function<E, D> toDTO) {
+        List<D> dtoList = page.stream().map(toDTO).toList();
+        return generatePageResponse(page, size, idOf, dtoList, dtoList.size());
+    }
+
+    /**
+     * Generates the response of a keyset page, like {@link #generatePageResponse(List, int, Function, Function)}, with
+     * a body already built from the whole page, for representations that are not a list of rows.
+     *
+     * @param page  The rows of the page, ordered by id.
+     * @param size  The requested page size.
+     * @param idOf  Extracts the id of a row.
+     * @param body  The object included in the response.
+     * @param count The number of rows in the body.
+     * @return A {@link ResponseEntity} representing the constructed HTTP response.
+     */
+    public static <E, B> ResponseEntity<ResponseEnvelope<B>> generatePageResponse(List<E> page, int size, Function<E, Long> idOf,
+                                                                                B body, int count) {
+        ResponseEntity<ResponseEnvelope<B>> response = ResponseHandler.generateResponse("OK", HttpStatus.OK, body, count);
+        if (page.size() < size) {
+            return response;
+        }
+
+        String nextCursor = String.valueOf(idOf.apply(page.get(page.size() - 1)));
+        String nextPage = ServletUriComponentsBuilder.fromCurrentRequestUri()
+            .queryParam("size", size)
+            .queryParam("afterId", nextCursor)
+            .toUriString();
+        return ResponseEntity.status(response.getStatusCode())
+            .header(NEXT_CURSOR_HEADER, nextCursor)
+            .header(HttpHeaders.LINK, "<" + nextPage + ">; rel=\"next\"")
+            .body(response.getBody());
+    }
+
+    /**
+     * Generates a newline-delimited JSON response that walks the whole table with keyset pages of
+     * {@value #STREAM_PAGE_SIZE} rows, writing and flushing every page before the next one is read,
+     * so memory use does not depend on the size of the table.
+     *
+     * @param objectMapper The mapper used to serialize every row.
+     * @param pageLoader   Loads the page after a given id.
+     * @param idOf         Extracts the id of a row.
+     * @param toDTO        Maps a row to the object written to the response.
+     * @return A {@link ResponseEntity} streaming the rows.
+     */
+    public static <E, D> ResponseEntity<StreamingResponseBody> generateStreamResponse(ObjectMapper objectMapper, PageLoader<E> pageLoader,
+                                                                                      Function<E, Long> idOf, Function<E, D> toDTO) {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                Long afterId = 0L;
+                List<E> page;
+                do {
+                    page = pageLoader.load(afterId, STREAM_PAGE_SIZE);
+                    for (E row : page) {
+                        writer.writeValue(generator, toDTO.apply(row));
+                        generator.writeRaw('\n');
+                    }
+                    if (!page.isEmpty()) {
+                        afterId = idOf.apply(page.get(page.size() - 1));
+                    }
+                    generator.flush();
+                } while (page.size() == STREAM_PAGE_SIZE);
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+}
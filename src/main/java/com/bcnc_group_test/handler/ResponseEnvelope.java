@@ -0,0 +1,53 @@
+package com.bcnc_group_test.handler;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Body of every JSON response. {@code data} and {@code count} are left out of responses that only carry a message.
+ *
+ * @param message The message of the response.
+ * @param status  The HTTP status code of the response.
+ * @param data    The data object of the response.
+ * @param count   The number of items in the data object.
+ * @param <T>     The type of the data object.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"message", "status", "data", "count"})
+public record ResponseEnvelope<T>(@JsonSerialize(using = MessageSerializer.class) String message, int status, T data, Integer count) {
+
+    public static ResponseEnvelope<Void> of(String message, int status) {
+        return new ResponseEnvelope<>(message, status, null, null);
+    }
+
+    /**
+     * Writes the message shared by every successful response from its pre-encoded UTF-8 bytes.
+     */
+    static final class MessageSerializer extends StdSerializer<String> {
+
+        private static final Map<String, SerializableString> PRE_ENCODED = Map.of("OK", new SerializedString("OK"));
+
+        MessageSerializer() {
+            super(String.class);
+        }
+
+        @Override
+        public void serialize(String message, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            SerializableString preEncoded = PRE_ENCODED.get(message);
+            if (preEncoded != null) {
+                generator.writeString(preEncoded);
+            } else {
+                generator.writeString(message);
+            }
+        }
+    }
+}
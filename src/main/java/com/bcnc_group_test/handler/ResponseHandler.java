@@ -1,13 +1,19 @@
 package com.bcnc_group_test.handler;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
-import java.util.HashMap;
+import java.io.UncheckedIOException;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ResponseHandler {
 
+    private static final Map<StaticBodyKey, byte[]> STATIC_BODIES = new ConcurrentHashMap<>();
+
     private ResponseHandler() {
         throw new UnsupportedOperationException("Utility class");
     }
@@ -21,12 +27,31 @@ public class ResponseHandler {
      * @param count       The total character count to include in the response.
      * @return A {@link ResponseEntity} representing the constructed HTTP response.
      */
-    public static ResponseEntity<Map<String, Object>> generateResponse(String message, HttpStatus httpStatus, Object responseObj, int count) {
-        Map<String, Object> map = createBaseResponseMap(message, httpStatus);
-        map.put("data", responseObj);
-        map.put("count", count);
+    public static <T> ResponseEntity<ResponseEnvelope<T>> generateResponse(String message, HttpStatus httpStatus, T responseObj, int count) {
+        return new ResponseEntity<>(new ResponseEnvelope<>(message, httpStatus.value(), responseObj, count), httpStatus);
+    }
 
-        return new ResponseEntity<>(map, httpStatus);
+    /**
+     * Generates the same response as {@link #generateResponse(String, HttpStatus, Object, int)}, but with the body
+     * already encoded by the given mapper, so the caller controls (and can measure) when serialization happens.
+     *
+     * @param objectMapper The mapper used to encode the body.
+     * @param message      The message to include in the response.
+     * @param httpStatus   The HTTP status code for the response.
+     * @param responseObj  The data object to include in the response.
+     * @param count        The total character count to include in the response.
+     * @return A {@link ResponseEntity} with the encoded body.
+     */
+    public static <T> ResponseEntity<byte[]> generateEncodedResponse(ObjectMapper objectMapper, String message, HttpStatus httpStatus,
+                                                                   T responseObj, int count) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(new ResponseEnvelope<>(message, httpStatus.value(), responseObj, count));
+            return ResponseEntity.status(httpStatus)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
     }
 
     /**
@@ -36,24 +61,35 @@ public class ResponseHandler {
      * @param httpStatus The HTTP status code for the response.
      * @return A {@link ResponseEntity} representing the constructed HTTP response.
      */
-    public static ResponseEntity<Map<String, Object>> generateResponse(String message, HttpStatus httpStatus) {
-        Map<String, Object> map = createBaseResponseMap(message, httpStatus);
-
-        return new ResponseEntity<>(map, httpStatus);
+    public static ResponseEntity<ResponseEnvelope<Void>> generateResponse(String message, HttpStatus httpStatus) {
+        return new ResponseEntity<>(ResponseEnvelope.of(message, httpStatus.value()), httpStatus);
     }
 
     /**
-     * Creates the base response map with common fields.
+     * Generates a standardized HTTP response entity whose JSON body is encoded once per mapper, and reused by every
+     * later call with the same message and status. Only use it with constant messages, every distinct message stays
+     * cached. Each call gets its own copy of the body, so a caller cannot change the one handed to the others.
      *
-     * @param message    The message to include in the response.
-     * @param httpStatus The HTTP status code for the response.
-     * @return A map containing the base response fields.
+     * @param objectMapper The mapper used to encode the body.
+     * @param message      The constant message to include in the response.
+     * @param httpStatus   The HTTP status code for the response.
+     * @return A {@link ResponseEntity} with the pre-encoded body.
      */
-    private static Map<String, Object> createBaseResponseMap(String message, HttpStatus httpStatus) {
-        Map<String, Object> map = new HashMap<>();
-        map.put("message", message);
-        map.put("status", httpStatus.value());
+    public static ResponseEntity<byte[]> generateStaticResponse(ObjectMapper objectMapper, String message, HttpStatus httpStatus) {
+        byte[] body = STATIC_BODIES.computeIfAbsent(new StaticBodyKey(objectMapper, message, httpStatus), ResponseHandler::encodeStaticBody);
+        return ResponseEntity.status(httpStatus)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body.clone());
+    }
+
+    private static byte[] encodeStaticBody(StaticBodyKey key) {
+        try {
+            return key.objectMapper().writeValueAsBytes(ResponseEnvelope.of(key.message(), key.httpStatus().value()));
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
 
-        return map;
+    private record StaticBodyKey(ObjectMapper objectMapper, String message, HttpStatus httpStatus) {
     }
 }
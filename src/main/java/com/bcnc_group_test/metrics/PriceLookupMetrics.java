@@ -0,0 +1,61 @@
+package com.bcnc_group_test.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Instruments the stages of a price lookup. Every stage is recorded as an {@link Observation} named
+ * {@value #LOOKUP} and tagged with its {@link Stage}, which becomes a timer (and a span, once a tracing bridge is on
+ * the classpath). The outcome of every lookup is counted in {@value #RESULTS}, tagged {@code found} or
+ * {@code not_found}.
+ */
+@Component
+public class PriceLookupMetrics {
+
+    public static final String LOOKUP = "price.lookup";
+    public static final String RESULTS = "price.lookup.results";
+
+    public enum Stage {
+        /** The whole controller method. */
+        CONTROLLER,
+        /** The price service, including the DAO and any cache in front of it. */
+        SERVICE,
+        /** The database query. */
+        DB,
+        /** The in-memory index lookup that replaces the database query. */
+        INDEX,
+        /** Mapping the entity to its DTO. */
+        MAPPING,
+        /** Encoding the response body. */
+        SERIALIZATION;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final ObservationRegistry observationRegistry;
+    private final Counter found;
+    private final Counter notFound;
+
+    public PriceLookupMetrics(ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
+        this.observationRegistry = observationRegistry;
+        this.found = Counter.builder(RESULTS).tag("result", "found").register(meterRegistry);
+        this.notFound = Counter.builder(RESULTS).tag("result", "not_found").register(meterRegistry);
+    }
+
+    public <T> T observe(Stage stage, Supplier<T> supplier) {
+        return Observation.createNotStarted(LOOKUP, observationRegistry)
+            .contextualName(LOOKUP + " " + stage.tag)
+            .lowCardinalityKeyValue("stage", stage.tag)
+            .observe(supplier);
+    }
+
+    public void recordResult(boolean priceFound) {
+        (priceFound ? found : notFound).increment();
+    }
+}
@@ -0,0 +1,32 @@
+package com.bcnc_group_test.persistence;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers the changes of the copies of the prices kept outside the database (indexes, stores and caches) until the
+ * current transaction commits. The writes of the DAOs join the transaction of their caller, e.g. every batch of an
+ * import, which may still roll back after they return and must not be seen by other readers before it commits.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Runs the change once the current transaction commits, never if it rolls back, or right away outside of one.
+     */
+    public static void run(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
@@ -2,13 +2,19 @@ package com.bcnc_group_test.persistence;
 
 import com.bcnc_group_test.entities.Brand;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface IBrandDAO {
 
     List<Brand> findAll();
 
+    List<Brand> findAll(Long afterId, int size);
+
+    Set<Long> findExistingIds(Collection<Long> ids);
+
     Optional<Brand> findById(Long id);
 
     void save(Brand brand);
@@ -0,0 +1,21 @@
+package com.bcnc_group_test.persistence;
+
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.events.PriceChangeEvent;
+import com.bcnc_group_test.persistence.index.PriceKey;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface IPriceChangeOutboxDAO {
+
+    void recordSaved(Price price, PriceKey previousKey);
+
+    void recordDeleted(Long priceId);
+
+    void recordInserted(List<Price> prices);
+
+    List<PriceChangeEvent> findPending(int limit);
+
+    void deletePublished(Collection<Long> sequences);
+}
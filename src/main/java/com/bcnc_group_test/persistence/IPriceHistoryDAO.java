@@ -0,0 +1,18 @@
+package com.bcnc_group_test.persistence;
+
+import com.bcnc_group_test.entities.Price;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface IPriceHistoryDAO {
+
+    void recordSaved(Price price);
+
+    void recordDeleted(Long priceId);
+
+    void recordInserted(List<Price> prices);
+
+    Optional<Price> getPriceAsOf(Long productId, Long brandId, LocalDateTime applicationDate, LocalDateTime asOf);
+}
@@ -0,0 +1,14 @@
+package com.bcnc_group_test.persistence;
+
+import com.bcnc_group_test.entities.Price;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface IPriceReactiveDAO {
+
+    Flux<Price> findAll();
+
+    Mono<Price> getPrice(Long productId, Long brandId, LocalDateTime applicationDate);
+}
@@ -3,10 +3,13 @@ package com.bcnc_group_test.persistence.impl;
 import com.bcnc_group_test.entities.Brand;
 import com.bcnc_group_test.persistence.IBrandDAO;
 import com.bcnc_group_test.repository.BrandRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Component
 public class BrandDAOImpl implements IBrandDAO {
@@ -22,6 +25,16 @@ public class BrandDAOImpl implements IBrandDAO {
         return (List<Brand>) brandRepository.findAll();
     }
 
+    @Override
+    public List<Brand> findAll(Long afterId, int size) {
+        return brandRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size));
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return brandRepository.findExistingIds(ids);
+    }
+
     @Override
     public Optional<Brand> findById(Long id) {
         return brandRepository.findById(id);
@@ -0,0 +1,138 @@
+package com.bcnc_group_test.persistence.impl;
+
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.PriceChangeType;
+import com.bcnc_group_test.events.PriceChangeEvent;
+import com.bcnc_group_test.events.PriceChangeNode;
+import com.bcnc_group_test.persistence.IPriceChangeOutboxDAO;
+import com.bcnc_group_test.persistence.index.PriceKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes every price change to the {@code price_change} outbox, to be published by the
+ * {@link com.bcnc_group_test.events.PriceChangeRelay}. Like the history, it must be called inside the transaction of
+ * the change. Nothing is written unless {@code bcnc_group_test.price.events.enabled} is true, so without events the
+ * table stays empty.
+ */
+@Component
+public class PriceChangeOutboxDAOImpl implements IPriceChangeOutboxDAO {
+
+    private static final String COLUMNS = "change_type, price_id, brand_id, brand_name, product_id, product_name, start_date, " +
+        "end_date, price_list, priority, price, currency, origin, recorded_at, previous_brand_id, previous_product_id, protocol";
+    private static final String INSERT_SAVED = "INSERT INTO price_change (" + COLUMNS + ") VALUES ('SAVED', ?, ?, " +
+        "(SELECT name FROM brand WHERE id = ?), ?, (SELECT name FROM product WHERE id = ?), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_FROM_PRICE = "INSERT INTO price_change (" + COLUMNS + ") " +
+        "SELECT ?, price.id, price.brand_id, brand.name, price.product_id, product.name, price.start_date, price.end_date, " +
+        "price.price_list, price.priority, price.price, price.currency, ?, ?, NULL, NULL, ? " +
+        "FROM price LEFT JOIN brand ON brand.id = price.brand_id LEFT JOIN product ON product.id = price.product_id ";
+    private static final String SELECT_PENDING = "SELECT id, " + COLUMNS + " FROM price_change ORDER BY id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PriceChangeNode node;
+    private final Clock clock;
+    private final boolean enabled;
+
+    public PriceChangeOutboxDAOImpl(JdbcTemplate jdbcTemplate, PriceChangeNode node, Clock clock,
+                                    @Value("${bcnc_group_test.price.events.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.node = node;
+        this.clock = clock;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Takes the state from the saved entity, as an update may not be flushed yet, and the names from the brand and
+     * product tables, as the entity may only carry their ids.
+     *
+     * @param previousKey The pair the price belonged to before the change, {@code null} if it is new.
+     */
+    @Override
+    public void recordSaved(Price price, PriceKey previousKey) {
+        if (!enabled) {
+            return;
+        }
+        jdbcTemplate.update(INSERT_SAVED, savedArguments(price, previousKey, now()));
+    }
+
+    /**
+     * Copies the last state of the price, so it must run before the row is deleted.
+     */
+    @Override
+    public void recordDeleted(Long priceId) {
+        if (!enabled) {
+            return;
+        }
+        jdbcTemplate.update(INSERT_FROM_PRICE + "WHERE price.id = ?", PriceChangeType.DELETED.name(), node.id(), now(),
+            PriceChangeEvent.PROTOCOL_VERSION, priceId);
+    }
+
+    /**
+     * Records the prices of a JDBC batch insert, by the ids it generated, with a single batch.
+     */
+    @Override
+    public void recordInserted(List<Price> prices) {
+        if (!enabled) {
+            return;
+        }
+        Timestamp now = now();
+        jdbcTemplate.batchUpdate(INSERT_SAVED, prices.stream().map(price -> savedArguments(price, null, now)).toList());
+    }
+
+    /**
+     * The oldest changes still in the outbox, in id order, each with the protocol version it was written with.
+     */
+    @Override
+    public List<PriceChangeEvent> findPending(int limit) {
+        return jdbcTemplate.query(SELECT_PENDING, (resultSet, rowNum) -> new PriceChangeEvent(
+            resultSet.getInt(18),
+            resultSet.getLong(1),
+            PriceChangeType.valueOf(resultSet.getString(2)),
+            resultSet.getLong(3),
+            resultSet.getLong(4),
+            resultSet.getString(5),
+            resultSet.getLong(6),
+            resultSet.getString(7),
+            resultSet.getTimestamp(8).toLocalDateTime(),
+            resultSet.getTimestamp(9).toLocalDateTime(),
+            resultSet.getLong(10),
+            resultSet.getInt(11),
+            resultSet.getDouble(12),
+            CurrencyCode.valueOf(resultSet.getString(13)),
+            resultSet.getString(14),
+            resultSet.getTimestamp(15).toLocalDateTime(),
+            resultSet.getObject(16, Long.class),
+            resultSet.getObject(17, Long.class)
+        ), limit);
+    }
+
+    /**
+     * Deletes the given changes by id. A range delete up to the highest one would also remove changes with a lower
+     * id whose transaction committed after they were read, before they were published.
+     */
+    @Override
+    public void deletePublished(Collection<Long> sequences) {
+        jdbcTemplate.batchUpdate("DELETE FROM price_change WHERE id = ?", sequences, sequences.size(),
+            (statement, sequence) -> statement.setLong(1, sequence));
+    }
+
+    private Object[] savedArguments(Price price, PriceKey previousKey, Timestamp now) {
+        return new Object[] {price.getId(), price.getBrand().getId(), price.getBrand().getId(),
+            price.getProduct().getId(), price.getProduct().getId(), Timestamp.valueOf(price.getStartDate()),
+            Timestamp.valueOf(price.getEndDate()), price.getPriceList(), price.getPriority(), price.getPrice(),
+            price.getCurrency().name(), node.id(), now, previousKey == null ? null : previousKey.brandId(),
+            previousKey == null ? null : previousKey.productId(), PriceChangeEvent.PROTOCOL_VERSION};
+    }
+
+    private Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now(clock));
+    }
+}
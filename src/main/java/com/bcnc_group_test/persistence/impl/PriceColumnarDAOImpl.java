@@ -0,0 +1,368 @@
+package com.bcnc_group_test.persistence.impl;
+
+import com.bcnc_group_test.entities.Brand;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.Product;
+import com.bcnc_group_test.events.PriceChangeBroker;
+import com.bcnc_group_test.events.PriceChangeEvent;
+import com.bcnc_group_test.events.PriceChangeNode;
+import com.bcnc_group_test.metrics.PriceLookupMetrics;
+import com.bcnc_group_test.metrics.PriceLookupMetrics.Stage;
+import com.bcnc_group_test.persistence.AfterCommit;
+import com.bcnc_group_test.persistence.IBrandDAO;
+import com.bcnc_group_test.persistence.IPriceDAO;
+import com.bcnc_group_test.persistence.IProductDAO;
+import com.bcnc_group_test.persistence.index.ColumnarPriceStore;
+import com.bcnc_group_test.persistence.index.PriceKey;
+import com.bcnc_group_test.persistence.index.PriceSnapshot;
+import com.bcnc_group_test.persistence.index.PriceTimeline;
+import com.bcnc_group_test.persistence.index.PriceView;
+import com.bcnc_group_test.repository.projection.PriceRow;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Price DAO that answers {@link #getPrice} from a {@link ColumnarPriceStore}, a primitive-array copy of the price table
+ * that takes under 40 bytes per price, instead of one {@link Price} entity graph per row.
+ * <p>
+ * The store is immutable. Writes still go through {@link PriceDAOImpl}, and the (brand, product) pairs they touch are
+ * re-read and kept as small {@link PriceTimeline}s that take precedence over the store until the next
+ * {@link #loadStore()}, which runs in the background once {@code bcnc_group_test.price.columnar.max-overrides} pairs
+ * have timelines, so they are folded into the store instead of growing without bound. The brand and product of the
+ * returned prices come from bounded caches in front of their DAOs, so only the hot part of the catalog is kept in
+ * memory. Changes made by other instances arrive through the
+ * {@link PriceChangeBroker} and refresh the pairs they belong to in the same way.
+ * <p>
+ * With {@code bcnc_group_test.price.snapshot.path} set, every loaded store is also written to a {@link PriceSnapshot}
+ * that the next instance maps at startup.
+ * Enabled with {@code bcnc_group_test.price.dao=columnar}.
+ */
+@Primary
+@Component
+@ConditionalOnProperty(name = "bcnc_group_test.price.dao", havingValue = "columnar")
+public class PriceColumnarDAOImpl implements IPriceDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PriceColumnarDAOImpl.class);
+    private static final int CATCH_UP_PAGE_SIZE = 1000;
+
+    private final PriceDAOImpl priceDAO;
+    private final PriceLookupMetrics priceLookupMetrics;
+    private final PriceChangeBroker priceChangeBroker;
+    private final PriceChangeNode node;
+    private final Path snapshotPath;
+    private final LoadingCache<Long, Brand> brands;
+    private final LoadingCache<Long, Product> products;
+    private volatile ColumnarPriceStore store = ColumnarPriceStore.empty();
+    private volatile Map<PriceKey, PriceTimeline> overrides = new ConcurrentHashMap<>();
+    private volatile Map<PriceKey, PriceTimeline> previousOverrides = Map.of();
+    private final int maxOverrides;
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    public PriceColumnarDAOImpl(PriceDAOImpl priceDAO, IBrandDAO brandDAO, IProductDAO productDAO, PriceLookupMetrics priceLookupMetrics,
+                                PriceChangeBroker priceChangeBroker, PriceChangeNode node,
+                                @Value("${bcnc_group_test.price.columnar.catalog-cache-size:100000}") long catalogCacheSize,
+                                @Value("${bcnc_group_test.price.columnar.max-overrides:10000}") int maxOverrides,
+                                @Value("${bcnc_group_test.price.snapshot.path:}") String snapshotPath) {
+        this.priceDAO = priceDAO;
+        this.priceLookupMetrics = priceLookupMetrics;
+        this.priceChangeBroker = priceChangeBroker;
+        this.node = node;
+        this.maxOverrides = maxOverrides;
+        this.snapshotPath = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        // A loader returning null is not cached, so a brand or product created later is found on the next lookup.
+        this.brands = Caffeine.newBuilder()
+            .maximumSize(catalogCacheSize)
+            .build(id -> brandDAO.findById(id).orElse(null));
+        this.products = Caffeine.newBuilder()
+            .maximumSize(catalogCacheSize)
+            .build(id -> productDAO.findById(id).orElse(null));
+    }
+
+    /**
+     * Serves from the snapshot when {@code bcnc_group_test.price.snapshot.path} points to a valid one: the file is
+     * mapped, the prices created after it are read by id, and the full table is reloaded in the background to pick up
+     * updates and deletes. Without a usable snapshot the table is loaded before the application starts.
+     */
+    @PostConstruct
+    public void start() {
+        priceChangeBroker.subscribe(this::apply);
+        if (snapshotPath == null || !Files.exists(snapshotPath)) {
+            loadStore();
+            return;
+        }
+        PriceSnapshot snapshot;
+        try {
+            snapshot = PriceSnapshot.open(snapshotPath);
+        } catch (IOException exception) {
+            LOGGER.warn("Ignoring price snapshot {}: {}", snapshotPath, exception.getMessage());
+            loadStore();
+            return;
+        }
+        store = snapshot.store();
+        catchUpCreatedAfter(snapshot.maxPriceId());
+        LOGGER.info("Serving {} prices from the snapshot written at {}", store.size(), snapshot.createdAt());
+
+        Thread reload = new Thread(this::loadStore, "price-snapshot-reload");
+        reload.setDaemon(true);
+        reload.start();
+    }
+
+    /**
+     * Rebuilds the store from a single cursor over the price table, ordered the way the store is laid out, and
+     * writes the snapshot if one is configured. Lookups keep using the previous store and the timelines of the pairs
+     * written so far until the new store is in place; pairs written while it is built keep their timelines.
+     */
+    public synchronized void loadStore() {
+        previousOverrides = overrides;
+        overrides = new ConcurrentHashMap<>();
+        ColumnarPriceStore.Builder builder = ColumnarPriceStore.builder();
+        priceDAO.forEachRowInLookupOrder(builder::add);
+        store = builder.build();
+        previousOverrides = Map.of();
+        brands.invalidateAll();
+        products.invalidateAll();
+
+        if (snapshotPath != null) {
+            try {
+                PriceSnapshot.write(store, snapshotPath);
+            } catch (IOException exception) {
+                LOGGER.warn("Could not write the price snapshot {}", snapshotPath, exception);
+            }
+        }
+    }
+
+    public ColumnarPriceStore store() {
+        return store;
+    }
+
+    /**
+     * The number of (brand, product) pairs currently answered from their timeline instead of the store.
+     */
+    public int overrides() {
+        return overrides.size();
+    }
+
+    @Override
+    public List<Price> findAll() {
+        return priceDAO.findAll();
+    }
+
+    @Override
+    public List<Price> findAll(Long afterId, int size) {
+        return priceDAO.findAll(afterId, size);
+    }
+
+    @Override
+    public List<PriceRow> findAllRows(Long afterId, int size) {
+        return priceDAO.findAllRows(afterId, size);
+    }
+
+    @Override
+    public void forEachRow(Consumer<PriceRow> action) {
+        priceDAO.forEachRow(action);
+    }
+
+    @Override
+    public Optional<Price> findById(Long id) {
+        return priceDAO.findById(id);
+    }
+
+    /**
+     * The pairs a write touches are re-read once its transaction commits, so a rolled back write never reaches the
+     * timelines and other readers do not see it before the commit.
+     */
+    @Override
+    public void save(Price price) {
+        PriceKey previousKey = price.getId() == null ? null : priceDAO.findById(price.getId()).map(PriceKey::of).orElse(null);
+        priceDAO.save(price);
+        PriceKey key = PriceKey.of(price);
+        AfterCommit.run(() -> {
+            refresh(previousKey);
+            refresh(key);
+        });
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        PriceKey key = priceDAO.findById(id).map(PriceKey::of).orElse(null);
+        priceDAO.deleteById(id);
+        AfterCommit.run(() -> refresh(key));
+    }
+
+    @Override
+    public void insertAll(List<Price> prices) {
+        priceDAO.insertAll(prices);
+        Map<Long, Set<Long>> productIdsByBrand = new HashMap<>();
+        for (Price price : prices) {
+            productIdsByBrand.computeIfAbsent(price.getBrand().getId(), brandId -> new HashSet<>()).add(price.getProduct().getId());
+        }
+        AfterCommit.run(() -> refresh(productIdsByBrand));
+    }
+
+    @Override
+    public List<Price> findByBrandIdAndProductIds(Long brandId, Collection<Long> productIds) {
+        return priceDAO.findByBrandIdAndProductIds(brandId, productIds);
+    }
+
+    @Override
+    public Optional<Price> getPrice(Long productId, Long brandId, LocalDateTime applicationDate) {
+        if (productId == null || brandId == null || applicationDate == null) {
+            return Optional.empty();
+        }
+        return priceLookupMetrics.observe(Stage.INDEX, () -> find(brandId, productId, applicationDate));
+    }
+
+    @Override
+    public Optional<Price> getPriceAsOf(Long productId, Long brandId, LocalDateTime applicationDate, LocalDateTime asOf) {
+        return priceDAO.getPriceAsOf(productId, brandId, applicationDate, asOf);
+    }
+
+    @Override
+    public Map<Long, Optional<Price>> getPrices(Long brandId, Collection<Long> productIds, LocalDateTime applicationDate) {
+        Map<Long, Optional<Price>> prices = new LinkedHashMap<>();
+        for (Long productId : productIds) {
+            prices.put(productId, getPrice(productId, brandId, applicationDate));
+        }
+        return prices;
+    }
+
+    private Optional<Price> find(long brandId, long productId, LocalDateTime applicationDate) {
+        PriceKey key = new PriceKey(brandId, productId);
+        PriceTimeline override = overrides.get(key);
+        if (override == null) {
+            override = previousOverrides.get(key);
+        }
+        if (override != null) {
+            return override.find(applicationDate);
+        }
+        return store.find(brandId, productId, applicationDate).flatMap(this::toPrice);
+    }
+
+    /**
+     * Empty when the brand or the product no longer exists, i.e. it was deleted after the store was loaded.
+     */
+    private Optional<Price> toPrice(PriceView view) {
+        Brand brand = brands.get(view.brandId());
+        Product product = products.get(view.productId());
+        if (brand == null || product == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new Price(
+            view.id(),
+            brand,
+            view.startDate(),
+            view.endDate(),
+            view.priceList(),
+            product,
+            view.priority(),
+            view.price(),
+            view.currency()
+        ));
+    }
+
+    /**
+     * Reads the prices created after the snapshot with keyset pages over the id and refreshes the pairs they belong to.
+     */
+    private void catchUpCreatedAfter(long maxPriceId) {
+        Map<Long, Set<Long>> productIdsByBrand = new HashMap<>();
+        List<PriceRow> page;
+        long afterId = maxPriceId;
+        do {
+            page = priceDAO.findAllRows(afterId, CATCH_UP_PAGE_SIZE);
+            for (PriceRow row : page) {
+                productIdsByBrand.computeIfAbsent(row.brandId(), brandId -> new HashSet<>()).add(row.productId());
+                afterId = row.id();
+            }
+        } while (page.size() == CATCH_UP_PAGE_SIZE);
+        refresh(productIdsByBrand);
+    }
+
+    /**
+     * Refreshes the pairs of the changes made by other instances, including the pair a moved price left. A batch with a
+     * change of a newer protocol reloads the whole store instead.
+     */
+    void apply(List<PriceChangeEvent> events) {
+        if (!events.stream().allMatch(PriceChangeEvent::isUnderstood)) {
+            loadStore();
+            return;
+        }
+        Map<Long, Set<Long>> productIdsByBrand = new HashMap<>();
+        for (PriceChangeEvent event : events) {
+            if (!node.isOrigin(event)) {
+                for (PriceKey key : event.keys()) {
+                    productIdsByBrand.computeIfAbsent(key.brandId(), brandId -> new HashSet<>()).add(key.productId());
+                }
+            }
+        }
+        refresh(productIdsByBrand);
+    }
+
+    private void refresh(PriceKey key) {
+        if (key != null) {
+            overrides.put(key, PriceTimeline.of(priceDAO.findByBrandIdAndProductIds(key.brandId(), List.of(key.productId()))));
+            compactIfNeeded();
+        }
+    }
+
+    private void refresh(Map<Long, Set<Long>> productIdsByBrand) {
+        productIdsByBrand.forEach((brandId, productIds) -> {
+            Map<Long, List<Price>> pricesByProduct = new HashMap<>();
+            productIds.forEach(productId -> pricesByProduct.put(productId, new ArrayList<>()));
+            for (Price price : priceDAO.findByBrandIdAndProductIds(brandId, productIds)) {
+                pricesByProduct.get(price.getProduct().getId()).add(price);
+            }
+            pricesByProduct.forEach((productId, group) -> overrides.put(new PriceKey(brandId, productId), PriceTimeline.of(group)));
+        });
+        compactIfNeeded();
+    }
+
+    /**
+     * Reloads the store in the background once {@link #maxOverrides} pairs have timelines, which folds them into it.
+     * Lookups keep being answered from the timelines while it runs, and a single reload runs at a time.
+     */
+    private void compactIfNeeded() {
+        if (overrides.size() < maxOverrides || !compacting.compareAndSet(false, true)) {
+            return;
+        }
+        LOGGER.info("Folding the timelines of {} pairs into the price store", overrides.size());
+        Thread compaction = new Thread(() -> {
+            try {
+                loadStore();
+            } finally {
+                compacting.set(false);
+            }
+        }, "price-store-compaction");
+        compaction.setDaemon(true);
+        compaction.start();
+    }
+
+    @Override
+    public OptionalLong priceBookVersion() {
+        return OptionalLong.empty();
+    }
+}
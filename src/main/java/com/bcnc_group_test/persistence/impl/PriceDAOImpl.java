@@ -1,21 +1,69 @@
 package com.bcnc_group_test.persistence.impl;
 
+import com.bcnc_group_test.entities.CurrencyCode;
 import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.metrics.PriceLookupMetrics;
+import com.bcnc_group_test.metrics.PriceLookupMetrics.Stage;
+import com.bcnc_group_test.persistence.IPriceChangeOutboxDAO;
 import com.bcnc_group_test.persistence.IPriceDAO;
+import com.bcnc_group_test.persistence.IPriceHistoryDAO;
+import com.bcnc_group_test.persistence.index.ColumnarPriceStore;
+import com.bcnc_group_test.persistence.index.PriceKey;
+import com.bcnc_group_test.persistence.index.PriceTimelineCompiler;
 import com.bcnc_group_test.repository.PriceRepository;
+import com.bcnc_group_test.repository.projection.PriceRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
 
 @Component
 public class PriceDAOImpl implements IPriceDAO {
 
+    private static final String INSERT_PRICE = "INSERT INTO price (brand_id, product_id, start_date, end_date, price_list, priority, price, currency) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_ROWS = "SELECT id, brand_id, product_id, start_date, end_date, price_list, priority, price, currency " +
+        "FROM price ";
+
     private final PriceRepository priceRepository;
+    private final IPriceHistoryDAO priceHistoryDAO;
+    private final IPriceChangeOutboxDAO priceChangeOutboxDAO;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PriceLookupMetrics priceLookupMetrics;
 
-    public PriceDAOImpl(PriceRepository priceRepository) {
+    public PriceDAOImpl(PriceRepository priceRepository, IPriceHistoryDAO priceHistoryDAO, IPriceChangeOutboxDAO priceChangeOutboxDAO,
+                        JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, PriceLookupMetrics priceLookupMetrics,
+                        @Value("${bcnc_group_test.price.export.fetch-size:1000}") int fetchSize) {
         this.priceRepository = priceRepository;
+        this.priceHistoryDAO = priceHistoryDAO;
+        this.priceChangeOutboxDAO = priceChangeOutboxDAO;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.priceLookupMetrics = priceLookupMetrics;
+        this.cursorJdbcTemplate = new JdbcTemplate(Objects.requireNonNull(jdbcTemplate.getDataSource()));
+        this.cursorJdbcTemplate.setFetchSize(fetchSize);
     }
 
     @Override
@@ -23,23 +71,194 @@ public class PriceDAOImpl implements IPriceDAO {
         return (List<Price>) priceRepository.findAll();
     }
 
+    @Override
+    public List<Price> findAll(Long afterId, int size) {
+        return priceRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size));
+    }
+
+    /**
+     * Reads the page as {@link PriceRow} projections, which only carry the brand and product ids,
+     * so neither association is joined nor loaded.
+     */
+    @Override
+    public List<PriceRow> findAllRows(Long afterId, int size) {
+        return priceRepository.findRows(afterId, PageRequest.of(0, size));
+    }
+
+    /**
+     * Walks the whole table with a single forward-only, read-only cursor that fetches {@code fetch-size} rows per
+     * round trip, handing every row to the action as soon as it is read. Nothing is accumulated and no entity is
+     * created, so memory use does not depend on the size of the table.
+     */
+    @Override
+    public void forEachRow(Consumer<PriceRow> action) {
+        forEachRow(SELECT_ROWS + "ORDER BY id", action);
+    }
+
+    /**
+     * Same as {@link #forEachRow(Consumer)}, but ordered by brand, product, priority descending and id, the order
+     * {@link ColumnarPriceStore.Builder} expects.
+     */
+    public void forEachRowInLookupOrder(Consumer<PriceRow> action) {
+        forEachRow(SELECT_ROWS + "ORDER BY brand_id, product_id, priority DESC, id", action);
+    }
+
+    private void forEachRow(String sql, Consumer<PriceRow> action) {
+        cursorJdbcTemplate.query(sql, resultSet -> {
+            action.accept(new PriceRow(
+                resultSet.getLong(1),
+                resultSet.getLong(2),
+                resultSet.getLong(3),
+                resultSet.getTimestamp(4).toLocalDateTime(),
+                resultSet.getTimestamp(5).toLocalDateTime(),
+                resultSet.getLong(6),
+                resultSet.getInt(7),
+                resultSet.getDouble(8),
+                CurrencyCode.valueOf(resultSet.getString(9))
+            ));
+        });
+    }
+
     @Override
     public Optional<Price> findById(Long id) {
         return priceRepository.findById(id);
     }
 
+    /**
+     * Saves the price and records the new version in the price history and the change in the outbox, in the same
+     * transaction. The pair an existing price belonged to is read first, from the entity the save loads anyway, so the
+     * change also names the pair it was moved out of.
+     */
     @Override
     public void save(Price price) {
-        priceRepository.save(price);
+        transactionTemplate.executeWithoutResult(status -> {
+            PriceKey previousKey = price.getId() == null ? null : priceRepository.findById(price.getId()).map(PriceKey::of).orElse(null);
+            Price saved = priceRepository.save(price);
+            priceHistoryDAO.recordSaved(saved);
+            priceChangeOutboxDAO.recordSaved(saved, previousKey);
+        });
     }
 
     @Override
     public void deleteById(Long id) {
-        priceRepository.deleteById(id);
+        transactionTemplate.executeWithoutResult(status -> {
+            priceChangeOutboxDAO.recordDeleted(id);
+            priceRepository.deleteById(id);
+            priceHistoryDAO.recordDeleted(id);
+        });
+    }
+
+    @Override
+    public List<Price> findByBrandIdAndProductIds(Long brandId, Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        return priceLookupMetrics.observe(Stage.DB, () -> priceRepository.findByBrandIdAndProductIds(brandId, productIds));
+    }
+
+    /**
+     * Inserts the prices as a single JDBC batch, without going through the persistence context. The ids generated by
+     * the identity column are read back from the batch and set on the prices, and the history of the new rows and
+     * their changes are recorded for exactly those ids.
+     */
+    @Override
+    public void insertAll(List<Price> prices) {
+        transactionTemplate.executeWithoutResult(status -> insert(prices));
+    }
+
+    /**
+     * Inserts the prices like {@link #insertAll} and reads back, in the same transaction, the rows it inserted: only
+     * those, by the ids the batch generated, with their brand and product.
+     *
+     * @param prices The prices to insert.
+     * @return The inserted prices, in id order.
+     */
+    public List<Price> insertAllAndFind(List<Price> prices) {
+        return transactionTemplate.execute(status -> priceRepository.findByIdInOrderByIdAsc(insert(prices)));
+    }
+
+    /**
+     * @return The ids generated for the prices, in the order of the list.
+     */
+    private List<Long> insert(List<Price> prices) {
+        List<Long> ids = insertBatch(prices);
+        priceHistoryDAO.recordInserted(prices);
+        priceChangeOutboxDAO.recordInserted(prices);
+        return ids;
+    }
+
+    private List<Long> insertBatch(List<Price> prices) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_PRICE, new String[] {"id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement statement, int index) throws SQLException {
+                    Price price = prices.get(index);
+                    statement.setLong(1, price.getBrand().getId());
+                    statement.setLong(2, price.getProduct().getId());
+                    statement.setTimestamp(3, Timestamp.valueOf(price.getStartDate()));
+                    statement.setTimestamp(4, Timestamp.valueOf(price.getEndDate()));
+                    statement.setLong(5, price.getPriceList());
+                    statement.setInt(6, price.getPriority());
+                    statement.setDouble(7, price.getPrice());
+                    statement.setString(8, price.getCurrency().name());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return prices.size();
+                }
+            }, keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != prices.size()) {
+            throw new IllegalStateException("Expected " + prices.size() + " generated ids but got " + keys.size());
+        }
+        List<Long> ids = new ArrayList<>(keys.size());
+        for (int index = 0; index < keys.size(); index++) {
+            Long id = ((Number) keys.get(index).values().iterator().next()).longValue();
+            prices.get(index).setId(id);
+            ids.add(id);
+        }
+        return ids;
     }
 
     @Override
     public Optional<Price> getPrice(Long productId, Long brandId, LocalDateTime applicationDate) {
-        return priceRepository.getPrice(productId, brandId, applicationDate);
+        return priceLookupMetrics.observe(Stage.DB, () -> priceRepository.getPrice(productId, brandId, applicationDate));
+    }
+
+    /**
+     * Resolves the whole batch with a single query returning every price in force at the application date,
+     * then keeps the winner of each product by {@link PriceTimelineCompiler#PRECEDENCE}.
+     */
+    @Override
+    public Map<Long, Optional<Price>> getPrices(Long brandId, Collection<Long> productIds, LocalDateTime applicationDate) {
+        Map<Long, Optional<Price>> prices = new LinkedHashMap<>();
+        productIds.forEach(productId -> prices.put(productId, Optional.empty()));
+        if (prices.isEmpty()) {
+            return prices;
+        }
+
+        for (Price candidate : priceRepository.findApplicablePrices(brandId, prices.keySet(), applicationDate)) {
+            Long productId = candidate.getProduct().getId();
+            Optional<Price> current = prices.get(productId);
+            if (current != null && (current.isEmpty() || PriceTimelineCompiler.PRECEDENCE.compare(candidate, current.get()) < 0)) {
+                prices.put(productId, Optional.of(candidate));
+            }
+        }
+        return prices;
+    }
+
+    @Override
+    public Optional<Price> getPriceAsOf(Long productId, Long brandId, LocalDateTime applicationDate, LocalDateTime asOf) {
+        if (productId == null || brandId == null || applicationDate == null || asOf == null) {
+            return Optional.empty();
+        }
+        return priceLookupMetrics.observe(Stage.DB, () -> priceHistoryDAO.getPriceAsOf(productId, brandId, applicationDate, asOf));
+    }
+
+    @Override
+    public OptionalLong priceBookVersion() {
+        return OptionalLong.empty();
     }
 }
@@ -0,0 +1,89 @@
+package com.bcnc_group_test.persistence.impl;
+
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.PriceHistory;
+import com.bcnc_group_test.persistence.IPriceHistoryDAO;
+import com.bcnc_group_test.repository.PriceHistoryRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps the {@code price_history} table in step with the price table. Every change closes the stored version of the
+ * price at the current time of the {@link Clock} and, unless the price was deleted, opens a new one, so the table holds
+ * each price as it was stored at any point in time. It must be called inside the transaction of the change.
+ */
+@Component
+public class PriceHistoryDAOImpl implements IPriceHistoryDAO {
+
+    private static final String CLOSE_VERSION = "UPDATE price_history SET recorded_to = ? WHERE price_id = ? AND recorded_to = ?";
+    private static final String INSERT_VERSION = "INSERT INTO price_history (price_id, brand_id, product_id, start_date, end_date, " +
+        "price_list, priority, price, currency, recorded_from, recorded_to) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final Timestamp RECORDED_UNTIL_CHANGED = Timestamp.valueOf(PriceHistory.RECORDED_UNTIL_CHANGED);
+
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+
+    public PriceHistoryDAOImpl(PriceHistoryRepository priceHistoryRepository, JdbcTemplate jdbcTemplate, Clock clock) {
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+    }
+
+    @Override
+    public void recordSaved(Price price) {
+        Timestamp now = now();
+        jdbcTemplate.update(CLOSE_VERSION, now, price.getId(), RECORDED_UNTIL_CHANGED);
+        jdbcTemplate.update(INSERT_VERSION, versionArguments(price, now));
+    }
+
+    @Override
+    public void recordDeleted(Long priceId) {
+        jdbcTemplate.update(CLOSE_VERSION, now(), priceId, RECORDED_UNTIL_CHANGED);
+    }
+
+    /**
+     * Opens a version for each price of a JDBC batch insert, by the ids it generated, with a single batch. The prices
+     * are new, so there is no version to close.
+     */
+    @Override
+    public void recordInserted(List<Price> prices) {
+        Timestamp now = now();
+        jdbcTemplate.batchUpdate(INSERT_VERSION, prices.stream().map(price -> versionArguments(price, now)).toList());
+    }
+
+    /**
+     * Resolves the price as {@link PriceDAOImpl#getPrice} would have at {@code asOf}, with the same precedence. The
+     * query reads the entries of one brand/product pair from {@code idx_price_history_lookup}, like the current lookup.
+     */
+    @Override
+    public Optional<Price> getPriceAsOf(Long productId, Long brandId, LocalDateTime applicationDate, LocalDateTime asOf) {
+        return priceHistoryRepository.getPriceAsOf(productId, brandId, applicationDate, asOf).map(history -> new Price(
+            history.getPriceId(),
+            history.getBrand(),
+            history.getStartDate(),
+            history.getEndDate(),
+            history.getPriceList(),
+            history.getProduct(),
+            history.getPriority(),
+            history.getPrice(),
+            history.getCurrency()
+        ));
+    }
+
+    private static Object[] versionArguments(Price price, Timestamp now) {
+        return new Object[] {price.getId(), price.getBrand().getId(), price.getProduct().getId(),
+            Timestamp.valueOf(price.getStartDate()), Timestamp.valueOf(price.getEndDate()), price.getPriceList(),
+            price.getPriority(), price.getPrice(), price.getCurrency().name(), now, RECORDED_UNTIL_CHANGED};
+    }
+
+    private Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now(clock));
+    }
+}
@@ -0,0 +1,180 @@
+package com.bcnc_group_test.persistence.impl;
+
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.PriceChangeType;
+import com.bcnc_group_test.events.PriceChangeBroker;
+import com.bcnc_group_test.events.PriceChangeEvent;
+import com.bcnc_group_test.events.PriceChangeNode;
+import com.bcnc_group_test.metrics.PriceLookupMetrics;
+import com.bcnc_group_test.metrics.PriceLookupMetrics.Stage;
+import com.bcnc_group_test.persistence.AfterCommit;
+import com.bcnc_group_test.persistence.IPriceDAO;
+import com.bcnc_group_test.persistence.index.PriceBook;
+import com.bcnc_group_test.persistence.index.PriceIndex;
+import com.bcnc_group_test.repository.projection.PriceRow;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+
+/**
+ * Price DAO that answers {@link #getPrice} from an in-memory {@link PriceIndex} instead of the database.
+ * Writes still go through {@link PriceDAOImpl} and are applied to the index once their transaction commits, each one
+ * as a new version of the {@link PriceBook}, so a rolled back write never reaches it. Lookups never wait for them. Changes made by other instances arrive through the
+ * {@link PriceChangeBroker} and are applied the same way, from the event alone.
+ * Enabled with {@code bcnc_group_test.price.dao=in-memory}; any other value falls back to {@link PriceDAOImpl}.
+ */
+@Primary
+@Component
+@ConditionalOnProperty(name = "bcnc_group_test.price.dao", havingValue = "in-memory")
+public class PriceInMemoryDAOImpl implements IPriceDAO {
+
+    private final PriceDAOImpl priceDAO;
+    private final PriceIndex priceIndex;
+    private final PriceLookupMetrics priceLookupMetrics;
+    private final PriceChangeBroker priceChangeBroker;
+    private final PriceChangeNode node;
+
+    public PriceInMemoryDAOImpl(PriceDAOImpl priceDAO, PriceLookupMetrics priceLookupMetrics, PriceChangeBroker priceChangeBroker,
+                                PriceChangeNode node) {
+        this.priceDAO = priceDAO;
+        this.priceIndex = new PriceIndex();
+        this.priceLookupMetrics = priceLookupMetrics;
+        this.priceChangeBroker = priceChangeBroker;
+        this.node = node;
+    }
+
+    /**
+     * Subscribes before loading, so no change committed after the load is missed.
+     */
+    @PostConstruct
+    public void start() {
+        priceChangeBroker.subscribe(this::apply);
+        loadIndex();
+    }
+
+    public void loadIndex() {
+        priceIndex.load(priceDAO::findAll);
+    }
+
+    /**
+     * Applies the changes made by other instances in their order, each run of consecutive saves as a single version.
+     * A batch with a change of a newer protocol reloads the whole index instead.
+     */
+    void apply(List<PriceChangeEvent> events) {
+        if (!events.stream().allMatch(PriceChangeEvent::isUnderstood)) {
+            loadIndex();
+            return;
+        }
+        List<Price> saved = new ArrayList<>();
+        for (PriceChangeEvent event : events) {
+            if (node.isOrigin(event)) {
+                continue;
+            }
+            if (event.changeType() == PriceChangeType.SAVED) {
+                saved.add(event.toPrice());
+                continue;
+            }
+            if (!saved.isEmpty()) {
+                priceIndex.putAll(saved);
+                saved = new ArrayList<>();
+            }
+            priceIndex.remove(event.priceId());
+        }
+        if (!saved.isEmpty()) {
+            priceIndex.putAll(saved);
+        }
+    }
+
+    @Override
+    public List<Price> findAll() {
+        return priceDAO.findAll();
+    }
+
+    @Override
+    public List<Price> findAll(Long afterId, int size) {
+        return priceDAO.findAll(afterId, size);
+    }
+
+    @Override
+    public List<PriceRow> findAllRows(Long afterId, int size) {
+        return priceDAO.findAllRows(afterId, size);
+    }
+
+    @Override
+    public void forEachRow(Consumer<PriceRow> action) {
+        priceDAO.forEachRow(action);
+    }
+
+    @Override
+    public Optional<Price> findById(Long id) {
+        return priceDAO.findById(id);
+    }
+
+    @Override
+    public void save(Price price) {
+        priceDAO.save(price);
+        AfterCommit.run(() -> priceIndex.put(price));
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        priceDAO.deleteById(id);
+        AfterCommit.run(() -> priceIndex.remove(id));
+    }
+
+    @Override
+    public List<Price> findByBrandIdAndProductIds(Long brandId, Collection<Long> productIds) {
+        PriceBook book = priceIndex.current();
+        List<Price> prices = new ArrayList<>();
+        for (Long productId : productIds) {
+            prices.addAll(book.prices(brandId, productId));
+        }
+        return prices;
+    }
+
+    /**
+     * The inserted prices get their ids from the database, so the rows the batch inserted are read back with it and
+     * indexed, as a single version, once it commits.
+     */
+    @Override
+    public void insertAll(List<Price> prices) {
+        List<Price> inserted = priceDAO.insertAllAndFind(prices);
+        AfterCommit.run(() -> priceIndex.putAll(inserted));
+    }
+
+    @Override
+    public Optional<Price> getPrice(Long productId, Long brandId, LocalDateTime applicationDate) {
+        return priceLookupMetrics.observe(Stage.INDEX, () -> priceIndex.find(productId, brandId, applicationDate));
+    }
+
+    @Override
+    public Optional<Price> getPriceAsOf(Long productId, Long brandId, LocalDateTime applicationDate, LocalDateTime asOf) {
+        return priceDAO.getPriceAsOf(productId, brandId, applicationDate, asOf);
+    }
+
+    @Override
+    public Map<Long, Optional<Price>> getPrices(Long brandId, Collection<Long> productIds, LocalDateTime applicationDate) {
+        PriceBook book = priceIndex.current();
+        Map<Long, Optional<Price>> prices = new LinkedHashMap<>();
+        for (Long productId : productIds) {
+            prices.put(productId, book.find(productId, brandId, applicationDate));
+        }
+        return prices;
+    }
+
+    @Override
+    public OptionalLong priceBookVersion() {
+        return OptionalLong.of(priceIndex.version());
+    }
+}
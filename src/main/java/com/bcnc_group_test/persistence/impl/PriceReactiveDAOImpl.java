@@ -0,0 +1,72 @@
+package com.bcnc_group_test.persistence.impl;
+
+import com.bcnc_group_test.entities.Brand;
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.Product;
+import com.bcnc_group_test.persistence.IPriceReactiveDAO;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only price DAO over R2DBC. Each query joins the brand and the product, so a price is built from a single row
+ * and rows are only read as fast as the subscriber requests them.
+ */
+@Component
+public class PriceReactiveDAOImpl implements IPriceReactiveDAO {
+
+    private static final String SELECT_PRICES = "SELECT price.id, price.start_date, price.end_date, price.price_list, " +
+        "price.priority, price.price, price.currency, brand.id AS brand_id, brand.name AS brand_name, " +
+        "product.id AS product_id, product.name AS product_name " +
+        "FROM price price " +
+        "JOIN brand brand ON brand.id = price.brand_id " +
+        "JOIN product product ON product.id = price.product_id ";
+
+    private final DatabaseClient databaseClient;
+
+    public PriceReactiveDAOImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Flux<Price> findAll() {
+        return databaseClient.sql(SELECT_PRICES + "ORDER BY price.id")
+            .map(PriceReactiveDAOImpl::toPrice)
+            .all();
+    }
+
+    @Override
+    public Mono<Price> getPrice(Long productId, Long brandId, LocalDateTime applicationDate) {
+        return databaseClient.sql(SELECT_PRICES +
+                "WHERE price.product_id = :productId " +
+                "AND price.brand_id = :brandId " +
+                "AND price.start_date <= :applicationDate " +
+                "AND price.end_date >= :applicationDate " +
+                "ORDER BY price.priority DESC, price.id ASC " +
+                "LIMIT 1")
+            .bind("productId", productId)
+            .bind("brandId", brandId)
+            .bind("applicationDate", applicationDate)
+            .map(PriceReactiveDAOImpl::toPrice)
+            .one();
+    }
+
+    private static Price toPrice(Readable row) {
+        return Price.builder()
+            .id(row.get("id", Long.class))
+            .brand(new Brand(row.get("brand_id", Long.class), row.get("brand_name", String.class)))
+            .product(new Product(row.get("product_id", Long.class), row.get("product_name", String.class)))
+            .startDate(row.get("start_date", LocalDateTime.class))
+            .endDate(row.get("end_date", LocalDateTime.class))
+            .priceList(row.get("price_list", Long.class))
+            .priority(row.get("priority", Integer.class))
+            .price(row.get("price", Double.class))
+            .currency(CurrencyCode.valueOf(row.get("currency", String.class)))
+            .build();
+    }
+}
@@ -3,10 +3,13 @@ package com.bcnc_group_test.persistence.impl;
 import com.bcnc_group_test.entities.Product;
 import com.bcnc_group_test.persistence.IProductDAO;
 import com.bcnc_group_test.repository.ProductRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Component
 public class ProductDAOImpl implements IProductDAO {
@@ -22,6 +25,16 @@ public class ProductDAOImpl implements IProductDAO {
         return (List<Product>) productRepository.findAll();
     }
 
+    @Override
+    public List<Product> findAll(Long afterId, int size) {
+        return productRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size));
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return productRepository.findExistingIds(ids);
+    }
+
     @Override
     public Optional<Product> findById(Long id) {
         return productRepository.findById(id);
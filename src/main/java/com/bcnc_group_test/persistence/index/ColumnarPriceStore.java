@@ -0,0 +1,315 @@
+package com.bcnc_group_test.persistence.index;
+
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.repository.projection.PriceRow;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable, memory-compact copy of the price table for lookups.
+ * <p>
+ * Prices are grouped by (brand, product) and, inside every group, sorted by precedence (priority descending, then id
+ * ascending), so a lookup is a binary search over the groups followed by a scan of the few prices of the group for the
+ * first one in force. Nothing is stored as an object: every price is a position in a set of primitive arrays.
+ * <ul>
+ *     <li>id: {@code long}, 8 bytes</li>
+ *     <li>start and end date: unsigned epoch seconds (UTC) in an {@code int}, 4 + 4 bytes</li>
+ *     <li>price list and priority: {@code int}, 4 + 4 bytes</li>
+ *     <li>price: {@code long} minor units of the currency, 8 bytes</li>
+ *     <li>currency: the {@link CurrencyCode} ordinal in a {@code byte}, 1 byte</li>
+ * </ul>
+ * That is 33 bytes per price plus 16 bytes per (brand, product) group (brand id, product id and the offset of the
+ * group). Dates outside the unsigned range (1970 to 2106), such as a far-future end date used as "open ended", are
+ * stored clamped and their exact value is kept in a side table.
+ * <p>
+ * The columns are {@link java.nio.Buffer}s: heap buffers over arrays when the store is built, or views of a
+ * memory-mapped file when it is opened from a {@link PriceSnapshot}.
+ */
+public final class ColumnarPriceStore {
+
+    /**
+     * The order {@link Builder#add} expects the rows in.
+     */
+    public static final Comparator<PriceRow> ROW_ORDER = Comparator.comparingLong(PriceRow::brandId)
+        .thenComparingLong(PriceRow::productId)
+        .thenComparing(Comparator.comparingInt(PriceRow::priority).reversed())
+        .thenComparingLong(PriceRow::id);
+
+    static final int BYTES_PER_PRICE = Long.BYTES + 4 * Integer.BYTES + Long.BYTES + Byte.BYTES;
+    static final int BYTES_PER_GROUP = Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    private static final long MAX_SECONDS = 0xFFFF_FFFFL;
+    private static final int START = 0;
+    private static final int END = 1;
+    private static final CurrencyCode[] CURRENCIES = CurrencyCode.values();
+    private static final long[] MINOR_UNITS_SCALE = new long[CURRENCIES.length];
+
+    static {
+        for (CurrencyCode currency : CURRENCIES) {
+            int fractionDigits;
+            try {
+                fractionDigits = Currency.getInstance(currency.getIsoCode()).getDefaultFractionDigits();
+            } catch (IllegalArgumentException exception) {
+                fractionDigits = 2;
+            }
+            // Never fewer than the two decimals the API accepts, so every stored price round-trips exactly.
+            MINOR_UNITS_SCALE[currency.ordinal()] = (long) Math.pow(10, Math.max(2, fractionDigits));
+        }
+    }
+
+    private static final ColumnarPriceStore EMPTY = builder().build();
+
+    final IntBuffer groupBrandIds;
+    final LongBuffer groupProductIds;
+    final IntBuffer groupOffsets;
+    final LongBuffer ids;
+    final IntBuffer startSeconds;
+    final IntBuffer endSeconds;
+    final IntBuffer priceLists;
+    final IntBuffer priorities;
+    final LongBuffer minorUnits;
+    final ByteBuffer currencies;
+    final Map<Long, Long> outOfRangeSeconds;
+
+    ColumnarPriceStore(IntBuffer groupBrandIds, LongBuffer groupProductIds, IntBuffer groupOffsets, LongBuffer ids,
+                       IntBuffer startSeconds, IntBuffer endSeconds, IntBuffer priceLists, IntBuffer priorities,
+                       LongBuffer minorUnits, ByteBuffer currencies, Map<Long, Long> outOfRangeSeconds) {
+        this.groupBrandIds = groupBrandIds;
+        this.groupProductIds = groupProductIds;
+        this.groupOffsets = groupOffsets;
+        this.ids = ids;
+        this.startSeconds = startSeconds;
+        this.endSeconds = endSeconds;
+        this.priceLists = priceLists;
+        this.priorities = priorities;
+        this.minorUnits = minorUnits;
+        this.currencies = currencies;
+        this.outOfRangeSeconds = Map.copyOf(outOfRangeSeconds);
+    }
+
+    public static ColumnarPriceStore empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builds a store from rows in any order.
+     *
+     * @param rows The rows to store.
+     * @return The new store.
+     */
+    public static ColumnarPriceStore of(Collection<PriceRow> rows) {
+        List<PriceRow> sorted = new ArrayList<>(rows);
+        sorted.sort(ROW_ORDER);
+        Builder builder = builder();
+        sorted.forEach(builder::add);
+        return builder.build();
+    }
+
+    public int size() {
+        return ids.limit();
+    }
+
+    public int groups() {
+        return groupBrandIds.limit();
+    }
+
+    /**
+     * Returns the bytes held by the columns, without array headers.
+     */
+    public long memoryFootprint() {
+        return (long) size() * BYTES_PER_PRICE + (long) groups() * BYTES_PER_GROUP + Integer.BYTES;
+    }
+
+    /**
+     * Finds the price that applies at the given date.
+     *
+     * @param brandId         The brand of the price.
+     * @param productId       The product of the price.
+     * @param applicationDate The date to resolve.
+     * @return A view of the winning price, if any.
+     */
+    public Optional<PriceView> find(long brandId, long productId, LocalDateTime applicationDate) {
+        int group = findGroup(brandId, productId);
+        if (group < 0) {
+            return Optional.empty();
+        }
+        long seconds = applicationDate.toEpochSecond(ZoneOffset.UTC);
+        for (int row = groupOffsets.get(group); row < groupOffsets.get(group + 1); row++) {
+            if (startSecondsOf(row) <= seconds && seconds <= endSecondsOf(row)) {
+                return Optional.of(new PriceView(this, group, row));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private int findGroup(long brandId, long productId) {
+        int low = 0;
+        int high = groupBrandIds.limit() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = Long.compare(groupBrandIds.get(middle), brandId);
+            if (comparison == 0) {
+                comparison = Long.compare(groupProductIds.get(middle), productId);
+            }
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    long startSecondsOf(int row) {
+        return secondsOf(startSeconds.get(row), row, START);
+    }
+
+    long endSecondsOf(int row) {
+        return secondsOf(endSeconds.get(row), row, END);
+    }
+
+    private long secondsOf(int stored, int row, int column) {
+        long seconds = Integer.toUnsignedLong(stored);
+        if ((seconds == 0 || seconds == MAX_SECONDS) && !outOfRangeSeconds.isEmpty()) {
+            Long exact = outOfRangeSeconds.get(outOfRangeKey(row, column));
+            return exact == null ? seconds : exact;
+        }
+        return seconds;
+    }
+
+    double priceOf(int row) {
+        return minorUnits.get(row) / (double) MINOR_UNITS_SCALE[currencies.get(row) & 0xFF];
+    }
+
+    CurrencyCode currencyOf(int row) {
+        return CURRENCIES[currencies.get(row) & 0xFF];
+    }
+
+    private static long outOfRangeKey(int row, int column) {
+        return ((long) row << 1) | column;
+    }
+
+    /**
+     * Appends rows to a new store. Rows must be added in {@link #ROW_ORDER}.
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private int size;
+        private int groups;
+        private int[] groupBrandIds = new int[INITIAL_CAPACITY];
+        private long[] groupProductIds = new long[INITIAL_CAPACITY];
+        private int[] groupOffsets = new int[INITIAL_CAPACITY + 1];
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private int[] startSeconds = new int[INITIAL_CAPACITY];
+        private int[] endSeconds = new int[INITIAL_CAPACITY];
+        private int[] priceLists = new int[INITIAL_CAPACITY];
+        private int[] priorities = new int[INITIAL_CAPACITY];
+        private long[] minorUnits = new long[INITIAL_CAPACITY];
+        private byte[] currencies = new byte[INITIAL_CAPACITY];
+        private final Map<Long, Long> outOfRangeSeconds = new HashMap<>();
+        private PriceRow last;
+
+        private Builder() {
+        }
+
+        public Builder add(PriceRow row) {
+            if (last != null && ROW_ORDER.compare(last, row) >= 0) {
+                throw new IllegalArgumentException("Rows must be added ordered by brand, product, priority descending and id, " +
+                    "but price " + row.id() + " came after price " + last.id());
+            }
+            if (last == null || last.brandId().longValue() != row.brandId() || last.productId().longValue() != row.productId()) {
+                addGroup(row);
+            }
+            ensureRowCapacity();
+            ids[size] = row.id();
+            startSeconds[size] = toStoredSeconds(row.startDate(), START);
+            endSeconds[size] = toStoredSeconds(row.endDate(), END);
+            priceLists[size] = Math.toIntExact(row.priceList());
+            priorities[size] = row.priority();
+            minorUnits[size] = Math.round(row.price() * MINOR_UNITS_SCALE[row.currency().ordinal()]);
+            currencies[size] = (byte) row.currency().ordinal();
+            size++;
+            last = row;
+            return this;
+        }
+
+        public ColumnarPriceStore build() {
+            int[] offsets = Arrays.copyOf(groupOffsets, groups + 1);
+            offsets[groups] = size;
+            return new ColumnarPriceStore(
+                IntBuffer.wrap(Arrays.copyOf(groupBrandIds, groups)),
+                LongBuffer.wrap(Arrays.copyOf(groupProductIds, groups)),
+                IntBuffer.wrap(offsets),
+                LongBuffer.wrap(Arrays.copyOf(ids, size)),
+                IntBuffer.wrap(Arrays.copyOf(startSeconds, size)),
+                IntBuffer.wrap(Arrays.copyOf(endSeconds, size)),
+                IntBuffer.wrap(Arrays.copyOf(priceLists, size)),
+                IntBuffer.wrap(Arrays.copyOf(priorities, size)),
+                LongBuffer.wrap(Arrays.copyOf(minorUnits, size)),
+                ByteBuffer.wrap(Arrays.copyOf(currencies, size)),
+                outOfRangeSeconds
+            );
+        }
+
+        private void addGroup(PriceRow row) {
+            if (groups == groupBrandIds.length) {
+                int capacity = grow(groups);
+                groupBrandIds = Arrays.copyOf(groupBrandIds, capacity);
+                groupProductIds = Arrays.copyOf(groupProductIds, capacity);
+                groupOffsets = Arrays.copyOf(groupOffsets, capacity + 1);
+            }
+            groupBrandIds[groups] = Math.toIntExact(row.brandId());
+            groupProductIds[groups] = row.productId();
+            groupOffsets[groups] = size;
+            groups++;
+        }
+
+        private void ensureRowCapacity() {
+            if (size < ids.length) {
+                return;
+            }
+            int capacity = grow(size);
+            ids = Arrays.copyOf(ids, capacity);
+            startSeconds = Arrays.copyOf(startSeconds, capacity);
+            endSeconds = Arrays.copyOf(endSeconds, capacity);
+            priceLists = Arrays.copyOf(priceLists, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            minorUnits = Arrays.copyOf(minorUnits, capacity);
+            currencies = Arrays.copyOf(currencies, capacity);
+        }
+
+        private int toStoredSeconds(LocalDateTime date, int column) {
+            long seconds = date.toEpochSecond(ZoneOffset.UTC);
+            long clamped = Math.min(Math.max(seconds, 0), MAX_SECONDS);
+            if (clamped != seconds) {
+                outOfRangeSeconds.put(outOfRangeKey(size, column), seconds);
+            }
+            return (int) clamped;
+        }
+
+        private static int grow(int current) {
+            return Math.toIntExact(Math.min(Integer.MAX_VALUE - 8L, current + (current >> 1) + 1L));
+        }
+    }
+}
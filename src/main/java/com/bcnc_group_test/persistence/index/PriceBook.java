@@ -0,0 +1,251 @@
+package com.bcnc_group_test.persistence.index;
+
+import com.bcnc_group_test.entities.Price;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable, versioned set of every price, grouped by (brand, product) into compiled {@link PriceTimeline}s.
+ * <p>
+ * A write never modifies a book, it returns the next version: the timelines of the pairs it touches are recompiled
+ * and recorded as changes on top of the timelines of the previous version, which are shared rather than copied. Once
+ * the changes outnumber the square root of the prices, they are merged into a new base map, so a write copies
+ * O(&radic;n) entries on average. Readers holding a book always see every pair as of the same version.
+ */
+public final class PriceBook {
+
+    private static final int MIN_CHANGES_BEFORE_MERGE = 256;
+    private static final PriceKey REMOVED = new PriceKey(-1, -1);
+    private static final PriceBook EMPTY = new PriceBook(0, 0, Map.of(), Map.of(), Map.of(), Map.of());
+
+    private final long version;
+    private final int size;
+    private final Map<PriceKey, PriceTimeline> timelines;
+    private final Map<Long, PriceKey> keysById;
+    // Pairs and ids written since the last merge. An empty timeline or the REMOVED key mark a removal.
+    private final Map<PriceKey, PriceTimeline> changedTimelines;
+    private final Map<Long, PriceKey> changedKeysById;
+
+    private PriceBook(long version, int size, Map<PriceKey, PriceTimeline> timelines, Map<Long, PriceKey> keysById,
+                      Map<PriceKey, PriceTimeline> changedTimelines, Map<Long, PriceKey> changedKeysById) {
+        this.version = version;
+        this.size = size;
+        this.timelines = timelines;
+        this.keysById = keysById;
+        this.changedTimelines = changedTimelines;
+        this.changedKeysById = changedKeysById;
+    }
+
+    public static PriceBook empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a book with the given prices at version 0.
+     *
+     * @param prices The prices to include.
+     * @return The new book.
+     */
+    public static PriceBook of(Iterable<Price> prices) {
+        Map<PriceKey, List<Price>> pricesByKey = new HashMap<>();
+        Map<Long, PriceKey> keys = new HashMap<>();
+        for (Price price : prices) {
+            PriceKey key = PriceKey.of(price);
+            if (key != null && price.getId() != null) {
+                pricesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(price);
+                keys.put(price.getId(), key);
+            }
+        }
+
+        Map<PriceKey, PriceTimeline> timelines = new HashMap<>();
+        pricesByKey.forEach((key, group) -> timelines.put(key, PriceTimeline.of(group)));
+        return new PriceBook(0, keys.size(), Collections.unmodifiableMap(timelines), Collections.unmodifiableMap(keys), Map.of(), Map.of());
+    }
+
+    /**
+     * Returns this book under another version number, used to publish a freshly loaded book after the current one.
+     *
+     * @param version The version of the returned book.
+     * @return The same prices with the given version.
+     */
+    public PriceBook withVersion(long version) {
+        return new PriceBook(version, size, timelines, keysById, changedTimelines, changedKeysById);
+    }
+
+    /**
+     * Returns the next version of the book, where each given price is added, or replaces the price with the same id.
+     *
+     * @param prices The prices to add or replace.
+     * @return The new book.
+     */
+    public PriceBook with(Collection<Price> prices) {
+        Changes changes = new Changes();
+        prices.forEach(changes::put);
+        return changes.apply();
+    }
+
+    /**
+     * Returns the next version of the book without the price with the given id.
+     *
+     * @param id The id of the price to remove.
+     * @return The new book.
+     */
+    public PriceBook without(Long id) {
+        Changes changes = new Changes();
+        changes.remove(id);
+        return changes.apply();
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the price to apply for a product and brand at a given date.
+     *
+     * @param productId       The product id.
+     * @param brandId         The brand id.
+     * @param applicationDate The date to resolve.
+     * @return The winning price, if any.
+     */
+    public Optional<Price> find(Long productId, Long brandId, LocalDateTime applicationDate) {
+        return findSegment(productId, brandId, applicationDate).map(PriceSegment::price);
+    }
+
+    /**
+     * Finds the segment of the effective-price timeline that contains the given date.
+     *
+     * @param productId       The product id.
+     * @param brandId         The brand id.
+     * @param applicationDate The date to resolve.
+     * @return The segment with the winning price and the stretch of time it applies to, if any.
+     */
+    public Optional<PriceSegment> findSegment(Long productId, Long brandId, LocalDateTime applicationDate) {
+        if (productId == null || brandId == null || applicationDate == null) {
+            return Optional.empty();
+        }
+        return timeline(new PriceKey(brandId, productId)).findSegment(applicationDate);
+    }
+
+    /**
+     * Returns every price of a product and brand, whether or not it is the winner at some date.
+     *
+     * @param brandId   The brand id.
+     * @param productId The product id.
+     * @return The prices of the pair, empty if there are none.
+     */
+    public List<Price> prices(Long brandId, Long productId) {
+        return timeline(new PriceKey(brandId, productId)).prices();
+    }
+
+    private PriceTimeline timeline(PriceKey key) {
+        PriceTimeline changed = changedTimelines.get(key);
+        if (changed != null) {
+            return changed;
+        }
+        return timelines.getOrDefault(key, PriceTimeline.empty());
+    }
+
+    private PriceKey key(Long id) {
+        PriceKey changed = changedKeysById.get(id);
+        if (changed != null) {
+            return changed == REMOVED ? null : changed;
+        }
+        return keysById.get(id);
+    }
+
+    /**
+     * The pairs and ids touched by a single write, applied on top of this book.
+     */
+    private final class Changes {
+
+        private final Map<PriceKey, PriceTimeline> timelines = new HashMap<>();
+        private final Map<Long, PriceKey> keys = new HashMap<>();
+
+        private void put(Price price) {
+            if (price.getId() == null) {
+                return;
+            }
+            PriceKey key = PriceKey.of(price);
+            PriceKey previousKey = key(price.getId());
+            if (previousKey != null && !previousKey.equals(key)) {
+                timelines.put(previousKey, timeline(previousKey).without(price.getId()));
+            }
+            if (key == null) {
+                keys.put(price.getId(), REMOVED);
+                return;
+            }
+            timelines.put(key, timeline(key).with(price));
+            keys.put(price.getId(), key);
+        }
+
+        private void remove(Long id) {
+            PriceKey previousKey = key(id);
+            if (previousKey != null) {
+                timelines.put(previousKey, timeline(previousKey).without(id));
+                keys.put(id, REMOVED);
+            }
+        }
+
+        private PriceTimeline timeline(PriceKey key) {
+            PriceTimeline changed = timelines.get(key);
+            return changed != null ? changed : PriceBook.this.timeline(key);
+        }
+
+        private PriceKey key(Long id) {
+            PriceKey changed = keys.get(id);
+            if (changed != null) {
+                return changed == REMOVED ? null : changed;
+            }
+            return PriceBook.this.key(id);
+        }
+
+        private PriceBook apply() {
+            int newSize = size;
+            for (Map.Entry<Long, PriceKey> change : keys.entrySet()) {
+                boolean wasPresent = PriceBook.this.key(change.getKey()) != null;
+                boolean isPresent = change.getValue() != REMOVED;
+                newSize += (isPresent ? 1 : 0) - (wasPresent ? 1 : 0);
+            }
+
+            Map<PriceKey, PriceTimeline> allChangedTimelines = new HashMap<>(changedTimelines);
+            allChangedTimelines.putAll(timelines);
+            Map<Long, PriceKey> allChangedKeys = new HashMap<>(changedKeysById);
+            allChangedKeys.putAll(keys);
+            if (allChangedKeys.size() + allChangedTimelines.size() < Math.max(MIN_CHANGES_BEFORE_MERGE, (int) Math.sqrt(newSize))) {
+                return new PriceBook(version + 1, newSize, PriceBook.this.timelines, keysById,
+                    Collections.unmodifiableMap(allChangedTimelines), Collections.unmodifiableMap(allChangedKeys));
+            }
+
+            Map<PriceKey, PriceTimeline> mergedTimelines = new HashMap<>(PriceBook.this.timelines);
+            allChangedTimelines.forEach((key, timeline) -> {
+                if (timeline.isEmpty()) {
+                    mergedTimelines.remove(key);
+                } else {
+                    mergedTimelines.put(key, timeline);
+                }
+            });
+            Map<Long, PriceKey> mergedKeys = new HashMap<>(keysById);
+            allChangedKeys.forEach((id, key) -> {
+                if (key == REMOVED) {
+                    mergedKeys.remove(id);
+                } else {
+                    mergedKeys.put(id, key);
+                }
+            });
+            return new PriceBook(version + 1, newSize, Collections.unmodifiableMap(mergedTimelines),
+                Collections.unmodifiableMap(mergedKeys), Map.of(), Map.of());
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.bcnc_group_test.persistence.index;
+
+import com.bcnc_group_test.entities.Price;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory index of every price, published as an immutable {@link PriceBook} through an {@link AtomicReference}.
+ * Readers take the current book without any lock and never see a half-applied change, even one spanning several
+ * (brand, product) pairs. Writers build the next version from the current one and swap it in with a compare-and-set,
+ * retrying if another write got there first, so every change bumps the version exactly once. A reload records the
+ * writes made while its prices are read and replays them on the loaded book before swapping it in, so none is lost.
+ */
+public class PriceIndex {
+
+    private final AtomicReference<State> state = new AtomicReference<>(new State(PriceBook.empty(), 0, List.of()));
+
+    /**
+     * Replaces the whole content of the index with the given prices, as the next version.
+     *
+     * @param prices The prices to index.
+     */
+    public void loadAll(Iterable<Price> prices) {
+        load(() -> prices);
+    }
+
+    /**
+     * Replaces the whole content of the index with the prices read from the source, as the next version. Writes go on
+     * while the source is read, and those applied meanwhile are replayed in order on the loaded prices, which may or
+     * may not include them already: every change adds, replaces or removes prices by id, so applying it twice is
+     * harmless.
+     *
+     * @param source Reads the prices to index, e.g. from the database.
+     */
+    public void load(Supplier<? extends Iterable<Price>> source) {
+        state.updateAndGet(State::startLoad);
+        PriceBook loaded;
+        try {
+            loaded = PriceBook.of(source.get());
+        } catch (RuntimeException e) {
+            state.updateAndGet(current -> current.finishLoad(null));
+            throw e;
+        }
+        state.updateAndGet(current -> current.finishLoad(loaded));
+    }
+
+    /**
+     * Adds a price to the index, or replaces it if a price with the same id is already indexed.
+     *
+     * @param price The price to index.
+     * @return The version of the book with the change.
+     */
+    public long put(Price price) {
+        return putAll(List.of(price));
+    }
+
+    /**
+     * Adds or replaces several prices in a single version.
+     *
+     * @param prices The prices to index.
+     * @return The version of the book with the change.
+     */
+    public long putAll(Collection<Price> prices) {
+        return apply(book -> book.with(prices));
+    }
+
+    /**
+     * Removes the price with the given id from the index.
+     *
+     * @param id The id of the price to remove.
+     * @return The version of the book with the change.
+     */
+    public long remove(Long id) {
+        return apply(book -> book.without(id));
+    }
+
+    /**
+     * The book readers currently see. Several lookups on the returned book are answered from the same version.
+     */
+    public PriceBook current() {
+        return state.get().book();
+    }
+
+    public long version() {
+        return state.get().book().version();
+    }
+
+    /**
+     * Finds the price to apply for a product and brand at a given date.
+     *
+     * @param productId       The product id.
+     * @param brandId         The brand id.
+     * @param applicationDate The date to resolve.
+     * @return The winning price, if any.
+     */
+    public Optional<Price> find(Long productId, Long brandId, LocalDateTime applicationDate) {
+        return state.get().book().find(productId, brandId, applicationDate);
+    }
+
+    /**
+     * Finds the segment of the effective-price timeline that contains the given date.
+     *
+     * @param productId       The product id.
+     * @param brandId         The brand id.
+     * @param applicationDate The date to resolve.
+     * @return The segment with the winning price and the stretch of time it applies to, if any.
+     */
+    public Optional<PriceSegment> findSegment(Long productId, Long brandId, LocalDateTime applicationDate) {
+        return state.get().book().findSegment(productId, brandId, applicationDate);
+    }
+
+    /**
+     * Returns every indexed price of a product and brand, whether or not it is the winner at some date.
+     *
+     * @param brandId   The brand id.
+     * @param productId The product id.
+     * @return The prices of the pair, empty if there are none.
+     */
+    public List<Price> prices(Long brandId, Long productId) {
+        return state.get().book().prices(brandId, productId);
+    }
+
+    public int size() {
+        return state.get().book().size();
+    }
+
+    private long apply(UnaryOperator<PriceBook> change) {
+        return state.updateAndGet(current -> current.apply(change)).book().version();
+    }
+
+    /**
+     * The current book, the number of loads in progress and the changes applied since the oldest of them started.
+     */
+    private record State(PriceBook book, int loads, List<UnaryOperator<PriceBook>> changesDuringLoads) {
+
+        State apply(UnaryOperator<PriceBook> change) {
+            if (loads == 0) {
+                return new State(change.apply(book), 0, List.of());
+            }
+            List<UnaryOperator<PriceBook>> changes = new ArrayList<>(changesDuringLoads);
+            changes.add(change);
+            return new State(change.apply(book), loads, List.copyOf(changes));
+        }
+
+        State startLoad() {
+            return new State(book, loads + 1, changesDuringLoads);
+        }
+
+        /**
+         * Publishes the loaded book, with the changes made during the load replayed on it, or keeps the current one
+         * when the load failed.
+         */
+        State finishLoad(PriceBook loaded) {
+            PriceBook next = book;
+            if (loaded != null) {
+                next = loaded;
+                for (UnaryOperator<PriceBook> change : changesDuringLoads) {
+                    next = change.apply(next);
+                }
+                next = next.withVersion(book.version() + 1);
+            }
+            return new State(next, loads - 1, loads == 1 ? List.of() : changesDuringLoads);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.bcnc_group_test.persistence.index;
+
+import com.bcnc_group_test.entities.Price;
+
+public record PriceKey(long brandId, long productId) {
+
+    /**
+     * Builds the key of the (brand, product) group a price belongs to.
+     *
+     * @param price The price to build the key for.
+     * @return The key, or {@code null} if the price is not linked to a persisted brand and product.
+     */
+    public static PriceKey of(Price price) {
+        if (price.getBrand() == null || price.getBrand().getId() == null
+            || price.getProduct() == null || price.getProduct().getId() == null) {
+            return null;
+        }
+        return new PriceKey(price.getBrand().getId(), price.getProduct().getId());
+    }
+}
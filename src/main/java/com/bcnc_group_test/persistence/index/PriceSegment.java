@@ -0,0 +1,19 @@
+package com.bcnc_group_test.persistence.index;
+
+import com.bcnc_group_test.entities.Price;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stretch of time, both ends inclusive, during which the same price applies to a (brand, product) pair.
+ *
+ * @param startDate The first instant the price applies.
+ * @param endDate   The last instant the price applies.
+ * @param price     The winning price.
+ */
+public record PriceSegment(LocalDateTime startDate, LocalDateTime endDate, Price price) {
+
+    public boolean contains(LocalDateTime date) {
+        return !date.isBefore(startDate) && !date.isAfter(endDate);
+    }
+}
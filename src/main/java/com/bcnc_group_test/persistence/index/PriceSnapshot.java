@@ -0,0 +1,260 @@
+package com.bcnc_group_test.persistence.index;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary file holding the columns of a {@link ColumnarPriceStore}, so a new instance can map it and answer lookups
+ * straight from the page cache instead of scanning the price table first.
+ * <p>
+ * Layout, little endian: a {@value #HEADER_SIZE}-byte header (magic, format version, creation time, row, group and
+ * out-of-range counts, highest price id, data length and a CRC32C of the data), followed by every column in
+ * declaration order, each one aligned to 8 bytes. The file is written next to its final path and moved into place
+ * once complete, so a reader never sees a partial snapshot.
+ */
+public final class PriceSnapshot {
+
+    static final int MAGIC = 0x50_52_43_53;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    private static final int CHECKSUM_CHUNK = 64 * 1024 * 1024;
+
+    private final ColumnarPriceStore store;
+    private final Instant createdAt;
+    private final long maxPriceId;
+
+    private PriceSnapshot(ColumnarPriceStore store, Instant createdAt, long maxPriceId) {
+        this.store = store;
+        this.createdAt = createdAt;
+        this.maxPriceId = maxPriceId;
+    }
+
+    public ColumnarPriceStore store() {
+        return store;
+    }
+
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    /**
+     * The highest price id in the snapshot. Prices with a greater id were created after it was written.
+     */
+    public long maxPriceId() {
+        return maxPriceId;
+    }
+
+    /**
+     * Writes the store to the given path, replacing any previous snapshot.
+     *
+     * @param store The store to write.
+     * @param path  The snapshot file.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(ColumnarPriceStore store, Path path) throws IOException {
+        Layout layout = new Layout(store.size(), store.groups(), store.outOfRangeSeconds.size());
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        long maxPriceId = 0;
+        for (int row = 0; row < store.size(); row++) {
+            maxPriceId = Math.max(maxPriceId, store.ids.get(row));
+        }
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            map(channel, FileChannel.MapMode.READ_WRITE, layout, Column.GROUP_BRAND_IDS).asIntBuffer().put(rewind(store.groupBrandIds));
+            map(channel, FileChannel.MapMode.READ_WRITE, layout, Column.GROUP_PRODUCT_IDS).asLongBuffer().put(rewind(store.groupProductIds));
+            map(channel, FileChannel.MapMode.READ_WRITE, layout, Column.GROUP_OFFSETS).asIntBuffer().put(rewind(store.groupOffsets));
+            map(channel, FileChannel.MapMode.READ_WRITE, layout, Column.IDS).asLongBuffer().put(rewind(store.ids));
+            map(channel, FileChannel.MapMode.READ_WRITE, layout, Column.START_SECONDS).asIntBuffer().put(rewind(store.startSeconds));
+            map(channel, FileChannel.MapMode.READ_WRITE, layout, Column.END_SECONDS).asIntBuffer().put(rewind(store.endSeconds));
+            map(channel, FileChannel.MapMode.READ_WRITE, layout, Column.PRICE_LISTS).asIntBuffer().put(rewind(store.priceLists));
+            map(channel, FileChannel.MapMode.READ_WRITE, layout, Column.PRIORITIES).asIntBuffer().put(rewind(store.priorities));
+            map(channel, FileChannel.MapMode.READ_WRITE, layout, Column.MINOR_UNITS).asLongBuffer().put(rewind(store.minorUnits));
+            map(channel, FileChannel.MapMode.READ_WRITE, layout, Column.CURRENCIES).put(rewind(store.currencies));
+            LongBuffer outOfRange = map(channel, FileChannel.MapMode.READ_WRITE, layout, Column.OUT_OF_RANGE_SECONDS).asLongBuffer();
+            store.outOfRangeSeconds.forEach((key, seconds) -> outOfRange.put(key).put(seconds));
+            if (channel.size() < HEADER_SIZE + layout.dataLength()) {
+                // Empty trailing columns are not mapped, so the padding after the last written one may be missing.
+                channel.write(ByteBuffer.allocate(1), HEADER_SIZE + layout.dataLength() - 1);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putLong(System.currentTimeMillis())
+                .putInt(layout.size)
+                .putInt(layout.groups)
+                .putInt(layout.outOfRange)
+                .putInt(0)
+                .putLong(maxPriceId)
+                .putLong(layout.dataLength())
+                .putLong(checksum(channel, layout.dataLength()));
+            channel.write(header.clear(), 0);
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps a snapshot written by {@link #write}. The columns of the returned store are read straight from the mapped
+     * file, off the Java heap.
+     *
+     * @param path The snapshot file.
+     * @return The mapped snapshot.
+     * @throws IOException If the file cannot be read, was written with another format version or is corrupt.
+     */
+    public static PriceSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Price snapshot " + path + " is truncated");
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException(path + " is not a price snapshot");
+            }
+            int formatVersion = header.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Price snapshot " + path + " has format version " + formatVersion + ", expected " + FORMAT_VERSION);
+            }
+            Instant createdAt = Instant.ofEpochMilli(header.getLong());
+            Layout layout = new Layout(header.getInt(), header.getInt(), header.getInt());
+            header.getInt();
+            long maxPriceId = header.getLong();
+            long dataLength = header.getLong();
+            long checksum = header.getLong();
+            if (dataLength != layout.dataLength() || channel.size() != HEADER_SIZE + dataLength) {
+                throw new IOException("Price snapshot " + path + " is truncated");
+            }
+            if (checksum != checksum(channel, dataLength)) {
+                throw new IOException("Price snapshot " + path + " is corrupt, its checksum does not match");
+            }
+
+            Map<Long, Long> outOfRangeSeconds = new HashMap<>();
+            LongBuffer outOfRange = map(channel, FileChannel.MapMode.READ_ONLY, layout, Column.OUT_OF_RANGE_SECONDS).asLongBuffer();
+            while (outOfRange.hasRemaining()) {
+                outOfRangeSeconds.put(outOfRange.get(), outOfRange.get());
+            }
+            ColumnarPriceStore store = new ColumnarPriceStore(
+                map(channel, FileChannel.MapMode.READ_ONLY, layout, Column.GROUP_BRAND_IDS).asIntBuffer(),
+                map(channel, FileChannel.MapMode.READ_ONLY, layout, Column.GROUP_PRODUCT_IDS).asLongBuffer(),
+                map(channel, FileChannel.MapMode.READ_ONLY, layout, Column.GROUP_OFFSETS).asIntBuffer(),
+                map(channel, FileChannel.MapMode.READ_ONLY, layout, Column.IDS).asLongBuffer(),
+                map(channel, FileChannel.MapMode.READ_ONLY, layout, Column.START_SECONDS).asIntBuffer(),
+                map(channel, FileChannel.MapMode.READ_ONLY, layout, Column.END_SECONDS).asIntBuffer(),
+                map(channel, FileChannel.MapMode.READ_ONLY, layout, Column.PRICE_LISTS).asIntBuffer(),
+                map(channel, FileChannel.MapMode.READ_ONLY, layout, Column.PRIORITIES).asIntBuffer(),
+                map(channel, FileChannel.MapMode.READ_ONLY, layout, Column.MINOR_UNITS).asLongBuffer(),
+                map(channel, FileChannel.MapMode.READ_ONLY, layout, Column.CURRENCIES),
+                outOfRangeSeconds
+            );
+            return new PriceSnapshot(store, createdAt, maxPriceId);
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, FileChannel.MapMode mode, Layout layout, Column column) throws IOException {
+        MappedByteBuffer buffer = channel.map(mode, HEADER_SIZE + layout.offset(column), layout.length(column));
+        return buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static long checksum(FileChannel channel, long dataLength) throws IOException {
+        CRC32C crc = new CRC32C();
+        for (long position = 0; position < dataLength; position += CHECKSUM_CHUNK) {
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + position, Math.min(CHECKSUM_CHUNK, dataLength - position)));
+        }
+        return crc.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <B extends Buffer> B rewind(B buffer) {
+        return (B) buffer.duplicate().rewind();
+    }
+
+    private enum Column {
+        GROUP_BRAND_IDS(Integer.BYTES, true),
+        GROUP_PRODUCT_IDS(Long.BYTES, true),
+        GROUP_OFFSETS(Integer.BYTES, true),
+        IDS(Long.BYTES, false),
+        START_SECONDS(Integer.BYTES, false),
+        END_SECONDS(Integer.BYTES, false),
+        PRICE_LISTS(Integer.BYTES, false),
+        PRIORITIES(Integer.BYTES, false),
+        MINOR_UNITS(Long.BYTES, false),
+        CURRENCIES(Byte.BYTES, false),
+        OUT_OF_RANGE_SECONDS(2 * Long.BYTES, false);
+
+        private final int bytes;
+        private final boolean perGroup;
+
+        Column(int bytes, boolean perGroup) {
+            this.bytes = bytes;
+            this.perGroup = perGroup;
+        }
+    }
+
+    /**
+     * Offsets of the columns in the data section, derived from the row, group and out-of-range counts.
+     */
+    private static final class Layout {
+        private final int size;
+        private final int groups;
+        private final int outOfRange;
+        private final long[] offsets = new long[Column.values().length + 1];
+
+        private Layout(int size, int groups, int outOfRange) throws IOException {
+            if (size < 0 || groups < 0 || outOfRange < 0 || groups > size) {
+                throw new IOException("Invalid price snapshot counts: " + size + " rows, " + groups + " groups");
+            }
+            this.size = size;
+            this.groups = groups;
+            this.outOfRange = outOfRange;
+            long offset = 0;
+            for (Column column : Column.values()) {
+                offsets[column.ordinal()] = offset;
+                offset = align(offset + (long) count(column) * column.bytes);
+            }
+            offsets[Column.values().length] = offset;
+        }
+
+        private int count(Column column) {
+            if (column == Column.GROUP_OFFSETS) {
+                return groups + 1;
+            }
+            if (column == Column.OUT_OF_RANGE_SECONDS) {
+                return outOfRange;
+            }
+            return column.perGroup ? groups : size;
+        }
+
+        private long offset(Column column) {
+            return offsets[column.ordinal()];
+        }
+
+        private long length(Column column) {
+            return (long) count(column) * column.bytes;
+        }
+
+        private long dataLength() {
+            return offsets[Column.values().length];
+        }
+
+        private static long align(long offset) {
+            return (offset + Long.BYTES - 1) & -Long.BYTES;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.bcnc_group_test.persistence.index;
+
+import com.bcnc_group_test.entities.Price;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Immutable effective-price timeline of a single (brand, product) pair.
+ * It keeps the source prices, so a single change can be recompiled without touching other pairs,
+ * and the segments produced by {@link PriceTimelineCompiler}, so a lookup is a single binary search.
+ */
+public final class PriceTimeline {
+
+    private static final PriceTimeline EMPTY = new PriceTimeline(List.of(), List.of());
+
+    private final List<Price> prices;
+    private final LocalDateTime[] startDates;
+    private final PriceSegment[] segments;
+
+    private PriceTimeline(List<Price> prices, List<PriceSegment> segments) {
+        this.prices = prices;
+        this.segments = segments.toArray(new PriceSegment[0]);
+        this.startDates = new LocalDateTime[this.segments.length];
+        for (int i = 0; i < this.segments.length; i++) {
+            startDates[i] = this.segments[i].startDate();
+        }
+    }
+
+    public static PriceTimeline empty() {
+        return EMPTY;
+    }
+
+    public static PriceTimeline of(Collection<Price> prices) {
+        return prices.isEmpty() ? EMPTY : new PriceTimeline(List.copyOf(prices), PriceTimelineCompiler.compile(prices));
+    }
+
+    /**
+     * Returns a recompiled copy of this timeline where the price with the same id is replaced by the given one.
+     *
+     * @param price The price to add or replace.
+     * @return The new timeline.
+     */
+    public PriceTimeline with(Price price) {
+        List<Price> copy = new ArrayList<>(prices.size() + 1);
+        for (Price current : prices) {
+            if (!Objects.equals(current.getId(), price.getId())) {
+                copy.add(current);
+            }
+        }
+        copy.add(price);
+        return of(copy);
+    }
+
+    /**
+     * Returns a recompiled copy of this timeline without the price with the given id.
+     *
+     * @param id The id of the price to remove.
+     * @return The new timeline.
+     */
+    public PriceTimeline without(Long id) {
+        List<Price> copy = new ArrayList<>(prices.size());
+        for (Price current : prices) {
+            if (!Objects.equals(current.getId(), id)) {
+                copy.add(current);
+            }
+        }
+        return of(copy);
+    }
+
+    public boolean isEmpty() {
+        return prices.isEmpty();
+    }
+
+    public List<Price> prices() {
+        return prices;
+    }
+
+    public List<PriceSegment> segments() {
+        return List.of(segments);
+    }
+
+    /**
+     * Finds the segment containing the given date with a binary search over the segment start dates.
+     *
+     * @param applicationDate The date to resolve.
+     * @return The segment containing the date, if any.
+     */
+    public Optional<PriceSegment> findSegment(LocalDateTime applicationDate) {
+        int low = 0;
+        int high = startDates.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (startDates[middle].isAfter(applicationDate)) {
+                high = middle - 1;
+            } else {
+                low = middle + 1;
+            }
+        }
+        if (high < 0 || !segments[high].contains(applicationDate)) {
+            return Optional.empty();
+        }
+        return Optional.of(segments[high]);
+    }
+
+    /**
+     * Finds the price that applies at the given date.
+     *
+     * @param applicationDate The date to resolve.
+     * @return The winning price, if any.
+     */
+    public Optional<Price> find(LocalDateTime applicationDate) {
+        return findSegment(applicationDate).map(PriceSegment::price);
+    }
+}
@@ -0,0 +1,79 @@
+package com.bcnc_group_test.persistence.index;
+
+import com.bcnc_group_test.entities.Price;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * Flattens the overlapping prices of a (brand, product) pair into non-overlapping {@link PriceSegment}s,
+ * each one carrying the price that wins over that stretch of time.
+ */
+public final class PriceTimelineCompiler {
+
+    /**
+     * Order in which overlapping prices win: highest priority first, then the oldest row,
+     * matching the {@code ORDER BY priority DESC} of the SQL lookup.
+     */
+    public static final Comparator<Price> PRECEDENCE = Comparator
+        .comparingInt(Price::getPriority).reversed()
+        .thenComparing(Price::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private PriceTimelineCompiler() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Sweeps the start and end instants of the prices in order, keeping the prices in force in a heap
+     * sorted by {@link #PRECEDENCE}. A segment starts at every instant where the winner changes, so the
+     * result is sorted, non-overlapping, and adjacent segments never share the same price.
+     *
+     * @param prices The prices of a single (brand, product) pair.
+     * @return The compiled segments, sorted by start date.
+     */
+    public static List<PriceSegment> compile(Collection<Price> prices) {
+        Price[] byStartDate = prices.toArray(new Price[0]);
+        Arrays.sort(byStartDate, Comparator.comparing(Price::getStartDate));
+
+        TreeSet<LocalDateTime> boundaries = new TreeSet<>();
+        for (Price price : byStartDate) {
+            boundaries.add(price.getStartDate());
+            boundaries.add(exclusiveEnd(price));
+        }
+
+        List<PriceSegment> segments = new ArrayList<>();
+        PriorityQueue<Price> inForce = new PriorityQueue<>(PRECEDENCE);
+        int next = 0;
+        LocalDateTime segmentStart = null;
+        Price segmentPrice = null;
+
+        for (LocalDateTime boundary : boundaries) {
+            while (next < byStartDate.length && !byStartDate[next].getStartDate().isAfter(boundary)) {
+                inForce.add(byStartDate[next++]);
+            }
+            while (!inForce.isEmpty() && !exclusiveEnd(inForce.peek()).isAfter(boundary)) {
+                inForce.poll();
+            }
+
+            Price winner = inForce.peek();
+            if (winner != segmentPrice) {
+                if (segmentPrice != null) {
+                    segments.add(new PriceSegment(segmentStart, boundary.minusNanos(1), segmentPrice));
+                }
+                segmentStart = boundary;
+                segmentPrice = winner;
+            }
+        }
+        return segments;
+    }
+
+    private static LocalDateTime exclusiveEnd(Price price) {
+        return price.getEndDate().plusNanos(1);
+    }
+}
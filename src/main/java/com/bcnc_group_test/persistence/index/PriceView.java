@@ -0,0 +1,59 @@
+package com.bcnc_group_test.persistence.index;
+
+import com.bcnc_group_test.entities.CurrencyCode;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Flyweight over one price of a {@link ColumnarPriceStore}. It only holds its position, every value is read from the
+ * columns when asked for.
+ */
+public final class PriceView {
+
+    private final ColumnarPriceStore store;
+    private final int group;
+    private final int row;
+
+    PriceView(ColumnarPriceStore store, int group, int row) {
+        this.store = store;
+        this.group = group;
+        this.row = row;
+    }
+
+    public long id() {
+        return store.ids.get(row);
+    }
+
+    public long brandId() {
+        return store.groupBrandIds.get(group);
+    }
+
+    public long productId() {
+        return store.groupProductIds.get(group);
+    }
+
+    public LocalDateTime startDate() {
+        return LocalDateTime.ofEpochSecond(store.startSecondsOf(row), 0, ZoneOffset.UTC);
+    }
+
+    public LocalDateTime endDate() {
+        return LocalDateTime.ofEpochSecond(store.endSecondsOf(row), 0, ZoneOffset.UTC);
+    }
+
+    public long priceList() {
+        return store.priceLists.get(row);
+    }
+
+    public int priority() {
+        return store.priorities.get(row);
+    }
+
+    public double price() {
+        return store.priceOf(row);
+    }
+
+    public CurrencyCode currency() {
+        return store.currencyOf(row);
+    }
+}
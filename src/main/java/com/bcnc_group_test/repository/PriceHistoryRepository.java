@@ -0,0 +1,33 @@
+package com.bcnc_group_test.repository;
+
+import com.bcnc_group_test.entities.PriceHistory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PriceHistoryRepository extends CrudRepository<PriceHistory, Long> {
+
+    @Query("SELECT history FROM PriceHistory history " +
+        "JOIN FETCH history.brand brand " +
+        "JOIN FETCH history.product product " +
+        "WHERE product.id = :productId " +
+        "AND brand.id = :brandId " +
+        "AND history.startDate <= :applicationDate " +
+        "AND history.endDate >= :applicationDate " +
+        "AND history.recordedFrom <= :asOf " +
+        "AND history.recordedTo > :asOf " +
+        "ORDER BY history.priority DESC, history.priceId ASC")
+    List<PriceHistory> findPricesInForceAsOf(Long productId, Long brandId, LocalDateTime applicationDate, LocalDateTime asOf,
+                                             Pageable pageable);
+
+    default Optional<PriceHistory> getPriceAsOf(Long productId, Long brandId, LocalDateTime applicationDate, LocalDateTime asOf) {
+        return findPricesInForceAsOf(productId, brandId, applicationDate, asOf, PageRequest.of(0, 1)).stream().findFirst();
+    }
+}
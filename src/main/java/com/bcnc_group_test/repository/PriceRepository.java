@@ -1,22 +1,72 @@
 package com.bcnc_group_test.repository;
 
 import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.repository.projection.PriceRow;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PriceRepository extends CrudRepository<Price, Long> {
-    @Query(value = "SELECT price.* "+
-        "FROM price price " +
-        "WHERE price.product_id = :productId " +
-        "AND price.brand_id = :brandId " +
-        "AND price.start_date <= :applicationDate " +
-        "AND price.end_date >= :applicationDate " +
-        "ORDER BY price.priority desc LIMIT 1",
-        nativeQuery = true)
-    Optional<Price> getPrice(Long productId, Long brandId, LocalDateTime applicationDate);
+
+    @Override
+    @EntityGraph(attributePaths = {"brand", "product"})
+    Iterable<Price> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"brand", "product"})
+    Optional<Price> findById(Long id);
+
+    @EntityGraph(attributePaths = {"brand", "product"})
+    List<Price> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @EntityGraph(attributePaths = {"brand", "product"})
+    List<Price> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("SELECT new com.bcnc_group_test.repository.projection.PriceRow(" +
+        "price.id, price.brand.id, price.product.id, price.startDate, price.endDate, " +
+        "price.priceList, price.priority, price.price, price.currency) " +
+        "FROM Price price " +
+        "WHERE price.id > :afterId " +
+        "ORDER BY price.id")
+    List<PriceRow> findRows(Long afterId, Pageable pageable);
+
+    @Query("SELECT price FROM Price price " +
+        "JOIN FETCH price.brand brand " +
+        "JOIN FETCH price.product product " +
+        "WHERE product.id = :productId " +
+        "AND brand.id = :brandId " +
+        "AND price.startDate <= :applicationDate " +
+        "AND price.endDate >= :applicationDate " +
+        "ORDER BY price.priority DESC, price.id ASC")
+    List<Price> findPricesInForce(Long productId, Long brandId, LocalDateTime applicationDate, Pageable pageable);
+
+    default Optional<Price> getPrice(Long productId, Long brandId, LocalDateTime applicationDate) {
+        return findPricesInForce(productId, brandId, applicationDate, PageRequest.of(0, 1)).stream().findFirst();
+    }
+
+    @Query("SELECT price FROM Price price " +
+        "JOIN FETCH price.brand brand " +
+        "JOIN FETCH price.product product " +
+        "WHERE brand.id = :brandId " +
+        "AND product.id IN :productIds")
+    List<Price> findByBrandIdAndProductIds(Long brandId, Collection<Long> productIds);
+
+    @Query("SELECT price FROM Price price " +
+        "JOIN FETCH price.brand brand " +
+        "JOIN FETCH price.product product " +
+        "WHERE brand.id = :brandId " +
+        "AND product.id IN :productIds " +
+        "AND price.startDate <= :applicationDate " +
+        "AND price.endDate >= :applicationDate")
+    List<Price> findApplicablePrices(Long brandId, Collection<Long> productIds, LocalDateTime applicationDate);
 }
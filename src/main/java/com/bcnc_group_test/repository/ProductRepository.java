@@ -1,9 +1,20 @@
 package com.bcnc_group_test.repository;
 
 import com.bcnc_group_test.entities.Product;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 @Repository
 public interface ProductRepository extends CrudRepository<Product, Long> {
+
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("SELECT product.id FROM Product product WHERE product.id IN :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
 }
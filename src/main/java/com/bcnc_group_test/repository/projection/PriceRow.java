@@ -0,0 +1,24 @@
+package com.bcnc_group_test.repository.projection;
+
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a price that carries the brand and product ids instead of the associated entities,
+ * so it can be read with a single query and is never tracked by the persistence context.
+ */
+@JsonPropertyOrder({"id", "brandId", "productId", "startDate", "endDate", "priceList", "priority", "price", "currency"})
+public record PriceRow(
+    Long id,
+    Long brandId,
+    Long productId,
+    LocalDateTime startDate,
+    LocalDateTime endDate,
+    Long priceList,
+    int priority,
+    double price,
+    CurrencyCode currency
+) {
+}
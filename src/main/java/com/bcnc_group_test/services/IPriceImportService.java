@@ -0,0 +1,9 @@
+package com.bcnc_group_test.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+public interface IPriceImportService {
+
+    PriceImportReport importPrices(BufferedReader reader, PriceImportFormat format) throws IOException;
+}
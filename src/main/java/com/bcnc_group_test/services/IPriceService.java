@@ -1,20 +1,48 @@
 package com.bcnc_group_test.services;
 
 import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.repository.projection.PriceRow;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
 
 public interface IPriceService {
 
     List<Price> findAll();
 
+    List<Price> findAll(Long afterId, int size);
+
+    List<PriceRow> findAllRows(Long afterId, int size);
+
+    void forEachRow(Consumer<PriceRow> action);
+
     Optional<Price> findById(Long id);
 
     void save(Price price);
 
     void deleteById(Long id);
 
+    void insertAll(List<Price> prices);
+
+    List<Price> findByBrandIdAndProductIds(Long brandId, Collection<Long> productIds);
+
     Optional<Price> getPrice(Long productId, Long brandId, LocalDateTime applicationDate);
-}
+
+    /**
+     * Resolves the price as it would have been returned at {@code asOf}, from the recorded price history.
+     */
+    Optional<Price> getPriceAsOf(Long productId, Long brandId, LocalDateTime applicationDate, LocalDateTime asOf);
+
+    Map<Long, Optional<Price>> getPrices(Long brandId, Collection<Long> productIds, LocalDateTime applicationDate);
+
+    /**
+     * The version of the in-memory price book lookups are answered from, if the lookups are answered from one.
+     * It only grows, and every write that succeeded before it was read is visible to the lookups made after.
+     */
+    OptionalLong priceBookVersion();
+}
\ No newline at end of file
@@ -2,13 +2,19 @@ package com.bcnc_group_test.services;
 
 import com.bcnc_group_test.entities.Product;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface IProductService {
 
     List<Product> findAll();
 
+    List<Product> findAll(Long afterId, int size);
+
+    Set<Long> findExistingIds(Collection<Long> ids);
+
     Optional<Product> findById(Long id);
 
     void save(Product product);
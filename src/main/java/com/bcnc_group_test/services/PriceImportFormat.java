@@ -0,0 +1,13 @@
+package com.bcnc_group_test.services;
+
+public enum PriceImportFormat {
+    /**
+     * One price per line: brand_id,product_id,start_date,end_date,price_list,priority,price,currency.
+     * An optional header line with those names is skipped.
+     */
+    CSV,
+    /**
+     * One JSON object per line, with the fields of {@link com.bcnc_group_test.controllers.dto.PriceImportRowDTO}.
+     */
+    NDJSON
+}
@@ -0,0 +1,15 @@
+package com.bcnc_group_test.services;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk price import.
+ *
+ * @param imported      The number of rows stored.
+ * @param rejected      The number of rows that failed validation and were skipped.
+ * @param elapsedMillis The duration of the whole import.
+ * @param rowsPerSecond The rows read per second, stored or rejected.
+ * @param errors        The first rejected rows, with their line number and the reason.
+ */
+public record PriceImportReport(long imported, long rejected, long elapsedMillis, long rowsPerSecond, List<String> errors) {
+}
@@ -5,8 +5,10 @@ import com.bcnc_group_test.persistence.IBrandDAO;
 import com.bcnc_group_test.services.IBrandService;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class BrandServiceImpl implements IBrandService {
@@ -22,6 +24,16 @@ public class BrandServiceImpl implements IBrandService {
         return brandDAO.findAll();
     }
 
+    @Override
+    public List<Brand> findAll(Long afterId, int size) {
+        return brandDAO.findAll(afterId, size);
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return brandDAO.findExistingIds(ids);
+    }
+
     @Override
     public Optional<Brand> findById(Long id) {
         return brandDAO.findById(id);
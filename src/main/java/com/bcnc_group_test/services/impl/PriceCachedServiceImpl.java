@@ -0,0 +1,291 @@
+package com.bcnc_group_test.services.impl;
+
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.events.PriceChangeBroker;
+import com.bcnc_group_test.events.PriceChangeEvent;
+import com.bcnc_group_test.events.PriceChangeNode;
+import com.bcnc_group_test.metrics.PriceLookupMetrics;
+import com.bcnc_group_test.metrics.PriceLookupMetrics.Stage;
+import com.bcnc_group_test.persistence.index.PriceKey;
+import com.bcnc_group_test.persistence.index.PriceTimeline;
+import com.bcnc_group_test.repository.projection.PriceRow;
+import com.bcnc_group_test.services.IPriceService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Price service that answers {@link #getPrice} and {@link #getPrices} from a bounded cache of compiled
+ * {@link PriceTimeline}s, one per (brand, product). Every date inside the same segment of a timeline is answered by
+ * the same entry, and a write only evicts the pairs it touches.
+ * <p>
+ * With several instances, each one keeps its own cache and reads never leave it. The writes made by the other
+ * instances arrive as {@link PriceChangeEvent}s once committed (see {@code bcnc_group_test.price.events.enabled}) and
+ * evict the pairs they touch, including the one a moved price left, so a pair is stale on a peer only between the
+ * commit and the delivery of its change. {@code bcnc_group_test.price.cache.expire-after-write-seconds} bounds that
+ * window if the broker can lose messages.
+ * Enabled with {@code bcnc_group_test.price.cache.enabled=true}; otherwise {@link PriceServiceImpl} is used directly.
+ */
+@Primary
+@Service
+@ConditionalOnProperty(name = "bcnc_group_test.price.cache.enabled", havingValue = "true")
+public class PriceCachedServiceImpl implements IPriceService {
+
+    public static final String CACHE_NAME = "price.timelines";
+
+    private final PriceServiceImpl priceService;
+    private final PriceLookupMetrics priceLookupMetrics;
+    private final PriceChangeBroker priceChangeBroker;
+    private final PriceChangeNode node;
+    private final Cache<PriceKey, PriceTimeline> timelines;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicInteger committing = new AtomicInteger();
+    private final AtomicLong settledVersion = new AtomicLong();
+
+    public PriceCachedServiceImpl(PriceServiceImpl priceService, PriceLookupMetrics priceLookupMetrics, MeterRegistry meterRegistry,
+                                  PriceChangeBroker priceChangeBroker, PriceChangeNode node,
+                                  @Value("${bcnc_group_test.price.cache.maximum-size:10000}") long maximumSize,
+                                  @Value("${bcnc_group_test.price.cache.expire-after-write-seconds:0}") long expireAfterWriteSeconds) {
+        this.priceService = priceService;
+        this.priceLookupMetrics = priceLookupMetrics;
+        this.priceChangeBroker = priceChangeBroker;
+        this.node = node;
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .recordStats();
+        if (expireAfterWriteSeconds > 0) {
+            builder.expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds));
+        }
+        this.timelines = builder.build();
+        CaffeineCacheMetrics.monitor(meterRegistry, timelines, CACHE_NAME);
+        Gauge.builder("price.cache.hit.ratio", timelines, cache -> cache.stats().hitRate())
+            .description("Share of the timeline lookups answered from the cache since startup")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes after the DAO, which the broker therefore updates first, so a pair evicted here is never reloaded
+     * from a DAO index that has not applied the change yet.
+     */
+    @PostConstruct
+    public void start() {
+        priceChangeBroker.subscribe(this::invalidate);
+    }
+
+    @Override
+    public List<Price> findAll() {
+        return priceService.findAll();
+    }
+
+    @Override
+    public List<Price> findAll(Long afterId, int size) {
+        return priceService.findAll(afterId, size);
+    }
+
+    @Override
+    public List<PriceRow> findAllRows(Long afterId, int size) {
+        return priceService.findAllRows(afterId, size);
+    }
+
+    @Override
+    public void forEachRow(Consumer<PriceRow> action) {
+        priceService.forEachRow(action);
+    }
+
+    @Override
+    public Optional<Price> findById(Long id) {
+        return priceService.findById(id);
+    }
+
+    @Override
+    public void save(Price price) {
+        PriceKey previousKey = price.getId() == null ? null : priceService.findById(price.getId()).map(PriceKey::of).orElse(null);
+        write(() -> priceService.save(price), Arrays.asList(previousKey, PriceKey.of(price)));
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        PriceKey key = priceService.findById(id).map(PriceKey::of).orElse(null);
+        write(() -> priceService.deleteById(id), Collections.singletonList(key));
+    }
+
+    @Override
+    public void insertAll(List<Price> prices) {
+        write(() -> priceService.insertAll(prices), prices.stream().map(PriceKey::of).toList());
+    }
+
+    @Override
+    public List<Price> findByBrandIdAndProductIds(Long brandId, Collection<Long> productIds) {
+        return priceService.findByBrandIdAndProductIds(brandId, productIds);
+    }
+
+    @Override
+    public Optional<Price> getPrice(Long productId, Long brandId, LocalDateTime applicationDate) {
+        if (productId == null || brandId == null || applicationDate == null) {
+            return Optional.empty();
+        }
+        return priceLookupMetrics.observe(Stage.SERVICE, () -> timelines.get(new PriceKey(brandId, productId),
+                key -> PriceTimeline.of(priceService.findByBrandIdAndProductIds(brandId, List.of(productId))))
+            .find(applicationDate));
+    }
+
+    @Override
+    public Optional<Price> getPriceAsOf(Long productId, Long brandId, LocalDateTime applicationDate, LocalDateTime asOf) {
+        return priceService.getPriceAsOf(productId, brandId, applicationDate, asOf);
+    }
+
+    /**
+     * Reads the missing timelines of the batch with a single query, then resolves every product from the cache.
+     */
+    @Override
+    public Map<Long, Optional<Price>> getPrices(Long brandId, Collection<Long> productIds, LocalDateTime applicationDate) {
+        List<PriceKey> keys = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            keys.add(new PriceKey(brandId, productId));
+        }
+        long invalidationsBefore = invalidations.get();
+        Map<PriceKey, PriceTimeline> found = timelines.getAll(keys, this::loadTimelines);
+        if (invalidations.get() != invalidationsBefore) {
+            // Unlike a single get, a bulk load is not blocked by the invalidations that run during it, so what it read
+            // may predate them: answer with it, but do not keep it.
+            timelines.invalidateAll(keys);
+        }
+
+        Map<Long, Optional<Price>> prices = new LinkedHashMap<>();
+        for (PriceKey key : keys) {
+            prices.put(key.productId(), found.get(key).find(applicationDate));
+        }
+        return prices;
+    }
+
+    /**
+     * The version of the underlying price book once the cache has evicted every change it contains. While a commit
+     * is on its way to the cache, the latest version answered before it is returned instead, so an entity tag is never
+     * built from a version newer than the cached timeline it describes.
+     */
+    @Override
+    public OptionalLong priceBookVersion() {
+        OptionalLong version = priceService.priceBookVersion();
+        if (version.isEmpty()) {
+            return version;
+        }
+        if (committing.get() > 0) {
+            return OptionalLong.of(settledVersion.get());
+        }
+        return OptionalLong.of(settledVersion.accumulateAndGet(version.getAsLong(), Math::max));
+    }
+
+    public CacheStats stats() {
+        return timelines.stats();
+    }
+
+    private Map<PriceKey, PriceTimeline> loadTimelines(Set<? extends PriceKey> keys) {
+        Map<Long, List<Price>> pricesByProduct = new HashMap<>();
+        Long brandId = null;
+        for (PriceKey key : keys) {
+            brandId = key.brandId();
+            pricesByProduct.put(key.productId(), new ArrayList<>());
+        }
+        for (Price price : priceService.findByBrandIdAndProductIds(brandId, pricesByProduct.keySet())) {
+            pricesByProduct.get(price.getProduct().getId()).add(price);
+        }
+
+        Map<PriceKey, PriceTimeline> loaded = new HashMap<>();
+        for (PriceKey key : keys) {
+            loaded.put(key, PriceTimeline.of(pricesByProduct.get(key.productId())));
+        }
+        return loaded;
+    }
+
+    /**
+     * Evicts the pairs changed by other instances. A batch with a change of a newer protocol clears the whole cache,
+     * as it cannot tell which pairs that change affects.
+     */
+    void invalidate(List<PriceChangeEvent> events) {
+        invalidations.incrementAndGet();
+        if (!events.stream().allMatch(PriceChangeEvent::isUnderstood)) {
+            timelines.invalidateAll();
+            return;
+        }
+        for (PriceChangeEvent event : events) {
+            if (!node.isOrigin(event)) {
+                timelines.invalidateAll(event.keys());
+            }
+        }
+    }
+
+    /**
+     * Runs the write and evicts the pairs it touches once its transaction commits: evicted any earlier, a concurrent
+     * miss would cache them again as they were before the commit. From right before the commit until they are
+     * evicted, the write counts as committing and holds {@link #priceBookVersion()} back.
+     */
+    private void write(Runnable write, Collection<PriceKey> keys) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committing.incrementAndGet();
+            try {
+                write.run();
+            } finally {
+                keys.forEach(this::invalidate);
+                committing.decrementAndGet();
+            }
+            return;
+        }
+        write.run();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            private boolean counted;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                counted = true;
+                committing.incrementAndGet();
+            }
+
+            @Override
+            public void afterCommit() {
+                keys.forEach(PriceCachedServiceImpl.this::invalidate);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (counted) {
+                    committing.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    private void invalidate(PriceKey key) {
+        if (key != null) {
+            invalidations.incrementAndGet();
+            timelines.invalidate(key);
+        }
+    }
+}
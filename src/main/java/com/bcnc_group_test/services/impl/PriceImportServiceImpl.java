@@ -0,0 +1,252 @@
+package com.bcnc_group_test.services.impl;
+
+import com.bcnc_group_test.controllers.dto.PriceImportRowDTO;
+import com.bcnc_group_test.entities.Brand;
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.Product;
+import com.bcnc_group_test.services.IBrandService;
+import com.bcnc_group_test.services.IPriceImportService;
+import com.bcnc_group_test.services.IPriceService;
+import com.bcnc_group_test.services.IProductService;
+import com.bcnc_group_test.services.PriceImportFormat;
+import com.bcnc_group_test.services.PriceImportReport;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streams a CSV or NDJSON body line by line, validates each row as it is read and stores the valid ones in JDBC
+ * batches of {@code bcnc_group_test.price.import.batch-size} rows, one transaction per batch. Invalid rows are
+ * skipped and reported instead of aborting the import.
+ */
+@Service
+public class PriceImportServiceImpl implements IPriceImportService {
+
+    static final String CSV_HEADER = "brand_id,product_id,start_date,end_date,price_list,priority,price,currency";
+    static final int MAX_REPORTED_ERRORS = 100;
+    private static final int CSV_COLUMNS = 8;
+    /**
+     * The export writes the id of every price before the other columns. It is accepted and ignored, so an export can
+     * be imported as it is; the imported prices get new ids.
+     */
+    private static final String CSV_ID_COLUMN = "id";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd[ ]['T']HH:mm:ss");
+
+    private final IPriceService priceService;
+    private final IBrandService brandService;
+    private final IProductService productService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader rowReader;
+    private final int batchSize;
+
+    public PriceImportServiceImpl(IPriceService priceService, IBrandService brandService, IProductService productService,
+                                  PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                  @Value("${bcnc_group_test.price.import.batch-size:1000}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("bcnc_group_test.price.import.batch-size must be greater than 0");
+        }
+        this.priceService = priceService;
+        this.brandService = brandService;
+        this.productService = productService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rowReader = objectMapper.readerFor(PriceImportRowDTO.class);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public PriceImportReport importPrices(BufferedReader reader, PriceImportFormat format) throws IOException {
+        long start = System.nanoTime();
+        Progress progress = new Progress();
+        List<Row> batch = new ArrayList<>(batchSize);
+
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (format == PriceImportFormat.CSV && lineNumber == 1 && isCsvHeader(line))) {
+                continue;
+            }
+            try {
+                batch.add(new Row(lineNumber, toPrice(format == PriceImportFormat.CSV ? parseCsv(line) : parseJson(line))));
+            } catch (IllegalArgumentException exception) {
+                progress.reject(lineNumber, exception.getMessage());
+            } catch (JsonProcessingException exception) {
+                progress.reject(lineNumber, exception.getOriginalMessage());
+            }
+            if (batch.size() == batchSize) {
+                flush(batch, progress);
+            }
+        }
+        flush(batch, progress);
+
+        long elapsedNanos = Math.max(System.nanoTime() - start, 1);
+        long rows = progress.imported + progress.rejected;
+        return new PriceImportReport(progress.imported, progress.rejected, elapsedNanos / 1_000_000,
+            rows * 1_000_000_000L / elapsedNanos, List.copyOf(progress.errors));
+    }
+
+    /**
+     * Drops the rows whose brand or product does not exist, with one lookup per table for the whole batch, and
+     * inserts the rest.
+     */
+    private void flush(List<Row> batch, Progress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<Long> brandIds = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        for (Row row : batch) {
+            brandIds.add(row.price().getBrand().getId());
+            productIds.add(row.price().getProduct().getId());
+        }
+        Set<Long> existingBrandIds = brandService.findExistingIds(brandIds);
+        Set<Long> existingProductIds = productService.findExistingIds(productIds);
+
+        List<Price> prices = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            Long brandId = row.price().getBrand().getId();
+            Long productId = row.price().getProduct().getId();
+            if (!existingBrandIds.contains(brandId)) {
+                progress.reject(row.lineNumber(), "Brand " + brandId + " does not exist");
+            } else if (!existingProductIds.contains(productId)) {
+                progress.reject(row.lineNumber(), "Product " + productId + " does not exist");
+            } else {
+                prices.add(row.price());
+            }
+        }
+        if (!prices.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> priceService.insertAll(prices));
+            progress.imported += prices.size();
+        }
+        batch.clear();
+    }
+
+    private static boolean isCsvHeader(String line) {
+        String header = line.replace(" ", "");
+        return header.equalsIgnoreCase(CSV_HEADER) || header.equalsIgnoreCase(CSV_ID_COLUMN + "," + CSV_HEADER);
+    }
+
+    private static PriceImportRowDTO parseCsv(String line) {
+        String[] columns = line.split(",", -1);
+        if (columns.length != CSV_COLUMNS && columns.length != CSV_COLUMNS + 1) {
+            throw new IllegalArgumentException("Expected " + CSV_COLUMNS + " columns but found " + columns.length);
+        }
+        int first = columns.length - CSV_COLUMNS;
+        return PriceImportRowDTO.builder()
+            .brandId(parseLong(columns[first], "brand_id"))
+            .productId(parseLong(columns[first + 1], "product_id"))
+            .startDate(parseDate(columns[first + 2], "start_date"))
+            .endDate(parseDate(columns[first + 3], "end_date"))
+            .priceList(parseLong(columns[first + 4], "price_list"))
+            .priority(Math.toIntExact(parseLong(columns[first + 5], "priority")))
+            .price(parseDouble(columns[first + 6]))
+            .currency(parseCurrency(columns[first + 7]))
+            .build();
+    }
+
+    private PriceImportRowDTO parseJson(String line) throws JsonProcessingException {
+        return rowReader.readValue(line);
+    }
+
+    private static Price toPrice(PriceImportRowDTO row) {
+        requireValue(row.getBrandId(), "brandId");
+        requireValue(row.getProductId(), "productId");
+        requireValue(row.getStartDate(), "startDate");
+        requireValue(row.getEndDate(), "endDate");
+        requireValue(row.getPriceList(), "priceList");
+        requireValue(row.getPriority(), "priority");
+        requireValue(row.getPrice(), "price");
+        requireValue(row.getCurrency(), "currency");
+        if (row.getStartDate().isAfter(row.getEndDate())) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        if (row.getPriceList() <= 0) {
+            throw new IllegalArgumentException("priceList must be greater than 0");
+        }
+        if (row.getPriority() < 0) {
+            throw new IllegalArgumentException("priority must not be negative");
+        }
+        if (row.getPrice() < 0 || row.getPrice().isNaN() || row.getPrice().isInfinite()) {
+            throw new IllegalArgumentException("price must be a positive number");
+        }
+        return Price.builder()
+            .brand(Brand.builder().id(row.getBrandId()).build())
+            .product(Product.builder().id(row.getProductId()).build())
+            .startDate(row.getStartDate())
+            .endDate(row.getEndDate())
+            .priceList(row.getPriceList())
+            .priority(row.getPriority())
+            .price(row.getPrice())
+            .currency(row.getCurrency())
+            .build();
+    }
+
+    private static void requireValue(Object value, String field) {
+        if (value == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+    }
+
+    private static Long parseLong(String value, String column) {
+        try {
+            return value.isBlank() ? null : Long.valueOf(value.trim());
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException(column + " must be a number");
+        }
+    }
+
+    private static Double parseDouble(String value) {
+        try {
+            return value.isBlank() ? null : Double.valueOf(value.trim());
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("price must be a number");
+        }
+    }
+
+    private static LocalDateTime parseDate(String value, String column) {
+        try {
+            return value.isBlank() ? null : LocalDateTime.parse(value.trim(), DATE_FORMATTER);
+        } catch (DateTimeParseException exception) {
+            throw new IllegalArgumentException(column + " must have the format yyyy-MM-dd HH:mm:ss");
+        }
+    }
+
+    private static CurrencyCode parseCurrency(String value) {
+        try {
+            return value.isBlank() ? null : CurrencyCode.valueOf(value.trim());
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException("currency " + value.trim() + " is not supported");
+        }
+    }
+
+    private record Row(long lineNumber, Price price) {
+    }
+
+    private static final class Progress {
+        private long imported;
+        private long rejected;
+        private final List<String> errors = new ArrayList<>();
+
+        private void reject(long lineNumber, String reason) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Line " + lineNumber + ": " + reason);
+            }
+        }
+    }
+}
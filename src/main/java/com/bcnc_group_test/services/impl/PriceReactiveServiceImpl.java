@@ -0,0 +1,30 @@
+package com.bcnc_group_test.services.impl;
+
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.persistence.IPriceReactiveDAO;
+import com.bcnc_group_test.services.IPriceReactiveService;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Service
+public class PriceReactiveServiceImpl implements IPriceReactiveService {
+
+    private final IPriceReactiveDAO priceReactiveDAO;
+
+    public PriceReactiveServiceImpl(IPriceReactiveDAO priceReactiveDAO) {
+        this.priceReactiveDAO = priceReactiveDAO;
+    }
+
+    @Override
+    public Flux<Price> findAll() {
+        return priceReactiveDAO.findAll();
+    }
+
+    @Override
+    public Mono<Price> getPrice(Long productId, Long brandId, LocalDateTime applicationDate) {
+        return priceReactiveDAO.getPrice(productId, brandId, applicationDate);
+    }
+}
@@ -1,21 +1,30 @@
 package com.bcnc_group_test.services.impl;
 
 import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.metrics.PriceLookupMetrics;
+import com.bcnc_group_test.metrics.PriceLookupMetrics.Stage;
 import com.bcnc_group_test.persistence.IPriceDAO;
+import com.bcnc_group_test.repository.projection.PriceRow;
 import com.bcnc_group_test.services.IPriceService;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
 
 @Service
 public class PriceServiceImpl implements IPriceService {
 
     private final IPriceDAO priceDAO;
+    private final PriceLookupMetrics priceLookupMetrics;
 
-    public PriceServiceImpl(IPriceDAO priceDAO) {
+    public PriceServiceImpl(IPriceDAO priceDAO, PriceLookupMetrics priceLookupMetrics) {
         this.priceDAO = priceDAO;
+        this.priceLookupMetrics = priceLookupMetrics;
     }
 
     @Override
@@ -23,6 +32,21 @@ public class PriceServiceImpl implements IPriceService {
         return priceDAO.findAll();
     }
 
+    @Override
+    public List<Price> findAll(Long afterId, int size) {
+        return priceDAO.findAll(afterId, size);
+    }
+
+    @Override
+    public List<PriceRow> findAllRows(Long afterId, int size) {
+        return priceDAO.findAllRows(afterId, size);
+    }
+
+    @Override
+    public void forEachRow(Consumer<PriceRow> action) {
+        priceDAO.forEachRow(action);
+    }
+
     @Override
     public Optional<Price> findById(Long id) {
         return priceDAO.findById(id);
@@ -38,8 +62,33 @@ public class PriceServiceImpl implements IPriceService {
         priceDAO.deleteById(id);
     }
 
+    @Override
+    public void insertAll(List<Price> prices) {
+        priceDAO.insertAll(prices);
+    }
+
+    @Override
+    public List<Price> findByBrandIdAndProductIds(Long brandId, Collection<Long> productIds) {
+        return priceDAO.findByBrandIdAndProductIds(brandId, productIds);
+    }
+
     @Override
     public Optional<Price> getPrice(Long productId, Long brandId, LocalDateTime applicationDate) {
-        return priceDAO.getPrice(productId, brandId, applicationDate);
+        return priceLookupMetrics.observe(Stage.SERVICE, () -> priceDAO.getPrice(productId, brandId, applicationDate));
+    }
+
+    @Override
+    public Optional<Price> getPriceAsOf(Long productId, Long brandId, LocalDateTime applicationDate, LocalDateTime asOf) {
+        return priceDAO.getPriceAsOf(productId, brandId, applicationDate, asOf);
+    }
+
+    @Override
+    public Map<Long, Optional<Price>> getPrices(Long brandId, Collection<Long> productIds, LocalDateTime applicationDate) {
+        return priceDAO.getPrices(brandId, productIds, applicationDate);
+    }
+
+    @Override
+    public OptionalLong priceBookVersion() {
+        return priceDAO.priceBookVersion();
     }
 }
@@ -5,8 +5,10 @@ import com.bcnc_group_test.persistence.IProductDAO;
 import com.bcnc_group_test.services.IProductService;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ProductServiceImpl implements IProductService {
@@ -22,6 +24,16 @@ public class ProductServiceImpl implements IProductService {
         return productDAO.findAll();
     }
 
+    @Override
+    public List<Product> findAll(Long afterId, int size) {
+        return productDAO.findAll(afterId, size);
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return productDAO.findExistingIds(ids);
+    }
+
     @Override
     public Optional<Product> findById(Long id) {
         return productDAO.findById(id);
@@ -0,0 +1,26 @@
+CREATE TABLE brand (
+    id   BIGINT       NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE product (
+    id   BIGINT       NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE price (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    brand_id   BIGINT,
+    product_id BIGINT,
+    start_date DATETIME(6),
+    end_date   DATETIME(6),
+    price_list BIGINT,
+    priority   INT DEFAULT 0,
+    price      DOUBLE      NOT NULL,
+    currency   VARCHAR(3),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_price_brand FOREIGN KEY (brand_id) REFERENCES brand (id),
+    CONSTRAINT fk_price_product FOREIGN KEY (product_id) REFERENCES product (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,4 @@
+-- Same index as idx_price_lookup on the Price entity.
+-- The price lookup filters by brand and product with equality and by start_date as a range, so InnoDB reads only the
+-- entries of one brand/product pair and checks end_date and priority from the index before touching the rows.
+CREATE INDEX idx_price_lookup ON price (brand_id, product_id, start_date, end_date, priority);
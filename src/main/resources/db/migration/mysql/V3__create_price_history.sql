@@ -0,0 +1,31 @@
+-- Every version each price has been stored with. start_date/end_date are when the price applies (valid time),
+-- recorded_from/recorded_to when that version was the stored one (system time). The stored version has recorded_to
+-- set to 9999-12-31 23:59:59, so both bounds can be compared as plain ranges.
+CREATE TABLE price_history (
+    id            BIGINT      NOT NULL AUTO_INCREMENT,
+    price_id      BIGINT      NOT NULL,
+    brand_id      BIGINT,
+    product_id    BIGINT,
+    start_date    DATETIME(6),
+    end_date      DATETIME(6),
+    price_list    BIGINT,
+    priority      INT DEFAULT 0,
+    price         DOUBLE      NOT NULL,
+    currency      VARCHAR(3),
+    recorded_from DATETIME(6) NOT NULL,
+    recorded_to   DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_price_history_brand FOREIGN KEY (brand_id) REFERENCES brand (id),
+    CONSTRAINT fk_price_history_product FOREIGN KEY (product_id) REFERENCES product (id)
+) ENGINE = InnoDB;
+
+-- Same access path as idx_price_lookup: one brand/product pair, then every other condition of the as-of lookup is
+-- checked from the index.
+CREATE INDEX idx_price_history_lookup ON price_history (brand_id, product_id, start_date, end_date, recorded_from, recorded_to, priority);
+-- Finds the stored version of a price when it changes.
+CREATE INDEX idx_price_history_price ON price_history (price_id, recorded_to);
+
+-- The history of the existing prices starts with this migration.
+INSERT INTO price_history (price_id, brand_id, product_id, start_date, end_date, price_list, priority, price, currency, recorded_from, recorded_to)
+SELECT id, brand_id, product_id, start_date, end_date, price_list, priority, price, currency, CURRENT_TIMESTAMP(6), '9999-12-31 23:59:59'
+FROM price;
@@ -0,0 +1,21 @@
+-- Transactional outbox of price changes. Each row is written in the transaction of the change and deleted once
+-- the relay has published it, so the table only holds what is still to be published. The id orders the changes
+-- of each price. Brand and product are copied by value, without foreign keys, so a change outlives them.
+CREATE TABLE price_change (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    change_type  VARCHAR(7)  NOT NULL,
+    price_id     BIGINT      NOT NULL,
+    brand_id     BIGINT,
+    brand_name   VARCHAR(255),
+    product_id   BIGINT,
+    product_name VARCHAR(255),
+    start_date   DATETIME(6),
+    end_date     DATETIME(6),
+    price_list   BIGINT,
+    priority     INT DEFAULT 0,
+    price        DOUBLE      NOT NULL,
+    currency     VARCHAR(3),
+    origin       VARCHAR(64) NOT NULL,
+    recorded_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,3 @@
+-- The brand/product pair a saved price had before the change, when it had one, so the subscribers that work per pair
+-- also refresh the pair a price was moved out of.
+ALTER TABLE price_change ADD COLUMN previous_brand_id BIGINT, ADD COLUMN previous_product_id BIGINT;
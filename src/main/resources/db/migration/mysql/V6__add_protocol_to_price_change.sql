@@ -0,0 +1,3 @@
+-- The version of the event format a change was written with, so the relay publishes it as written instead of as the
+-- version it runs itself. The changes already in the outbox were all written with the first one.
+ALTER TABLE price_change ADD COLUMN protocol INT NOT NULL DEFAULT 1;
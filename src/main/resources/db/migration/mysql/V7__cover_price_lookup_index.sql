@@ -0,0 +1,7 @@
+-- Same index as idx_price_lookup on the Price entity, now with the remaining columns of the price row after the key
+-- columns of V2. InnoDB secondary indexes already carry the primary key, so the lookup reads id, price_list, price and
+-- currency from the index entries of the brand/product pair as well and never goes back to the clustered index
+-- ("Using index" in EXPLAIN). Dropped and added in one statement so fk_price_brand always has an index to use.
+ALTER TABLE price
+    DROP INDEX idx_price_lookup,
+    ADD INDEX idx_price_lookup (brand_id, product_id, start_date, end_date, priority, price_list, price, currency);
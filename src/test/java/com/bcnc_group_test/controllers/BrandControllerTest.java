@@ -40,7 +40,7 @@ public class BrandControllerTest {
             new Brand(1L, "Brand 1"),
             new Brand(2L, "Brand 2")
         );
-        when(brandService.findAll()).thenReturn(brands);
+        when(brandService.findAll(0L, 100)).thenReturn(brands);
 
         ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/brands")
             .accept(MediaType.APPLICATION_JSON));
@@ -55,7 +55,7 @@ public class BrandControllerTest {
 
     @Test
     public void findAll_WithoutResults() throws Exception {
-        when(brandService.findAll()).thenReturn(List.of());
+        when(brandService.findAll(0L, 100)).thenReturn(List.of());
 
         ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/brands")
             .accept(MediaType.APPLICATION_JSON));
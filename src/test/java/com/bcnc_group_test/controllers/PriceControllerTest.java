@@ -1,25 +1,49 @@
 package com.bcnc_group_test.controllers;
 
+import com.bcnc_group_test.controllers.dto.PriceColumnsDTO;
 import com.bcnc_group_test.entities.*;
+import com.bcnc_group_test.repository.projection.PriceRow;
 import com.bcnc_group_test.services.impl.PriceServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -52,6 +76,21 @@ public class PriceControllerTest {
         );
     }
 
+    private ResultActions performGetPriceRequestWithETag(String ifNoneMatch) throws Exception {
+        return mockMvc.perform(
+            MockMvcRequestBuilders.get("/api/v1/prices/get-price")
+                .param("productId", String.valueOf(productId))
+                .param("brandId", String.valueOf(brandId))
+                .param("applicationDate", applicationDate.toString())
+                .header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch)
+        );
+    }
+
+    private Price shirtPrice(double price) {
+        return createPrice(1L, new Brand(1L, "Zara"), LocalDateTime.of(2020, 6, 14, 0, 0, 0),
+            LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1L, new Product(35455L, "Shirt"), 0, price, CurrencyCode.EUR);
+    }
+
     private Price createPrice(long id, Brand brand, LocalDateTime startDate, LocalDateTime endDate, long priceList, Product product, int priority, double price, CurrencyCode currency) {
         return new Price(id, brand, startDate, endDate, priceList, product, priority, price, currency);
     }
@@ -59,7 +98,7 @@ public class PriceControllerTest {
     @Test
     public void findAll_WithResultsAreValid() throws Exception {
         List<Price> priceList = mockPriceList();
-        when(priceService.findAll()).thenReturn(priceList);
+        when(priceService.findAll(0L, 100)).thenReturn(priceList);
 
         ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/prices")
             .accept(MediaType.APPLICATION_JSON));
@@ -89,7 +128,7 @@ public class PriceControllerTest {
 
     @Test
     public void findAll_WithoutResults() throws Exception {
-        when(priceService.findAll()).thenReturn(List.of());
+        when(priceService.findAll(0L, 100)).thenReturn(List.of());
 
         ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/prices")
             .accept(MediaType.APPLICATION_JSON));
@@ -101,6 +140,218 @@ public class PriceControllerTest {
             .andExpect(MockMvcResultMatchers.jsonPath("$.count").value(0));
     }
 
+    @Test
+    public void findAll_WithFullPageReturnsTheNextCursor() throws Exception {
+        when(priceService.findAll(0L, 2)).thenReturn(mockPriceList());
+
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/prices")
+            .param("size", "2")
+            .accept(MediaType.APPLICATION_JSON));
+
+        result
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.header().string("X-Next-Cursor", "2"))
+            .andExpect(MockMvcResultMatchers.header().string("Link", "<http://localhost/api/v1/prices?size=2&afterId=2>; rel=\"next\""))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.count").value(2));
+    }
+
+    @Test
+    public void findAll_WithFullPageLinksTheNextPageFromTheQueryString() throws Exception {
+        when(priceService.findAll(0L, 2)).thenReturn(mockPriceList());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/prices?afterId=0&size=2&stream=false"))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.header().string("Link", "<http://localhost/api/v1/prices?size=2&afterId=2>; rel=\"next\""));
+    }
+
+    @Test
+    public void findAll_WithTheETagOfAnUnchangedPageReturnsNotModified() throws Exception {
+        when(priceService.findAll(0L, 2)).thenReturn(mockPriceList());
+
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/prices").param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/prices").param("size", "2").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, etag))
+            .andExpect(MockMvcResultMatchers.content().string(""));
+
+        List<Price> changedPage = mockPriceList();
+        changedPage.get(1).setPrice(19.95);
+        when(priceService.findAll(0L, 2)).thenReturn(changedPage);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/prices").param("size", "2").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.data[1].price").value(19.95));
+    }
+
+    @Test
+    public void findAll_AsColumnsWritesOneArrayPerFieldAndEachNameOnce() throws Exception {
+        when(priceService.findAll(0L, 2)).thenReturn(mockPriceList());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/prices").param("size", "2").accept(PriceColumnsDTO.MEDIA_TYPE))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(PriceColumnsDTO.MEDIA_TYPE))
+            .andExpect(MockMvcResultMatchers.header().string("X-Next-Cursor", "2"))
+            .andExpect(MockMvcResultMatchers.header().stringValues(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.count").value(2))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.data.brands['1']").value("Brand 1"))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.data.products['2']").value("Product 2"))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.data.brandId[1]").value(2))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.data.productId[0]").value(1))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.data.startDate[0]").value("2020-12-01T23:59:59"))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.data.priority[0]").value(1))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.data.price[1]").value(25.45))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.data.currency[1]").value("USD"));
+    }
+
+    @Test
+    public void findAll_AsCborHasTheSameContentAsJson() throws Exception {
+        when(priceService.findAll(0L, 2)).thenReturn(mockPriceList());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/prices").param("size", "2")
+                .accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+            .andReturn();
+
+        JsonNode body = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(2, body.get("count").asInt());
+        assertEquals("Product 2", body.get("data").get(1).get("product").get("name").asText());
+        assertEquals(25.45, body.get("data").get(1).get("price").asDouble());
+    }
+
+    @Test
+    public void findAll_TagsEachRepresentationOfAPageDifferently() throws Exception {
+        when(priceService.findAll(0L, 2)).thenReturn(mockPriceList());
+
+        String jsonETag = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/prices").param("size", "2")
+                .accept(MediaType.APPLICATION_JSON))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/prices").param("size", "2")
+                .accept(PriceColumnsDTO.MEDIA_TYPE)
+                .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    public void findAll_WithLastPageDoesNotReturnANextCursor() throws Exception {
+        when(priceService.findAll(2L, 3)).thenReturn(mockPriceList());
+
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/prices")
+            .param("afterId", "2")
+            .param("size", "3")
+            .accept(MediaType.APPLICATION_JSON));
+
+        result
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.header().doesNotExist("X-Next-Cursor"))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.count").value(2));
+    }
+
+    @Test
+    public void findAll_WithInvalidPageSizeReturnsError() throws Exception {
+        ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/prices")
+            .param("size", "1001")
+            .accept(MediaType.APPLICATION_JSON));
+
+        result
+            .andExpect(status().isBadRequest())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Page size must be between 1 and 1000"));
+    }
+
+    @Test
+    public void findAll_AsStreamWritesOnePriceByLine() throws Exception {
+        when(priceService.findAllRows(0L, 500)).thenReturn(List.of(
+            new PriceRow(1L, 1L, 1L, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1L, 0, 35.50, CurrencyCode.EUR),
+            new PriceRow(2L, 2L, 1L, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30), 2L, 1, 25.45, CurrencyCode.EUR)
+        ));
+
+        MvcResult asyncResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/prices")
+                .param("stream", "true"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":1,\"brandId\":1,\"productId\":1"));
+        assertTrue(lines[1].contains("\"id\":2,\"brandId\":2,\"productId\":1"));
+    }
+
+    @Test
+    public void exportAll_WritesNdjsonStraightFromTheCursor() throws Exception {
+        mockExportRows();
+
+        MvcResult asyncResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/prices/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+            .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"prices.ndjson\""))
+            .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"brandId\":1,\"productId\":1,\"startDate\":\"2020-06-14T00:00:00\""));
+        assertTrue(lines[1].startsWith("{\"id\":2,\"brandId\":2,\"productId\":1"));
+        verify(priceService, never()).findAll();
+    }
+
+    @Test
+    public void exportAll_WritesGzippedCsv() throws Exception {
+        mockExportRows();
+
+        MvcResult asyncResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/prices/export")
+                .param("format", "csv")
+                .param("gzip", "true"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn();
+
+        byte[] body = result.getResponse().getContentAsByteArray();
+        String csv = new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals(List.of(
+            "id,brand_id,product_id,start_date,end_date,price_list,priority,price,currency",
+            "1,1,1,2020-06-14T00:00:00,2020-12-31T23:59:59,1,0,35.5,EUR",
+            "2,2,1,2020-06-14T15:00:00,2020-06-14T18:30:00,2,1,25.45,EUR"
+        ), csv.lines().toList());
+    }
+
+    @Test
+    public void exportAll_UnsupportedFormat() throws Exception {
+        MvcResult asyncResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/prices/export")
+                .param("format", "xml"))
+            .andExpect(status().isBadRequest())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+            .andExpect(status().isBadRequest())
+            .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Format must be ndjson or csv"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockExportRows() {
+        doAnswer(invocation -> {
+            Consumer<PriceRow> action = invocation.getArgument(0);
+            action.accept(new PriceRow(1L, 1L, 1L, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1L, 0, 35.50, CurrencyCode.EUR));
+            action.accept(new PriceRow(2L, 2L, 1L, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30), 2L, 1, 25.45, CurrencyCode.EUR));
+            return null;
+        }).when(priceService).forEachRow(any(Consumer.class));
+    }
+
     @Test
     public void findById_ExistingPrice() throws Exception {
         Long priceId = 1L;
@@ -133,6 +384,109 @@ public class PriceControllerTest {
             .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Price not found"));
     }
 
+    @Test
+    public void getPrice_carriesThePriceBookVersionReadBeforeTheLookup() throws Exception {
+        applicationDate = LocalDateTime.of(2024, 7, 21, 13, 0, 0);
+        when(priceService.priceBookVersion()).thenReturn(OptionalLong.of(41L), OptionalLong.of(42L));
+        when(priceService.getPrice(productId, brandId, applicationDate)).thenReturn(Optional.empty());
+
+        performGetPriceRequest(productId, brandId, applicationDate)
+            .andExpect(MockMvcResultMatchers.status().isNotFound())
+            .andExpect(MockMvcResultMatchers.header().string(PriceController.PRICE_BOOK_VERSION_HEADER, "41"));
+        performGetPriceRequest(productId, brandId, applicationDate)
+            .andExpect(MockMvcResultMatchers.header().string(PriceController.PRICE_BOOK_VERSION_HEADER, "42"));
+    }
+
+    @Test
+    public void getPrice_withAsOfResolvesThePriceFromTheHistory() throws Exception {
+        applicationDate = LocalDateTime.of(2020, 6, 14, 10, 0, 0);
+        LocalDateTime asOf = LocalDateTime.of(2024, 3, 2, 9, 0, 0);
+        Price price = createPrice(1L, new Brand(1L, "Zara"), LocalDateTime.of(2020, 6, 14, 0, 0, 0),
+            LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1L, new Product(35455L, "Shirt"), 0, 30.0, CurrencyCode.EUR);
+        when(priceService.priceBookVersion()).thenReturn(OptionalLong.of(3L));
+        when(priceService.getPriceAsOf(productId, brandId, applicationDate, asOf)).thenReturn(Optional.of(price));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/prices/get-price")
+                .param("productId", String.valueOf(productId))
+                .param("brandId", String.valueOf(brandId))
+                .param("applicationDate", "2020-06-14 10:00:00")
+                .param("asOf", "2024-03-02 09:00:00"))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.data.price").value(30.0))
+            .andExpect(MockMvcResultMatchers.header().doesNotExist(PriceController.PRICE_BOOK_VERSION_HEADER));
+        verify(priceService, never()).getPrice(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    public void getPrice_withoutPriceBookHasNoVersionHeader() throws Exception {
+        applicationDate = LocalDateTime.of(2024, 7, 21, 13, 0, 0);
+        when(priceService.priceBookVersion()).thenReturn(OptionalLong.empty());
+        when(priceService.getPrice(productId, brandId, applicationDate)).thenReturn(Optional.empty());
+
+        performGetPriceRequest(productId, brandId, applicationDate)
+            .andExpect(MockMvcResultMatchers.header().doesNotExist(PriceController.PRICE_BOOK_VERSION_HEADER));
+    }
+
+    @Test
+    public void getPrice_withATagOfTheCurrentVersionReturnsNotModifiedWithoutTheLookup() throws Exception {
+        applicationDate = LocalDateTime.of(2020, 6, 14, 10, 0, 0);
+        when(priceService.priceBookVersion()).thenReturn(OptionalLong.of(7L));
+        when(priceService.getPrice(productId, brandId, applicationDate)).thenReturn(Optional.of(shirtPrice(35.5)));
+
+        String etag = performGetPriceRequest(productId, brandId, applicationDate)
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/prices/get-price")
+                .param("productId", String.valueOf(productId))
+                .param("brandId", String.valueOf(brandId))
+                .param("applicationDate", applicationDate.toString())
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, etag))
+            .andExpect(MockMvcResultMatchers.header().string(PriceController.PRICE_BOOK_VERSION_HEADER, "7"))
+            .andExpect(MockMvcResultMatchers.content().string(""));
+
+        verify(priceService, times(1)).getPrice(productId, brandId, applicationDate);
+    }
+
+    @Test
+    public void getPrice_withATagOfAnOlderVersionComparesThePrice() throws Exception {
+        applicationDate = LocalDateTime.of(2020, 6, 14, 10, 0, 0);
+        when(priceService.priceBookVersion()).thenReturn(OptionalLong.of(7L));
+        when(priceService.getPrice(productId, brandId, applicationDate)).thenReturn(Optional.of(shirtPrice(35.5)));
+        String etag = performGetPriceRequest(productId, brandId, applicationDate)
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Another price changed: the version moved but this price did not.
+        when(priceService.priceBookVersion()).thenReturn(OptionalLong.of(8L));
+        String currentETag = performGetPriceRequestWithETag(etag)
+            .andExpect(status().isNotModified())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertTrue(!etag.equals(currentETag) && currentETag.contains("-8-"), currentETag);
+
+        // This price changed.
+        when(priceService.priceBookVersion()).thenReturn(OptionalLong.of(9L));
+        when(priceService.getPrice(productId, brandId, applicationDate)).thenReturn(Optional.of(shirtPrice(29.95)));
+        performGetPriceRequestWithETag(currentETag)
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.data.price").value(29.95));
+    }
+
+    @Test
+    public void getPrice_withoutPriceBookUsesTheContentOfThePriceAsETag() throws Exception {
+        applicationDate = LocalDateTime.of(2020, 6, 14, 10, 0, 0);
+        when(priceService.priceBookVersion()).thenReturn(OptionalLong.empty());
+        when(priceService.getPrice(productId, brandId, applicationDate)).thenReturn(Optional.of(shirtPrice(35.5)));
+
+        String etag = performGetPriceRequest(productId, brandId, applicationDate)
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        performGetPriceRequestWithETag("\"other\", " + etag)
+            .andExpect(status().isNotModified());
+        performGetPriceRequestWithETag("\"other\"")
+            .andExpect(status().isOk());
+    }
+
     @Test
     public void getPrice_withOnlySendYearShouldBeObtainAnError() throws Exception {
         String applicationDate = "2020";
@@ -360,7 +714,20 @@ public class PriceControllerTest {
 
         result
             .andExpect(status().isOk())
-            .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Price deleted successfully"));
+            .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Price deleted successfully"))
+            .andExpect(MockMvcResultMatchers.header().doesNotExist(PriceController.PRICE_BOOK_VERSION_HEADER));
+    }
+
+    @Test
+    public void delete_ExistingPriceReturnsThePriceBookVersionWithTheDeletion() throws Exception {
+        Price price = new Price(1L, new Brand(1L, "Zara"), LocalDateTime.of(2020, 12, 1, 23, 59, 59),
+            LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1L, new Product(1L, "Blue Jean"), 1, 35.5, CurrencyCode.EUR);
+        when(priceService.findById(1L)).thenReturn(Optional.of(price));
+        when(priceService.priceBookVersion()).thenReturn(OptionalLong.of(7L));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/prices/{id}", 1L))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.header().string(PriceController.PRICE_BOOK_VERSION_HEADER, "7"));
     }
 
     @Test
@@ -398,4 +765,77 @@ public class PriceControllerTest {
             .andExpect(status().isBadRequest())
             .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("The sent value is invalid"));
     }
+
+    private ResultActions performGetPricesRequest(String content) throws Exception {
+        return mockMvc.perform(
+            MockMvcRequestBuilders.post("/api/v1/prices/get-prices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content)
+                .accept(MediaType.APPLICATION_JSON)
+        );
+    }
+
+    @Test
+    public void getPrices_returnsTheFoundPricesAndNullForTheProductsWithoutPrice() throws Exception {
+        Price priceExpected = createPrice(
+            1L,
+            new Brand(1L, "Zara"),
+            LocalDateTime.of(2020, 6, 14, 0, 0, 0),
+            LocalDateTime.of(2020, 12, 31, 23, 59, 59),
+            1L,
+            new Product(35455L, "Shirt"),
+            0,
+            35.5,
+            CurrencyCode.EUR
+        );
+        applicationDate = LocalDateTime.of(2020, 6, 14, 10, 0, 0);
+        Map<Long, Optional<Price>> prices = new LinkedHashMap<>();
+        prices.put(productId, Optional.of(priceExpected));
+        prices.put(99L, Optional.empty());
+        when(priceService.getPrices(brandId, Set.of(productId, 99L), applicationDate)).thenReturn(prices);
+
+        ResultActions result = performGetPricesRequest(
+            "{\"brandId\": 1, \"productIds\": [35455, 99, 35455], \"applicationDate\": \"2020-06-14 10:00:00\"}");
+        result
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.data['35455'].priceList").value(1))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.data['35455'].price").value(35.5))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.data['99']").isEmpty())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.count").value(1))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("OK"));
+    }
+
+    @Test
+    public void getPrices_withoutBrandShouldBeObtainAnError() throws Exception {
+        ResultActions result = performGetPricesRequest(
+            "{\"productIds\": [35455], \"applicationDate\": \"2020-06-14 10:00:00\"}");
+        result
+            .andExpect(MockMvcResultMatchers.status().isBadRequest())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Brand id is required"));
+        verify(priceService, never()).getPrices(anyLong(), any(), any());
+    }
+
+    @Test
+    public void getPrices_withoutProductsShouldBeObtainAnError() throws Exception {
+        ResultActions result = performGetPricesRequest(
+            "{\"brandId\": 1, \"productIds\": [], \"applicationDate\": \"2020-06-14 10:00:00\"}");
+        result
+            .andExpect(MockMvcResultMatchers.status().isBadRequest())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Product ids are required"));
+    }
+
+    @Test
+    public void getPrices_withTooManyProductsShouldBeObtainAnError() throws Exception {
+        StringBuilder productIds = new StringBuilder();
+        for (long id = 1; id <= PriceController.MAX_BATCH_SIZE + 1; id++) {
+            productIds.append(id == 1 ? "" : ",").append(id);
+        }
+
+        ResultActions result = performGetPricesRequest(
+            "{\"brandId\": 1, \"productIds\": [" + productIds + "], \"applicationDate\": \"2020-06-14 10:00:00\"}");
+        result
+            .andExpect(MockMvcResultMatchers.status().isBadRequest())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.message")
+                .value("A maximum of " + PriceController.MAX_BATCH_SIZE + " products can be requested at once"));
+    }
 }
@@ -0,0 +1,100 @@
+package com.bcnc_group_test.controllers;
+
+import com.bcnc_group_test.entities.Brand;
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.Product;
+import com.bcnc_group_test.services.impl.PriceReactiveServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class PriceReactiveControllerTest {
+
+    private static final LocalDateTime APPLICATION_DATE = LocalDateTime.of(2020, 6, 14, 16, 0, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PriceReactiveServiceImpl priceReactiveService;
+
+    @Test
+    public void getPrice_returnsThePriceToApply() throws Exception {
+        when(priceReactiveService.getPrice(35455L, 1L, APPLICATION_DATE)).thenReturn(Mono.just(price(2L, "Zara")));
+
+        MvcResult asyncResult = performGetPriceRequest();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("OK"))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.data.brand.name").value("Zara"))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.data.price").value(25.45))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.count").value(1));
+    }
+
+    @Test
+    public void getPrice_withoutPriceReturnsNotFound() throws Exception {
+        when(priceReactiveService.getPrice(35455L, 1L, APPLICATION_DATE)).thenReturn(Mono.empty());
+
+        MvcResult asyncResult = performGetPriceRequest();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+            .andExpect(status().isNotFound())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("Price not found"));
+    }
+
+    @Test
+    public void findAll_streamsOnePriceByLine() throws Exception {
+        when(priceReactiveService.findAll()).thenReturn(Flux.just(price(1L, "Zara"), price(2L, "Bershka")));
+
+        MvcResult asyncResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/v2/prices")
+                .accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().trim().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"name\":\"Zara\""));
+        assertTrue(lines[1].contains("\"name\":\"Bershka\""));
+    }
+
+    private MvcResult performGetPriceRequest() throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get("/api/v2/prices/get-price")
+                .param("productId", "35455")
+                .param("brandId", "1")
+                .param("applicationDate", "2020-06-14 16:00:00")
+                .accept(MediaType.APPLICATION_JSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    }
+
+    private static Price price(long id, String brandName) {
+        return new Price(id, new Brand(1L, brandName), APPLICATION_DATE.minusHours(1), APPLICATION_DATE.plusHours(2),
+            id, new Product(35455L, "Product 35455"), 1, 25.45, CurrencyCode.EUR);
+    }
+}
@@ -40,7 +40,7 @@ public class ProductControllerTest {
             new Product(1L, "Product 1"),
             new Product(2L, "Product 2")
         );
-        when(productService.findAll()).thenReturn(products);
+        when(productService.findAll(0L, 100)).thenReturn(products);
 
         ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products")
             .accept(MediaType.APPLICATION_JSON));
@@ -55,7 +55,7 @@ public class ProductControllerTest {
 
     @Test
     public void findAll_WithoutResults() throws Exception {
-        when(productService.findAll()).thenReturn(List.of());
+        when(productService.findAll(0L, 100)).thenReturn(List.of());
 
         ResultActions result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products")
             .accept(MediaType.APPLICATION_JSON));
@@ -0,0 +1,71 @@
+package com.bcnc_group_test.controllers.dto.mapper;
+
+import com.bcnc_group_test.controllers.dto.PriceDTO;
+import com.bcnc_group_test.controllers.dto.PriceToApplyDTO;
+import com.bcnc_group_test.entities.Brand;
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.Product;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class PriceMapperTest {
+
+    private static final LocalDateTime START_DATE = LocalDateTime.of(2020, 6, 14, 15, 0, 0);
+    private static final LocalDateTime END_DATE = LocalDateTime.of(2020, 6, 14, 18, 30, 0);
+
+    @Test
+    public void toPriceDTO_copiesEveryField() {
+        Price price = price(START_DATE, END_DATE);
+
+        PriceDTO priceDTO = PriceMapper.toPriceDTO(price);
+
+        assertSame(price.getBrand(), priceDTO.getBrand());
+        assertSame(price.getProduct(), priceDTO.getProduct());
+        assertSame(START_DATE, priceDTO.getStartDate());
+        assertSame(END_DATE, priceDTO.getEndDate());
+        assertEquals(2L, priceDTO.getPriceList());
+        assertEquals(1, priceDTO.getPriority());
+        assertEquals(25.45, priceDTO.getPrice());
+        assertEquals(CurrencyCode.EUR, priceDTO.getCurrency());
+    }
+
+    @Test
+    public void toPriceToApplyDTO_dropsFractionsOfASecond() {
+        Price price = price(START_DATE.plusNanos(250_000_000), END_DATE.plusNanos(999_999_999));
+
+        PriceToApplyDTO priceToApplyDTO = PriceMapper.toPriceToApplyDTO(price);
+
+        assertEquals(START_DATE, priceToApplyDTO.getStartDate());
+        assertEquals(END_DATE, priceToApplyDTO.getEndDate());
+        assertEquals(25.45, priceToApplyDTO.getPrice());
+    }
+
+    @Test
+    public void toPriceEntity_leavesTheIdToTheDatabase() {
+        Price price = PriceMapper.toPriceEntity(PriceMapper.toPriceDTO(price(START_DATE, END_DATE)));
+
+        assertNull(price.getId());
+        assertEquals(START_DATE, price.getStartDate());
+        assertEquals(35455L, price.getProduct().getId());
+    }
+
+    private static Price price(LocalDateTime startDate, LocalDateTime endDate) {
+        return Price.builder()
+            .id(2L)
+            .brand(Brand.builder().id(1L).name("Zara").build())
+            .product(Product.builder().id(35455L).name("Product 35455").build())
+            .startDate(startDate)
+            .endDate(endDate)
+            .priceList(2L)
+            .priority(1)
+            .price(25.45)
+            .currency(CurrencyCode.EUR)
+            .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.bcnc_group_test.events;
+
+import com.bcnc_group_test.BcncGroupExamApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts an instance of the application, without the web layer, that publishes and receives price changes through
+ * the given broker. Instances started with the same database name share the database; only the first one should
+ * create it, the others start with {@code spring.jpa.hibernate.ddl-auto=none}.
+ */
+public final class PeerApplication {
+
+    private PeerApplication() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static ConfigurableApplicationContext start(PriceChangeBroker broker, String databaseName, String nodeId, String... properties) {
+        List<String> allProperties = new ArrayList<>(List.of(
+            "DATABASE_NAME=" + databaseName,
+            "DATABASE_USER=sa",
+            "DATABASE_PASSWORD=",
+            "bcnc_group_test.price.events.enabled=true",
+            "bcnc_group_test.price.events.node-id=" + nodeId,
+            "spring.main.banner-mode=off",
+            "spring.jpa.show-sql=false",
+            "logging.level.root=warn",
+            "logging.level.org.hibernate.SQL=warn"
+        ));
+        allProperties.addAll(List.of(properties));
+        // As command line arguments, which take precedence over application.properties and the environment.
+        return new SpringApplicationBuilder(BcncGroupExamApplication.class)
+            .web(WebApplicationType.NONE)
+            .initializers(context -> context.getBeanFactory().registerSingleton("sharedPriceChangeBroker", broker))
+            .run(allProperties.stream().map(property -> "--" + property).toArray(String[]::new));
+    }
+}
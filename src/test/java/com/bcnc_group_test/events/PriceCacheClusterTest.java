@@ -0,0 +1,131 @@
+package com.bcnc_group_test.events;
+
+import com.bcnc_group_test.entities.Brand;
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.Product;
+import com.bcnc_group_test.services.IPriceService;
+import com.bcnc_group_test.services.impl.PriceCachedServiceImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Three instances with the timeline cache in front of the jpa DAO, so the cache is the only thing that can go stale:
+ * a writer that also runs the relay, and two peers that only learn about its writes from the broker.
+ */
+public class PriceCacheClusterTest {
+
+    private static final String DATABASE_NAME = "price-cache-cluster";
+    private static final long BRAND_ID = 1L;
+    private static final LocalDateTime APPLICATION_DATE = LocalDateTime.of(2020, 6, 14, 10, 0, 0);
+    private static final String[] CACHED_JPA = {"bcnc_group_test.price.dao=jpa", "bcnc_group_test.price.cache.enabled=true"};
+
+    private static ConfigurableApplicationContext writer;
+    private static List<ConfigurableApplicationContext> peers;
+
+    @BeforeAll
+    public static void startInstances() {
+        PriceChangeBroker broker = new InProcessPriceChangeBroker();
+        writer = PeerApplication.start(broker, DATABASE_NAME, "writer", CACHED_JPA[0], CACHED_JPA[1],
+            "bcnc_group_test.price.events.relay.enabled=true",
+            "bcnc_group_test.price.events.relay.poll-interval=3600000");
+        peers = List.of(
+            PeerApplication.start(broker, DATABASE_NAME, "peer-1", CACHED_JPA[0], CACHED_JPA[1], "spring.jpa.hibernate.ddl-auto=none"),
+            PeerApplication.start(broker, DATABASE_NAME, "peer-2", CACHED_JPA[0], CACHED_JPA[1], "spring.jpa.hibernate.ddl-auto=none")
+        );
+    }
+
+    @AfterAll
+    public static void stopInstances() {
+        peers.forEach(ConfigurableApplicationContext::close);
+        writer.close();
+    }
+
+    private static void createProduct(long productId) {
+        writer.getBean(JdbcTemplate.class).update("INSERT INTO product (id, name) VALUES (?, ?)", productId, "Product " + productId);
+    }
+
+    private static Price createPrice(long productId, double value) {
+        return Price.builder()
+            .brand(Brand.builder().id(BRAND_ID).build())
+            .product(Product.builder().id(productId).build())
+            .startDate(LocalDateTime.of(2020, 1, 1, 0, 0, 0))
+            .endDate(LocalDateTime.of(2020, 12, 31, 23, 59, 59))
+            .priceList(1L)
+            .priority(0)
+            .price(value)
+            .currency(CurrencyCode.EUR)
+            .build();
+    }
+
+    private static void relay() {
+        writer.getBean(PriceChangeRelay.class).relay();
+    }
+
+    private static Optional<Price> findOn(ConfigurableApplicationContext instance, long productId) {
+        return instance.getBean(IPriceService.class).getPrice(productId, BRAND_ID, APPLICATION_DATE);
+    }
+
+    @Test
+    public void anUpdate_reachesTheCacheOfEveryPeerOnceRelayed() {
+        long productId = 5100L;
+        createProduct(productId);
+        Price price = createPrice(productId, 10.0);
+        writer.getBean(IPriceService.class).save(price);
+        relay();
+
+        for (ConfigurableApplicationContext peer : peers) {
+            assertEquals(10.0, findOn(peer, productId).orElseThrow().getPrice());
+            long hits = peer.getBean(PriceCachedServiceImpl.class).stats().hitCount();
+            assertEquals(10.0, findOn(peer, productId).orElseThrow().getPrice());
+            assertEquals(hits + 1, peer.getBean(PriceCachedServiceImpl.class).stats().hitCount());
+        }
+
+        price.setPrice(12.0);
+        writer.getBean(IPriceService.class).save(price);
+        assertEquals(12.0, findOn(writer, productId).orElseThrow().getPrice());
+        for (ConfigurableApplicationContext peer : peers) {
+            assertEquals(10.0, findOn(peer, productId).orElseThrow().getPrice());
+        }
+
+        relay();
+
+        for (ConfigurableApplicationContext peer : peers) {
+            assertEquals(12.0, findOn(peer, productId).orElseThrow().getPrice());
+        }
+    }
+
+    @Test
+    public void aMovedPrice_leavesThePairItWasMovedOutOfOnEveryPeer() {
+        long fromProductId = 5200L;
+        long toProductId = 5201L;
+        createProduct(fromProductId);
+        createProduct(toProductId);
+        Price price = createPrice(fromProductId, 10.0);
+        writer.getBean(IPriceService.class).save(price);
+        relay();
+        for (ConfigurableApplicationContext peer : peers) {
+            assertTrue(findOn(peer, fromProductId).isPresent());
+            assertTrue(findOn(peer, toProductId).isEmpty());
+        }
+
+        price.setProduct(Product.builder().id(toProductId).build());
+        writer.getBean(IPriceService.class).save(price);
+        relay();
+
+        for (ConfigurableApplicationContext peer : peers) {
+            assertTrue(findOn(peer, fromProductId).isEmpty());
+            assertEquals(price.getId(), findOn(peer, toProductId).orElseThrow().getId());
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.bcnc_group_test.events;
+
+import com.bcnc_group_test.entities.Brand;
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.Product;
+import com.bcnc_group_test.persistence.IPriceChangeOutboxDAO;
+import com.bcnc_group_test.persistence.IPriceDAO;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two instances on the same database, connected by one {@link InProcessPriceChangeBroker}: the writer, which also
+ * runs the relay, and a peer that only learns about the changes from the broker.
+ */
+public class PriceChangeEventsTest {
+
+    private static final String DATABASE_NAME = "price-change-events";
+    private static final long BRAND_ID = 1L;
+    private static final LocalDateTime APPLICATION_DATE = LocalDateTime.of(2020, 6, 14, 10, 0, 0);
+
+    private static ConfigurableApplicationContext writer;
+    private static ConfigurableApplicationContext peer;
+
+    @BeforeAll
+    public static void startInstances() {
+        PriceChangeBroker broker = new InProcessPriceChangeBroker();
+        writer = PeerApplication.start(broker, DATABASE_NAME, "writer",
+            "bcnc_group_test.price.events.relay.enabled=true",
+            "bcnc_group_test.price.events.relay.poll-interval=3600000");
+        peer = PeerApplication.start(broker, DATABASE_NAME, "peer",
+            "spring.jpa.hibernate.ddl-auto=none");
+    }
+
+    @AfterAll
+    public static void stopInstances() {
+        peer.close();
+        writer.close();
+    }
+
+    private static void createProduct(long productId) {
+        writer.getBean(JdbcTemplate.class).update("INSERT INTO product (id, name) VALUES (?, ?)", productId, "Product " + productId);
+    }
+
+    private static Price createPrice(long productId, int priority, double value) {
+        return Price.builder()
+            .brand(Brand.builder().id(BRAND_ID).build())
+            .product(Product.builder().id(productId).build())
+            .startDate(LocalDateTime.of(2020, 1, 1, 0, 0, 0))
+            .endDate(LocalDateTime.of(2020, 12, 31, 23, 59, 59))
+            .priceList(1L)
+            .priority(priority)
+            .price(value)
+            .currency(CurrencyCode.EUR)
+            .build();
+    }
+
+    private static int relay() {
+        return writer.getBean(PriceChangeRelay.class).relay();
+    }
+
+    private static Optional<Price> findOn(ConfigurableApplicationContext instance, long productId) {
+        return instance.getBean(IPriceDAO.class).getPrice(productId, BRAND_ID, APPLICATION_DATE);
+    }
+
+    @Test
+    public void savedAndDeletedPrices_reachThePeerOnlyOnceRelayed() {
+        long productId = 4100L;
+        createProduct(productId);
+        IPriceDAO writerDAO = writer.getBean(IPriceDAO.class);
+        Price price = createPrice(productId, 0, 10.0);
+
+        writerDAO.save(price);
+        assertTrue(findOn(peer, productId).isEmpty());
+        assertEquals(1, relay());
+        Price applied = findOn(peer, productId).orElseThrow();
+        assertEquals(price.getId(), applied.getId());
+        assertEquals(10.0, applied.getPrice());
+        assertEquals("Zara", applied.getBrand().getName());
+        assertEquals("Product " + productId, applied.getProduct().getName());
+
+        price.setPrice(12.0);
+        writerDAO.save(price);
+        writerDAO.deleteById(price.getId());
+        assertEquals(10.0, findOn(peer, productId).orElseThrow().getPrice());
+        assertEquals(2, relay());
+        assertTrue(findOn(peer, productId).isEmpty());
+        assertEquals(0, relay());
+    }
+
+    @Test
+    public void insertedPrices_reachThePeerAsOneVersion() {
+        long productId = 4200L;
+        createProduct(productId);
+        long peerVersion = peer.getBean(IPriceDAO.class).priceBookVersion().orElseThrow();
+
+        List<Price> prices = List.of(createPrice(productId, 0, 10.0), createPrice(productId, 1, 8.0));
+        writer.getBean(IPriceDAO.class).insertAll(prices);
+
+        assertEquals(prices.stream().map(Price::getId).toList(), writer.getBean(IPriceChangeOutboxDAO.class).findPending(100).stream()
+            .filter(event -> event.productId() == productId)
+            .map(PriceChangeEvent::priceId)
+            .toList());
+        assertEquals(2, relay());
+        assertEquals(8.0, findOn(peer, productId).orElseThrow().getPrice());
+        assertEquals(peerVersion + 1, peer.getBean(IPriceDAO.class).priceBookVersion().orElseThrow());
+    }
+
+    @Test
+    public void theWriter_skipsTheChangesItMadeItself() {
+        long productId = 4300L;
+        createProduct(productId);
+        IPriceDAO writerDAO = writer.getBean(IPriceDAO.class);
+        writerDAO.save(createPrice(productId, 0, 10.0));
+        long writerVersion = writerDAO.priceBookVersion().orElseThrow();
+
+        assertEquals(1, relay());
+
+        assertEquals(writerVersion, writerDAO.priceBookVersion().orElseThrow());
+    }
+
+    @Test
+    public void pendingChanges_keepTheProtocolTheyWereWrittenWith() {
+        long productId = 4400L;
+        createProduct(productId);
+        writer.getBean(IPriceDAO.class).save(createPrice(productId, 0, 10.0));
+        writer.getBean(JdbcTemplate.class).update("UPDATE price_change SET protocol = ? WHERE product_id = ?",
+            PriceChangeEvent.PROTOCOL_VERSION + 1, productId);
+
+        List<PriceChangeEvent> pending = writer.getBean(IPriceChangeOutboxDAO.class).findPending(100);
+
+        assertEquals(List.of(PriceChangeEvent.PROTOCOL_VERSION + 1), pending.stream()
+            .filter(event -> event.productId() == productId)
+            .map(PriceChangeEvent::protocol)
+            .toList());
+        assertEquals(pending.size(), relay());
+    }
+}
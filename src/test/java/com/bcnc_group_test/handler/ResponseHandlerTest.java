@@ -0,0 +1,54 @@
+package com.bcnc_group_test.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+public class ResponseHandlerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void generateResponse_writesTheEnvelopeFieldsInOrder() throws Exception {
+        ResponseEntity<ResponseEnvelope<List<String>>> response = ResponseHandler.generateResponse("OK", HttpStatus.OK, List.of("a", "b"), 2);
+
+        assertEquals("{\"message\":\"OK\",\"status\":200,\"data\":[\"a\",\"b\"],\"count\":2}",
+            objectMapper.writeValueAsString(response.getBody()));
+    }
+
+    @Test
+    public void generateResponse_withoutDataOnlyWritesTheMessageAndStatus() throws Exception {
+        ResponseEntity<ResponseEnvelope<Void>> response = ResponseHandler.generateResponse("Invalid id 0", HttpStatus.BAD_REQUEST);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("{\"message\":\"Invalid id 0\",\"status\":400}", objectMapper.writeValueAsString(response.getBody()));
+    }
+
+    @Test
+    public void generateStaticResponse_encodesTheBodyWithTheGivenMapper() {
+        ResponseEntity<byte[]> response = ResponseHandler.generateStaticResponse(objectMapper, "Price not found", HttpStatus.NOT_FOUND);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("{\"message\":\"Price not found\",\"status\":404}", new String(response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void generateStaticResponse_handsOutACopyOfTheCachedBody() {
+        ResponseEntity<byte[]> response = ResponseHandler.generateStaticResponse(objectMapper, "Price not found", HttpStatus.NOT_FOUND);
+        Arrays.fill(response.getBody(), (byte) ' ');
+
+        ResponseEntity<byte[]> next = ResponseHandler.generateStaticResponse(objectMapper, "Price not found", HttpStatus.NOT_FOUND);
+        assertNotSame(response.getBody(), next.getBody());
+        assertEquals("{\"message\":\"Price not found\",\"status\":404}", new String(next.getBody(), StandardCharsets.UTF_8));
+    }
+}
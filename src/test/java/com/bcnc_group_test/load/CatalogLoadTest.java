@@ -0,0 +1,109 @@
+package com.bcnc_group_test.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Loads a {@link SyntheticCatalog} into each lookup DAO and replays the same script of get-price requests against
+ * it: products are picked with a popularity skew, so a few of them take most of the traffic, and application dates
+ * anywhere in the year of the catalog. The size of the catalog and of the run are system properties, e.g.
+ * {@code mvn -Pload-test test -Dtest=CatalogLoadTest -Dload.catalog.products=500000}. Throughput and latency
+ * percentiles are written to {@code target/load-tests/catalog-get-price.json}, which can be kept per
+ * commit to compare runs.
+ */
+@Tag("load")
+public class CatalogLoadTest {
+
+    private static final long SEED = Long.getLong("load.catalog.seed", 42L);
+    private static final int BRANDS = Integer.getInteger("load.catalog.brands", 12);
+    private static final int PRODUCTS = Integer.getInteger("load.catalog.products", 100_000);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 50_000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 50);
+    private static final List<String> PRICE_DAOS = List.of("in-memory", "columnar", "jpa");
+    private static final Path REPORT = Path.of("target", "load-tests", "catalog-get-price.json");
+    private static final int SCRIPT_SIZE = 1 << 16;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'%20'HH:mm:ss");
+
+    private final LoadDriver loadDriver = new LoadDriver();
+
+    @Test
+    public void getPrice_onASyntheticCatalogWithEachPriceDAO() throws Exception {
+        SyntheticCatalog catalog = SyntheticCatalog.generate(SEED, BRANDS, PRODUCTS);
+        String[] script = script(catalog);
+
+        List<RunResult> results = new ArrayList<>();
+        for (String priceDao : PRICE_DAOS) {
+            try (LoadTestApplication application = new LoadTestApplication("catalog-" + priceDao, Duration.ZERO,
+                "bcnc_group_test.price.dao=" + priceDao)) {
+                long loadStart = System.nanoTime();
+                catalog.insert(application);
+                Duration loadTime = Duration.ofNanos(System.nanoTime() - loadStart);
+
+                loadDriver.run(Math.min(REQUESTS, 5_000), CONCURRENCY, index -> application.uri(script[index % SCRIPT_SIZE]));
+                LoadDriver.LoadReport report = loadDriver.run(REQUESTS, CONCURRENCY,
+                    index -> application.uri(script[index % SCRIPT_SIZE]));
+                results.add(RunResult.of(priceDao, loadTime, report));
+            }
+        }
+
+        writeReport(catalog, results);
+        for (RunResult result : results) {
+            assertEquals(0, result.errors(), result.priceDao());
+        }
+    }
+
+    /**
+     * A fixed sequence of get-price requests. The product of each one is drawn from a power law over the catalog,
+     * the way a handful of best sellers get most of the visits.
+     */
+    private static String[] script(SyntheticCatalog catalog) {
+        Random random = new Random(SEED);
+        int products = catalog.products().size();
+        String[] script = new String[SCRIPT_SIZE];
+        for (int index = 0; index < SCRIPT_SIZE; index++) {
+            int product = (int) (products * Math.pow(random.nextDouble(), 3));
+            LocalDateTime applicationDate = SyntheticCatalog.YEAR_START.plusMinutes(random.nextInt(365 * 24 * 60));
+            script[index] = "/api/v1/prices/get-price?productId=" + catalog.products().get(product).getId() +
+                "&brandId=" + catalog.brandIdOf(product) + "&applicationDate=" + DATE_FORMAT.format(applicationDate);
+        }
+        return script;
+    }
+
+    private static void writeReport(SyntheticCatalog catalog, List<RunResult> results) throws Exception {
+        Files.createDirectories(REPORT.getParent());
+        CatalogReport report = new CatalogReport(catalog.seed(), catalog.brands().size(), catalog.products().size(),
+            catalog.prices().size(), REQUESTS, CONCURRENCY, results);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(REPORT.toFile(), report);
+    }
+
+    private record CatalogReport(long seed, int brands, int products, int prices, int requests, int concurrency,
+                                 List<RunResult> runs) {
+    }
+
+    private record RunResult(String priceDao, long loadMillis, double requestsPerSecond, double p50Millis,
+                             double p90Millis, double p99Millis, double p999Millis, double maxMillis, int errors) {
+
+        static RunResult of(String priceDao, Duration loadTime, LoadDriver.LoadReport report) {
+            return new RunResult(priceDao, loadTime.toMillis(), report.requestsPerSecond(), millis(report.percentile(50)),
+                millis(report.percentile(90)), millis(report.percentile(99)), millis(report.percentile(99.9)),
+                millis(report.percentile(100)), report.errors());
+        }
+
+        private static double millis(Duration duration) {
+            return duration.toNanos() / 1e6;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.bcnc_group_test.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Sends a fixed number of GET requests with a given number of them in flight at once and reports
+ * the latency distribution.
+ */
+public class LoadDriver {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+
+    /**
+     * @param requests    The total number of requests to send.
+     * @param concurrency The number of requests in flight at once.
+     * @param uriOf       Builds the URI of the request with the given sequence number.
+     * @return The latencies and errors of the run.
+     */
+    public LoadReport run(int requests, int concurrency, IntFunction<URI> uriOf) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> workers = new ArrayList<>(concurrency);
+            for (int worker = 0; worker < concurrency; worker++) {
+                workers.add(executor.submit(() -> {
+                    for (int index = next.getAndIncrement(); index < requests; index = next.getAndIncrement()) {
+                        HttpRequest request = HttpRequest.newBuilder(uriOf.apply(index))
+                            .timeout(Duration.ofSeconds(60))
+                            .GET()
+                            .build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 500) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception exception) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[index] = System.nanoTime() - sent;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new LoadReport(requests, errors.get(), System.nanoTime() - start, latencies);
+    }
+
+    /**
+     * @param requests      The number of requests sent.
+     * @param errors        The requests that failed or answered with a server error.
+     * @param elapsedNanos  The wall time of the whole run.
+     * @param latencyNanos  The latency of every request.
+     */
+    public record LoadReport(int requests, int errors, long elapsedNanos, long[] latencyNanos) {
+
+        public Duration percentile(double percentile) {
+            long[] sorted = latencyNanos.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return Duration.ofNanos(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+        }
+
+        public double requestsPerSecond() {
+            return requests * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+}
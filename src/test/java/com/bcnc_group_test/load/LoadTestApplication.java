@@ -0,0 +1,62 @@
+package com.bcnc_group_test.load;
+
+import com.bcnc_group_test.BcncGroupExamApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the whole application on a random port with its own in-memory database, optionally slowed down,
+ * and counts the requests it serves at the same time.
+ */
+public class LoadTestApplication implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final InFlightRequestsFilter inFlightRequests = new InFlightRequestsFilter();
+
+    public LoadTestApplication(String databaseName, Duration databaseDelay, String... properties) {
+        List<String> allProperties = new ArrayList<>(List.of(
+            "DATABASE_NAME=" + databaseName,
+            "DATABASE_USER=sa",
+            "DATABASE_PASSWORD=",
+            "server.port=0",
+            "spring.main.banner-mode=off",
+            "spring.jpa.show-sql=false",
+            "logging.level.root=warn",
+            "logging.level.org.hibernate.SQL=warn",
+            "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=warn"
+        ));
+        allProperties.addAll(List.of(properties));
+
+        this.context = new SpringApplicationBuilder(BcncGroupExamApplication.class)
+            .properties(allProperties.toArray(String[]::new))
+            .initializers(applicationContext -> {
+                applicationContext.getBeanFactory().registerSingleton("inFlightRequestsFilter", inFlightRequests);
+                if (!databaseDelay.isZero()) {
+                    applicationContext.getBeanFactory().addBeanPostProcessor(new SlowDataSourcePostProcessor(databaseDelay));
+                }
+            })
+            .run();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public URI uri(String pathAndQuery) {
+        return URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + pathAndQuery);
+    }
+
+    public int maxInFlightRequests() {
+        return inFlightRequests.maxInFlight();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
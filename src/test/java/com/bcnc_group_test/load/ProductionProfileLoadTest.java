@@ -0,0 +1,103 @@
+package com.bcnc_group_test.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs get-price against the jpa DAO, so every lookup reaches the database, with the default settings and with the
+ * production profile, then sweeps the pool size of the production profile against a database where every statement
+ * takes {@link #DATABASE_DELAY}. The runs are written to {@code target/load-tests/production-profile-get-price.json}
+ * and {@code target/load-tests/production-pool-sweep.json}; they are the evidence behind the values of
+ * {@code application-production.properties}, so rerun it when changing them.
+ */
+@Tag("load")
+public class ProductionProfileLoadTest {
+
+    private static final int REQUESTS = 20_000;
+    private static final int CONCURRENCY = 50;
+    private static final int SWEEP_REQUESTS = 4_000;
+    private static final int SWEEP_CONCURRENCY = 100;
+    private static final Duration DATABASE_DELAY = Duration.ofMillis(5);
+    private static final List<Integer> POOL_SIZES = List.of(5, 10, 20, 40);
+    private static final Path PROFILE_REPORT = Path.of("target", "load-tests", "production-profile-get-price.json");
+    private static final Path SWEEP_REPORT = Path.of("target", "load-tests", "production-pool-sweep.json");
+
+    private final LoadDriver loadDriver = new LoadDriver();
+
+    @Test
+    public void getPrice_withTheProductionProfileAgainstTheDefaults() throws Exception {
+        RunResult defaults = run("defaults", REQUESTS, CONCURRENCY, Duration.ZERO);
+        RunResult production = run("production", REQUESTS, CONCURRENCY, Duration.ZERO, "spring.profiles.active=production");
+
+        writeReport(PROFILE_REPORT, REQUESTS, CONCURRENCY, Duration.ZERO, List.of(defaults, production));
+        assertEquals(0, defaults.report().errors());
+        assertEquals(0, production.report().errors());
+    }
+
+    @Test
+    public void getPrice_withEachPoolSizeOfTheSweep() throws Exception {
+        List<RunResult> results = new ArrayList<>();
+        for (int poolSize : POOL_SIZES) {
+            results.add(run("pool=" + poolSize, SWEEP_REQUESTS, SWEEP_CONCURRENCY, DATABASE_DELAY,
+                "spring.profiles.active=production", "DATABASE_POOL_SIZE=" + poolSize));
+        }
+
+        writeReport(SWEEP_REPORT, SWEEP_REQUESTS, SWEEP_CONCURRENCY, DATABASE_DELAY, results);
+        for (RunResult result : results) {
+            assertEquals(0, result.report().errors(), result.name());
+        }
+    }
+
+    private RunResult run(String name, int requests, int concurrency, Duration databaseDelay, String... properties) throws Exception {
+        List<String> allProperties = new ArrayList<>(List.of(properties));
+        allProperties.add("bcnc_group_test.price.dao=jpa");
+        try (LoadTestApplication application = new LoadTestApplication("production-" + name.replace('=', '-'), databaseDelay,
+            allProperties.toArray(String[]::new))) {
+            loadDriver.run(Math.min(requests, 1_000), concurrency, index -> application.uri(getPricePath(index)));
+            LoadDriver.LoadReport report = loadDriver.run(requests, concurrency, index -> application.uri(getPricePath(index)));
+            return new RunResult(name, report);
+        }
+    }
+
+    private static String getPricePath(int index) {
+        return "/api/v1/prices/get-price?productId=35455&brandId=1&applicationDate=2020-06-14%20" + (10 + index % 12) + ":00:00";
+    }
+
+    private static void writeReport(Path path, int requests, int concurrency, Duration databaseDelay,
+                                    List<RunResult> results) throws Exception {
+        Files.createDirectories(path.getParent());
+        ProfileReport report = new ProfileReport(requests, concurrency, databaseDelay.toMillis(),
+            results.stream().map(RunSummary::of).toList());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+    }
+
+    private record RunResult(String name, LoadDriver.LoadReport report) {
+    }
+
+    private record ProfileReport(int requests, int concurrency, long databaseDelayMillis, List<RunSummary> runs) {
+    }
+
+    private record RunSummary(String name, double requestsPerSecond, double p50Millis, double p99Millis,
+                              double maxMillis, int errors) {
+
+        static RunSummary of(RunResult result) {
+            LoadDriver.LoadReport report = result.report();
+            return new RunSummary(result.name(), report.requestsPerSecond(), millis(report.percentile(50)),
+                millis(report.percentile(99)), millis(report.percentile(100)), report.errors());
+        }
+
+        private static double millis(Duration duration) {
+            return duration.toNanos() / 1e6;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.bcnc_group_test.load;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Wraps the application data source so that every executed statement takes at least the given delay,
+ * as a slow database would. The delay is spent outside the driver, holding the connection.
+ */
+public class SlowDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final Duration delay;
+
+    public SlowDataSourcePostProcessor(Duration delay) {
+        this.delay = delay;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return slow(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return slow(super.getConnection(username, password));
+            }
+        };
+    }
+
+    private Connection slow(Connection connection) {
+        return proxy(Connection.class, connection, (method, result) ->
+            result instanceof PreparedStatement statement ? proxy(PreparedStatement.class, statement, this::delayExecution) : result);
+    }
+
+    private Object delayExecution(Method method, Object result) throws InterruptedException {
+        if (method.getName().startsWith("execute")) {
+            Thread.sleep(delay.toMillis());
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, ResultHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            try {
+                if (method.getName().equals("unwrap") || method.getName().equals("isWrapperFor")) {
+                    return method.invoke(target, args);
+                }
+                return handler.handle(method, method.invoke(target, args));
+            } catch (InvocationTargetException exception) {
+                throw exception.getCause();
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface ResultHandler {
+        Object handle(Method method, Object result) throws Exception;
+    }
+}
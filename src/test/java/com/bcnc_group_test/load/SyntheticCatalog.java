@@ -0,0 +1,208 @@
+package com.bcnc_group_test.load;
+
+import com.bcnc_group_test.entities.Brand;
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.Product;
+import com.bcnc_group_test.persistence.IPriceDAO;
+import com.bcnc_group_test.persistence.impl.PriceColumnarDAOImpl;
+import com.bcnc_group_test.persistence.impl.PriceDAOImpl;
+import com.bcnc_group_test.persistence.impl.PriceInMemoryDAOImpl;
+import com.github.javafaker.Faker;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * A deterministic catalog shaped like a fashion retailer's: brands of very different sizes, each selling in its own
+ * currency, and products with a base price for the season plus overlapping promotions of higher priority. The same
+ * seed and sizes always give the same brands, products and prices, names included.
+ *
+ * <p>Every product belongs to one brand and has, within {@link #YEAR_START}'s year:
+ * <ul>
+ *     <li>a priority 0 base price for the whole year or, for a third of them, one per season;</li>
+ *     <li>up to four priority 1 promotions: flash sales of a few hours, campaigns of days and sales of weeks;</li>
+ *     <li>for one in ten, a priority 2 clearance over the last three weeks of the year, on top of everything.</li>
+ * </ul>
+ */
+public final class SyntheticCatalog {
+
+    public static final long FIRST_BRAND_ID = 100L;
+    public static final long FIRST_PRODUCT_ID = 1_000_000L;
+    public static final LocalDateTime YEAR_START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    public static final LocalDateTime YEAR_END = YEAR_START.plusYears(1).minusSeconds(1);
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final List<CurrencyCode> CURRENCIES = List.of(CurrencyCode.EUR, CurrencyCode.EUR, CurrencyCode.EUR,
+        CurrencyCode.GBP, CurrencyCode.USD);
+    private static final double[] DISCOUNTS = {0.10, 0.15, 0.20, 0.25, 0.30, 0.40, 0.50};
+
+    private final long seed;
+    private final List<Brand> brands;
+    private final List<Product> products;
+    private final long[] brandIdByProduct;
+    private final List<Price> prices;
+
+    private SyntheticCatalog(long seed, List<Brand> brands, List<Product> products, long[] brandIdByProduct, List<Price> prices) {
+        this.seed = seed;
+        this.brands = brands;
+        this.products = products;
+        this.brandIdByProduct = brandIdByProduct;
+        this.prices = prices;
+    }
+
+    /**
+     * @param seed          The seed of both the names and the prices.
+     * @param brandCount    The number of brands, with ids from {@link #FIRST_BRAND_ID}.
+     * @param productCount  The number of products, with ids from {@link #FIRST_PRODUCT_ID}.
+     */
+    public static SyntheticCatalog generate(long seed, int brandCount, int productCount) {
+        Random random = new Random(seed);
+        Faker faker = new Faker(Locale.ENGLISH, new Random(seed));
+
+        List<Brand> brands = new ArrayList<>(brandCount);
+        List<CurrencyCode> currencies = new ArrayList<>(brandCount);
+        for (int index = 0; index < brandCount; index++) {
+            brands.add(Brand.builder().id(FIRST_BRAND_ID + index).name(faker.company().name()).build());
+            currencies.add(CURRENCIES.get(random.nextInt(CURRENCIES.size())));
+        }
+
+        List<Product> products = new ArrayList<>(productCount);
+        long[] brandIdByProduct = new long[productCount];
+        List<Price> prices = new ArrayList<>(productCount * 4);
+        for (int index = 0; index < productCount; index++) {
+            Product product = Product.builder().id(FIRST_PRODUCT_ID + index).name(faker.commerce().productName()).build();
+            products.add(product);
+            // Skewed towards the first brands, so a few large brands hold most of the catalog.
+            int brandIndex = (int) (brandCount * Math.pow(random.nextDouble(), 2));
+            brandIdByProduct[index] = brands.get(brandIndex).getId();
+            addPrices(prices, random, brands.get(brandIndex), currencies.get(brandIndex), product);
+        }
+        return new SyntheticCatalog(seed, List.copyOf(brands), List.copyOf(products), brandIdByProduct, List.copyOf(prices));
+    }
+
+    private static void addPrices(List<Price> prices, Random random, Brand brand, CurrencyCode currency, Product product) {
+        double basePrice = basePrice(random);
+        long priceList = 1;
+        if (random.nextInt(3) == 0) {
+            LocalDateTime autumn = YEAR_START.withMonth(7);
+            prices.add(price(brand, product, currency, YEAR_START, autumn.minusSeconds(1), priceList++, 0, basePrice));
+            prices.add(price(brand, product, currency, autumn, YEAR_END, priceList++, 0, roundPrice(basePrice * 1.1)));
+        } else {
+            prices.add(price(brand, product, currency, YEAR_START, YEAR_END, priceList++, 0, basePrice));
+        }
+
+        int promotions = random.nextInt(5);
+        for (int promotion = 0; promotion < promotions; promotion++) {
+            LocalDateTime startDate = YEAR_START.plusHours(random.nextInt(365 * 24));
+            LocalDateTime endDate = min(startDate.plus(promotionLength(random)).minusSeconds(1), YEAR_END);
+            double discount = DISCOUNTS[random.nextInt(DISCOUNTS.length)];
+            prices.add(price(brand, product, currency, startDate, endDate, priceList++, 1, roundPrice(basePrice * (1 - discount))));
+        }
+
+        if (random.nextInt(10) == 0) {
+            prices.add(price(brand, product, currency, YEAR_END.minusWeeks(3).plusSeconds(1), YEAR_END, priceList, 2,
+                roundPrice(basePrice * 0.4)));
+        }
+    }
+
+    /**
+     * Log-normal around 30, as most garments are cheap and a few are expensive.
+     */
+    private static double basePrice(Random random) {
+        double price = Math.exp(Math.log(30) + 0.6 * random.nextGaussian());
+        return roundPrice(Math.max(5.95, Math.min(price, 299.95)));
+    }
+
+    private static Duration promotionLength(Random random) {
+        int kind = random.nextInt(100);
+        if (kind < 50) {
+            return Duration.ofHours(2 + random.nextInt(11));
+        }
+        if (kind < 85) {
+            return Duration.ofDays(2 + random.nextInt(13));
+        }
+        return Duration.ofDays(21 + random.nextInt(22));
+    }
+
+    /**
+     * Ends in .95, like shelf prices do.
+     */
+    private static double roundPrice(double price) {
+        return Math.max(1, Math.floor(price)) - 0.05;
+    }
+
+    private static LocalDateTime min(LocalDateTime first, LocalDateTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    private static Price price(Brand brand, Product product, CurrencyCode currency, LocalDateTime startDate,
+                               LocalDateTime endDate, long priceList, int priority, double price) {
+        return Price.builder()
+            .brand(brand)
+            .product(product)
+            .startDate(startDate)
+            .endDate(endDate)
+            .priceList(priceList)
+            .priority(priority)
+            .price(price)
+            .currency(currency)
+            .build();
+    }
+
+    /**
+     * Loads the catalog through the same path as {@code POST /api/v1/prices/import}: brands and products in JDBC
+     * batches, then the prices with {@link PriceDAOImpl#insertAll}, which batches them too and records their history.
+     * The in-memory structures of the selected DAO are rebuilt once at the end instead of being refreshed per batch.
+     */
+    public void insert(LoadTestApplication application) {
+        JdbcTemplate jdbcTemplate = application.getBean(JdbcTemplate.class);
+        List<Object[]> brandRows = brands.stream().map(brand -> new Object[]{brand.getId(), brand.getName()}).toList();
+        jdbcTemplate.batchUpdate("INSERT INTO brand (id, name) VALUES (?, ?)", brandRows);
+        List<Object[]> productRows = products.stream().map(product -> new Object[]{product.getId(), product.getName()}).toList();
+        for (int from = 0; from < productRows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate("INSERT INTO product (id, name) VALUES (?, ?)",
+                productRows.subList(from, Math.min(from + BATCH_SIZE, productRows.size())));
+        }
+
+        PriceDAOImpl priceDAO = application.getBean(PriceDAOImpl.class);
+        for (int from = 0; from < prices.size(); from += BATCH_SIZE) {
+            priceDAO.insertAll(prices.subList(from, Math.min(from + BATCH_SIZE, prices.size())));
+        }
+
+        IPriceDAO lookupDAO = application.getBean(IPriceDAO.class);
+        if (lookupDAO instanceof PriceInMemoryDAOImpl inMemoryDAO) {
+            inMemoryDAO.loadIndex();
+        } else if (lookupDAO instanceof PriceColumnarDAOImpl columnarDAO) {
+            columnarDAO.loadStore();
+        }
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    public List<Brand> brands() {
+        return brands;
+    }
+
+    public List<Product> products() {
+        return products;
+    }
+
+    /**
+     * The id of the brand selling the product at the given position of {@link #products()}.
+     */
+    public long brandIdOf(int productIndex) {
+        return brandIdByProduct[productIndex];
+    }
+
+    public List<Price> prices() {
+        return prices;
+    }
+}
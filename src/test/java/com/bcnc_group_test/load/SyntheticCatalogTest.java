@@ -0,0 +1,57 @@
+package com.bcnc_group_test.load;
+
+import com.bcnc_group_test.entities.Price;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SyntheticCatalogTest {
+
+    private static final long SEED = 7L;
+
+    private static List<String> describe(SyntheticCatalog catalog) {
+        return catalog.prices().stream()
+            .map(price -> String.join("|", price.getBrand().getName(), price.getProduct().getName(),
+                String.valueOf(price.getStartDate()), String.valueOf(price.getEndDate()), String.valueOf(price.getPriority()),
+                String.valueOf(price.getPrice()), price.getCurrency().name()))
+            .toList();
+    }
+
+    @Test
+    public void generate_returnsTheSameCatalogForTheSameSeed() {
+        assertEquals(describe(SyntheticCatalog.generate(SEED, 5, 500)), describe(SyntheticCatalog.generate(SEED, 5, 500)));
+        assertNotEquals(describe(SyntheticCatalog.generate(SEED, 5, 500)), describe(SyntheticCatalog.generate(SEED + 1, 5, 500)));
+    }
+
+    @Test
+    public void generate_givesEveryProductABasePriceForTheWholeYearUnderItsPromotions() {
+        SyntheticCatalog catalog = SyntheticCatalog.generate(SEED, 5, 2_000);
+        Map<Long, List<Price>> pricesByProduct = catalog.prices().stream()
+            .collect(Collectors.groupingBy(price -> price.getProduct().getId()));
+
+        assertEquals(catalog.products().size(), pricesByProduct.size());
+        for (int index = 0; index < catalog.products().size(); index++) {
+            long productId = catalog.products().get(index).getId();
+            List<Price> prices = pricesByProduct.get(productId);
+            for (Price price : prices) {
+                assertEquals(catalog.brandIdOf(index), price.getBrand().getId());
+                assertTrue(!price.getStartDate().isAfter(price.getEndDate()), "price list " + price.getPriceList() + " of " + productId);
+            }
+            for (LocalDateTime date = SyntheticCatalog.YEAR_START; date.isBefore(SyntheticCatalog.YEAR_END); date = date.plusDays(7)) {
+                LocalDateTime applicationDate = date;
+                assertTrue(prices.stream().anyMatch(price -> price.getPriority() == 0
+                    && !applicationDate.isBefore(price.getStartDate()) && !applicationDate.isAfter(price.getEndDate())),
+                    "no base price for " + productId + " at " + applicationDate);
+            }
+        }
+        assertTrue(catalog.prices().stream().anyMatch(price -> price.getPriority() == 1));
+        assertTrue(catalog.prices().stream().anyMatch(price -> price.getPriority() == 2));
+    }
+}
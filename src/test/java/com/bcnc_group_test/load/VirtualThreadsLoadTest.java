@@ -0,0 +1,89 @@
+package com.bcnc_group_test.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares get-price on platform and on virtual threads while every database statement takes
+ * {@link #DATABASE_DELAY}. Both runs use the jpa DAO, so every lookup reaches the database, and the same pool size.
+ * Throughput, latency percentiles and the most requests in flight of each run are written to
+ * {@code target/load-tests/virtual-threads-get-price.json}.
+ */
+@Tag("load")
+@EnabledForJreRange(min = JRE.JAVA_21)
+public class VirtualThreadsLoadTest {
+
+    private static final int REQUESTS = 4_000;
+    private static final int CONCURRENCY = 400;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final String POOL_SIZE = "50";
+    private static final Duration DATABASE_DELAY = Duration.ofMillis(20);
+    private static final Path REPORT = Path.of("target", "load-tests", "virtual-threads-get-price.json");
+
+    private final LoadDriver loadDriver = new LoadDriver();
+
+    @Test
+    public void getPrice_onVirtualThreadsIsNotCappedByTheTomcatPool() throws Exception {
+        RunResult platform = run("platform", false);
+        RunResult virtual = run("virtual", true);
+
+        writeReport(List.of(platform, virtual));
+        assertEquals(0, platform.report().errors());
+        assertEquals(0, virtual.report().errors());
+        assertTrue(platform.maxInFlight() <= TOMCAT_MAX_THREADS);
+        assertTrue(virtual.maxInFlight() > TOMCAT_MAX_THREADS);
+    }
+
+    private RunResult run(String name, boolean virtualThreads) throws Exception {
+        try (LoadTestApplication application = new LoadTestApplication("load-" + name, DATABASE_DELAY,
+            "bcnc_group_test.price.dao=jpa",
+            "spring.threads.virtual.enabled=" + virtualThreads,
+            "server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+            "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+            "spring.datasource.hikari.connection-timeout=30000")) {
+            LoadDriver.LoadReport report = loadDriver.run(REQUESTS, CONCURRENCY, index -> application.uri(
+                "/api/v1/prices/get-price?productId=35455&brandId=1&applicationDate=2020-06-14%20" + (10 + index % 12) + ":00:00"));
+            return new RunResult(name, report, application.maxInFlightRequests());
+        }
+    }
+
+    private static void writeReport(List<RunResult> results) throws Exception {
+        Files.createDirectories(REPORT.getParent());
+        VirtualThreadsReport report = new VirtualThreadsReport(REQUESTS, CONCURRENCY, TOMCAT_MAX_THREADS,
+            Integer.parseInt(POOL_SIZE), DATABASE_DELAY.toMillis(), results.stream().map(RunSummary::of).toList());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(REPORT.toFile(), report);
+    }
+
+    private record RunResult(String name, LoadDriver.LoadReport report, int maxInFlight) {
+    }
+
+    private record VirtualThreadsReport(int requests, int concurrency, int tomcatMaxThreads, int poolSize,
+                                        long databaseDelayMillis, List<RunSummary> runs) {
+    }
+
+    private record RunSummary(String threads, double requestsPerSecond, double p50Millis, double p99Millis,
+                              int maxInFlight, int errors) {
+
+        static RunSummary of(RunResult result) {
+            return new RunSummary(result.name(), result.report().requestsPerSecond(),
+                millis(result.report().percentile(50)), millis(result.report().percentile(99)), result.maxInFlight(),
+                result.report().errors());
+        }
+
+        private static double millis(Duration duration) {
+            return duration.toNanos() / 1e6;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.bcnc_group_test.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+
+import java.util.Map;
+
+import static com.bcnc_group_test.metrics.PriceLookupMetricsTest.GET_PRICE;
+import static com.bcnc_group_test.metrics.PriceLookupMetricsTest.increase;
+import static com.bcnc_group_test.metrics.PriceLookupMetricsTest.scrape;
+import static com.bcnc_group_test.metrics.PriceLookupMetricsTest.stageIncreases;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Scrapes {@code /actuator/prometheus} after price lookups answered by the timeline cache in front of the jpa DAO: the
+ * database is only queried, and timed as the db stage, when a (brand, product) pair is not cached yet.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {"bcnc_group_test.price.dao=jpa", "bcnc_group_test.price.cache.enabled=true"})
+@AutoConfigureObservability(tracing = false)
+public class PriceLookupCachedMetricsTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    public void scrape_timesTheDatabaseOnlyOnCacheMisses() {
+        String before = scrape(restTemplate);
+
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity(GET_PRICE, String.class, 35455, 1, "2020-06-14 10:00:00").getStatusCode());
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity(GET_PRICE, String.class, 35455, 1, "2020-06-14 16:00:00").getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.getForEntity(GET_PRICE, String.class, 35455, 99, "2020-06-14 10:00:00").getStatusCode());
+
+        String after = scrape(restTemplate);
+        assertEquals(Map.of("controller", 3.0, "service", 3.0, "index", 0.0, "db", 2.0, "mapping", 2.0, "serialization", 2.0),
+            stageIncreases(before, after));
+        assertEquals(2, increase(before, after, "price_lookup_results_total", "result=\"found\""));
+        assertEquals(1, increase(before, after, "price_lookup_results_total", "result=\"not_found\""));
+        assertTrue(increase(before, after, "hikaricp_connections_acquire_seconds_count") >= 2);
+    }
+}
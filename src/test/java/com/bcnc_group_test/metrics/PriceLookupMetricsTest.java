@@ -0,0 +1,90 @@
+package com.bcnc_group_test.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Scrapes {@code /actuator/prometheus} over HTTP, the way Prometheus would, after a few price lookups answered by the
+ * in-memory index.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {"bcnc_group_test.price.dao=in-memory", "bcnc_group_test.price.cache.enabled=false"})
+@AutoConfigureObservability(tracing = false)
+public class PriceLookupMetricsTest {
+
+    static final String GET_PRICE = "/api/v1/prices/get-price?productId={productId}&brandId={brandId}&applicationDate={applicationDate}";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    public void scrape_exposesTheLookupStagesAndResults() {
+        String before = scrape(restTemplate);
+
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity(GET_PRICE, String.class, 35455, 1, "2020-06-14 10:00:00").getStatusCode());
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity(GET_PRICE, String.class, 35455, 1, "2020-06-14 16:00:00").getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.getForEntity(GET_PRICE, String.class, 35455, 99, "2020-06-14 10:00:00").getStatusCode());
+
+        String after = scrape(restTemplate);
+        assertEquals(2, increase(before, after, "price_lookup_results_total", "result=\"found\""));
+        assertEquals(1, increase(before, after, "price_lookup_results_total", "result=\"not_found\""));
+        assertEquals(Map.of("controller", 3.0, "service", 3.0, "index", 3.0, "db", 0.0, "mapping", 2.0, "serialization", 2.0),
+            stageIncreases(before, after));
+        assertTrue(sample(after, "price_lookup_seconds_bucket", "stage=\"index\"", "le=\"+Inf\"") >= 3);
+        // The in-memory index answers without a connection: the pool wait time is exported, but none was acquired.
+        sample(after, "hikaricp_connections_acquire_seconds_count");
+        assertEquals(0, increase(before, after, "hikaricp_connections_acquire_seconds_count"));
+        assertEquals(3, increase(before, after, "http_server_requests_seconds_count", "uri=\"/api/v1/prices/get-price\""));
+    }
+
+    /**
+     * The increase of the count of every stage between two scrapes.
+     */
+    static Map<String, Double> stageIncreases(String before, String after) {
+        Map<String, Double> increases = new HashMap<>();
+        for (String stage : new String[]{"controller", "service", "index", "db", "mapping", "serialization"}) {
+            increases.put(stage, increase(before, after, "price_lookup_seconds_count", "stage=\"" + stage + "\""));
+        }
+        return increases;
+    }
+
+    /**
+     * The increase of a sample between two scrapes, summed over the series with the given labels, a sample missing
+     * from a scrape counting as 0.
+     */
+    static double increase(String before, String after, String name, String... labels) {
+        return find(after, name, labels).orElse(0) - find(before, name, labels).orElse(0);
+    }
+
+    static String scrape(TestRestTemplate restTemplate) {
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/prometheus", String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode(), response.getBody());
+        return response.getBody();
+    }
+
+    static double sample(String scrape, String name, String... labels) {
+        return find(scrape, name, labels)
+            .orElseThrow(() -> new AssertionError(name + " " + Arrays.toString(labels) + " was not scraped"));
+    }
+
+    private static OptionalDouble find(String scrape, String name, String... labels) {
+        return scrape.lines()
+            .filter(line -> line.startsWith(name + "{") || line.startsWith(name + " "))
+            .filter(line -> Arrays.stream(labels).allMatch(line::contains))
+            .mapToDouble(line -> Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1)))
+            .reduce(Double::sum);
+    }
+}
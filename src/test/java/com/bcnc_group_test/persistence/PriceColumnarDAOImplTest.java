@@ -0,0 +1,94 @@
+package com.bcnc_group_test.persistence;
+
+import com.bcnc_group_test.entities.Brand;
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.Product;
+import com.bcnc_group_test.persistence.impl.PriceColumnarDAOImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"bcnc_group_test.price.dao=columnar", "bcnc_group_test.price.columnar.max-overrides=2"})
+@Transactional
+public class PriceColumnarDAOImplTest {
+
+    private static final long BRAND_ID = 1L;
+    private static final long PRODUCT_ID = 35455L;
+    private static final long OTHER_PRODUCT_ID = 3200L;
+
+    @Autowired
+    private PriceColumnarDAOImpl priceDAO;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void getPrice_answersFromTheStoreWithTheBrandAndProduct() {
+        Optional<Price> price = priceDAO.getPrice(PRODUCT_ID, BRAND_ID, LocalDateTime.of(2020, 6, 14, 16, 0, 0));
+
+        assertEquals(4, priceDAO.store().size());
+        assertEquals(2L, price.orElseThrow().getId());
+        assertEquals(25.45, price.get().getPrice());
+        assertEquals("Zara", price.get().getBrand().getName());
+        assertEquals(PRODUCT_ID, price.get().getProduct().getId());
+    }
+
+    @Test
+    public void deleteById_isNotVisibleBeforeTheTransactionCommits() {
+        priceDAO.deleteById(2L);
+
+        Optional<Price> price = priceDAO.getPrice(PRODUCT_ID, BRAND_ID, LocalDateTime.of(2020, 6, 14, 16, 0, 0));
+        assertEquals(2L, price.orElseThrow().getId());
+        assertEquals(0, priceDAO.overrides());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void save_foldsTheTimelinesIntoTheStoreOnceThereAreMaxOverrides() throws Exception {
+        jdbcTemplate.update("INSERT INTO product (id, name) VALUES (?, ?)", OTHER_PRODUCT_ID, "Product " + OTHER_PRODUCT_ID);
+        try {
+            priceDAO.save(createPrice(PRODUCT_ID));
+            assertEquals(1, priceDAO.overrides());
+            priceDAO.save(createPrice(OTHER_PRODUCT_ID));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while ((priceDAO.overrides() > 0 || priceDAO.store().size() < 6) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, priceDAO.overrides());
+            assertEquals(6, priceDAO.store().size());
+            Optional<Price> price = priceDAO.getPrice(OTHER_PRODUCT_ID, BRAND_ID, LocalDateTime.of(2021, 6, 1, 0, 0, 0));
+            assertEquals(99.95, price.orElseThrow().getPrice());
+            assertEquals("Product " + OTHER_PRODUCT_ID, price.get().getProduct().getName());
+        } finally {
+            for (String table : List.of("price_change", "price_history")) {
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE start_date >= ?", LocalDateTime.of(2021, 1, 1, 0, 0, 0));
+            }
+            jdbcTemplate.update("DELETE FROM price WHERE start_date >= ?", LocalDateTime.of(2021, 1, 1, 0, 0, 0));
+            jdbcTemplate.update("DELETE FROM product WHERE id = ?", OTHER_PRODUCT_ID);
+            priceDAO.loadStore();
+        }
+    }
+
+    private static Price createPrice(long productId) {
+        return new Price(null, new Brand(BRAND_ID, "Zara"), LocalDateTime.of(2021, 1, 1, 0, 0, 0),
+            LocalDateTime.of(2021, 12, 31, 23, 59, 59), 9L, new Product(productId, "Product " + productId), 0, 99.95, CurrencyCode.EUR);
+    }
+
+    @AfterTransaction
+    public void reloadStore() {
+        priceDAO.loadStore();
+    }
+}
@@ -0,0 +1,156 @@
+package com.bcnc_group_test.persistence;
+
+import com.bcnc_group_test.entities.Brand;
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.Product;
+import com.bcnc_group_test.persistence.impl.PriceDAOImpl;
+import com.bcnc_group_test.repository.projection.PriceRow;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the statements issued by every read path, so that loading N prices stays a constant number of queries
+ * no matter how many different brands and products they reference. Statistics are turned on for this context only,
+ * so the other tests do not pay for them.
+ */
+@SpringBootTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class PriceDAOImplTest {
+
+    private static final int EXTRA_PRICES = 20;
+    private static final long FIRST_EXTRA_ID = 1000L;
+
+    @Autowired
+    private PriceDAOImpl priceDAO;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        LongStream.range(FIRST_EXTRA_ID, FIRST_EXTRA_ID + EXTRA_PRICES).forEach(id -> {
+            jdbcTemplate.update("INSERT INTO brand (id, name) VALUES (?, ?)", id, "Brand " + id);
+            jdbcTemplate.update("INSERT INTO product (id, name) VALUES (?, ?)", id, "Product " + id);
+            jdbcTemplate.update(
+                "INSERT INTO price (id, brand_id, product_id, start_date, end_date, price_list, priority, price, currency) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                id, id, id, LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1L, 0, 10.0, "EUR");
+        });
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void findAll_issuesASingleQuery() {
+        List<Price> prices = priceDAO.findAll();
+        prices.forEach(PriceDAOImplTest::touchAssociations);
+
+        assertEquals(4 + EXTRA_PRICES, prices.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void findAllPage_issuesASingleQuery() {
+        List<Price> prices = priceDAO.findAll(0L, 100);
+        prices.forEach(PriceDAOImplTest::touchAssociations);
+
+        assertEquals(4 + EXTRA_PRICES, prices.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void findAllRows_issuesASingleQueryWithoutLoadingEntities() {
+        List<PriceRow> rows = priceDAO.findAllRows(FIRST_EXTRA_ID - 1, 100);
+
+        assertEquals(EXTRA_PRICES, rows.size());
+        assertEquals(FIRST_EXTRA_ID, rows.get(0).brandId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void forEachRow_streamsEveryRowInIdOrderWithASingleQuery() {
+        List<PriceRow> rows = new ArrayList<>();
+        priceDAO.forEachRow(rows::add);
+
+        assertEquals(4 + EXTRA_PRICES, rows.size());
+        assertEquals(List.of(1L, 2L, 3L, 4L, FIRST_EXTRA_ID), rows.stream().limit(5).map(PriceRow::id).toList());
+        assertEquals(FIRST_EXTRA_ID, rows.get(4).brandId());
+        assertEquals(LocalDateTime.of(2020, 12, 31, 23, 59, 59), rows.get(4).endDate());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void getPrice_issuesASingleQuery() {
+        Optional<Price> price = priceDAO.getPrice(FIRST_EXTRA_ID, FIRST_EXTRA_ID, LocalDateTime.of(2020, 6, 14, 10, 0));
+        price.ifPresent(PriceDAOImplTest::touchAssociations);
+
+        assertTrue(price.isPresent());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * The columns and conditions of the lookup query, on the price table only: brand and product are primary key
+     * lookups either way.
+     */
+    @Test
+    public void getPrice_readsThePricesFromTheLookupIndex() {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT id, brand_id, product_id, start_date, end_date, " +
+            "price_list, priority, price, currency FROM price WHERE product_id = 1000 AND brand_id = 1000 " +
+            "AND start_date <= TIMESTAMP '2020-06-14 10:00:00' AND end_date >= TIMESTAMP '2020-06-14 10:00:00' " +
+            "ORDER BY priority DESC, id", String.class);
+
+        assertTrue(plan.contains("/* PUBLIC.IDX_PRICE_LOOKUP: "), plan);
+    }
+
+    @Test
+    public void getPrices_issuesASingleQuery() {
+        List<Long> productIds = LongStream.range(FIRST_EXTRA_ID, FIRST_EXTRA_ID + 5).boxed().toList();
+        Map<Long, Optional<Price>> prices = priceDAO.getPrices(FIRST_EXTRA_ID, productIds, LocalDateTime.of(2020, 6, 14, 10, 0));
+        prices.values().forEach(price -> price.ifPresent(PriceDAOImplTest::touchAssociations));
+
+        assertTrue(prices.get(FIRST_EXTRA_ID).isPresent());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void insertAllAndFind_returnsThePricesOfTheBatchByTheirGeneratedIds() {
+        List<Price> prices = LongStream.range(FIRST_EXTRA_ID, FIRST_EXTRA_ID + 3).mapToObj(id -> new Price(null,
+            new Brand(id, null), LocalDateTime.of(2021, 1, 1, 0, 0), LocalDateTime.of(2021, 12, 31, 23, 59, 59), 2L,
+            new Product(id, null), 1, 20.0, CurrencyCode.EUR)).toList();
+
+        List<Price> inserted = priceDAO.insertAllAndFind(prices);
+
+        assertEquals(prices.stream().map(Price::getId).toList(), inserted.stream().map(Price::getId).toList());
+        assertTrue(prices.stream().allMatch(price -> price.getId() != null));
+        assertEquals("Brand " + FIRST_EXTRA_ID, inserted.get(0).getBrand().getName());
+    }
+
+    private static void touchAssociations(Price price) {
+        price.getBrand().getName();
+        price.getProduct().getName();
+    }
+}
@@ -0,0 +1,117 @@
+package com.bcnc_group_test.persistence;
+
+import com.bcnc_group_test.entities.Brand;
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.Product;
+import com.bcnc_group_test.persistence.impl.PriceDAOImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Changes the prices of a product at known points in time and checks what the as-of lookup returns between them.
+ */
+@SpringBootTest
+@Transactional
+public class PriceHistoryDAOImplTest {
+
+    private static final long BRAND_ID = 1L;
+    private static final long PRODUCT_ID = 3100L;
+    private static final LocalDateTime APPLICATION_DATE = LocalDateTime.of(2020, 6, 14, 10, 0, 0);
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 3, 1, 9, 0, 0);
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2024, 3, 2, 9, 0, 0);
+    private static final LocalDateTime DELETED = LocalDateTime.of(2024, 3, 3, 9, 0, 0);
+
+    @Autowired
+    private PriceDAOImpl priceDAO;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockBean
+    private Clock clock;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("INSERT INTO product (id, name) VALUES (?, ?)", PRODUCT_ID, "Product " + PRODUCT_ID);
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+    }
+
+    private void at(LocalDateTime time) {
+        when(clock.instant()).thenReturn(time.toInstant(ZoneOffset.UTC));
+    }
+
+    private Optional<Price> findAsOf(LocalDateTime asOf) {
+        return priceDAO.getPriceAsOf(PRODUCT_ID, BRAND_ID, APPLICATION_DATE, asOf);
+    }
+
+    private static Price createPrice(int priority, double value) {
+        return Price.builder()
+            .brand(Brand.builder().id(BRAND_ID).build())
+            .product(Product.builder().id(PRODUCT_ID).build())
+            .startDate(LocalDateTime.of(2020, 1, 1, 0, 0, 0))
+            .endDate(LocalDateTime.of(2020, 12, 31, 23, 59, 59))
+            .priceList(1L)
+            .priority(priority)
+            .price(value)
+            .currency(CurrencyCode.EUR)
+            .build();
+    }
+
+    @Test
+    public void getPriceAsOf_returnsEachVersionWhileItWasStored() {
+        at(CREATED);
+        Price price = createPrice(0, 10.0);
+        priceDAO.save(price);
+        at(UPDATED);
+        price.setPrice(20.0);
+        priceDAO.save(price);
+        at(DELETED);
+        priceDAO.deleteById(price.getId());
+
+        assertTrue(findAsOf(CREATED.minusSeconds(1)).isEmpty());
+        assertEquals(10.0, findAsOf(CREATED).orElseThrow().getPrice());
+        assertEquals(10.0, findAsOf(UPDATED.minusSeconds(1)).orElseThrow().getPrice());
+        assertEquals(20.0, findAsOf(UPDATED).orElseThrow().getPrice());
+        assertEquals(price.getId(), findAsOf(UPDATED).orElseThrow().getId());
+        assertTrue(findAsOf(DELETED).isEmpty());
+        assertTrue(priceDAO.getPrice(PRODUCT_ID, BRAND_ID, APPLICATION_DATE).isEmpty());
+    }
+
+    @Test
+    public void getPriceAsOf_appliesTheCurrentPrecedenceToInsertedPrices() {
+        at(CREATED);
+        List<Price> prices = List.of(createPrice(0, 10.0), createPrice(1, 15.0));
+        priceDAO.insertAll(prices);
+
+        Price found = findAsOf(UPDATED).orElseThrow();
+        assertEquals(prices.stream().map(Price::getId).toList(), jdbcTemplate.queryForList(
+            "SELECT price_id FROM price_history WHERE product_id = ? ORDER BY price_id", Long.class, PRODUCT_ID));
+
+        assertEquals(15.0, found.getPrice());
+        assertEquals("Product " + PRODUCT_ID, found.getProduct().getName());
+        assertEquals(priceDAO.getPrice(PRODUCT_ID, BRAND_ID, APPLICATION_DATE).orElseThrow().getId(), found.getId());
+        assertTrue(findAsOf(CREATED.minusSeconds(1)).isEmpty());
+    }
+
+    @Test
+    public void getPriceAsOf_findsTheSeededPricesAsOfNow() {
+        Optional<Price> price = priceDAO.getPriceAsOf(35455L, BRAND_ID, LocalDateTime.of(2020, 6, 14, 16, 0, 0),
+            LocalDateTime.now(ZoneOffset.UTC).plusDays(1));
+
+        assertEquals(25.45, price.orElseThrow().getPrice());
+    }
+}
@@ -0,0 +1,103 @@
+package com.bcnc_group_test.persistence;
+
+import com.bcnc_group_test.entities.Brand;
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.Product;
+import com.bcnc_group_test.persistence.impl.PriceInMemoryDAOImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "bcnc_group_test.price.dao=in-memory")
+public class PriceInMemoryDAOImplTest {
+
+    private static final long BRAND_ID = 1L;
+    private static final long PRODUCT_ID = 3100L;
+    private static final LocalDateTime APPLICATION_DATE = LocalDateTime.of(2020, 6, 14, 16, 0, 0);
+
+    @Autowired
+    private PriceInMemoryDAOImpl priceDAO;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate.update("INSERT INTO product (id, name) VALUES (?, ?)", PRODUCT_ID, "Product " + PRODUCT_ID);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        for (String table : List.of("price_change", "price_history", "price")) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE product_id = ?", PRODUCT_ID);
+        }
+        jdbcTemplate.update("DELETE FROM product WHERE id = ?", PRODUCT_ID);
+        priceDAO.loadIndex();
+    }
+
+    @Test
+    public void insertAll_isIndexedOnceTheTransactionCommits() {
+        long version = priceDAO.priceBookVersion().orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            priceDAO.insertAll(List.of(price(1L, 35.50), price(2L, 25.45)));
+
+            assertTrue(priceDAO.getPrice(PRODUCT_ID, BRAND_ID, APPLICATION_DATE).isEmpty());
+        });
+
+        Optional<Price> price = priceDAO.getPrice(PRODUCT_ID, BRAND_ID, APPLICATION_DATE);
+        assertEquals(version + 1, priceDAO.priceBookVersion().orElseThrow());
+        assertEquals(25.45, price.orElseThrow().getPrice());
+        assertEquals("Zara", price.get().getBrand().getName());
+        assertEquals("Product " + PRODUCT_ID, price.get().getProduct().getName());
+    }
+
+    @Test
+    public void insertAll_rolledBackNeverReachesTheIndex() {
+        long version = priceDAO.priceBookVersion().orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            priceDAO.insertAll(List.of(price(1L, 35.50)));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(version, priceDAO.priceBookVersion().orElseThrow());
+        assertTrue(priceDAO.getPrice(PRODUCT_ID, BRAND_ID, APPLICATION_DATE).isEmpty());
+    }
+
+    @Test
+    public void deleteById_rolledBackKeepsThePriceIndexed() {
+        priceDAO.insertAll(List.of(price(1L, 35.50)));
+        Long id = priceDAO.getPrice(PRODUCT_ID, BRAND_ID, APPLICATION_DATE).orElseThrow().getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            priceDAO.deleteById(id);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(id, priceDAO.getPrice(PRODUCT_ID, BRAND_ID, APPLICATION_DATE).orElseThrow().getId());
+    }
+
+    private static Price price(long priceList, double amount) {
+        return new Price(null, new Brand(BRAND_ID, null), LocalDateTime.of(2020, 6, 14, 0, 0, 0),
+            LocalDateTime.of(2020, 12, 31, 23, 59, 59), priceList, new Product(PRODUCT_ID, null), (int) priceList - 1,
+            amount, CurrencyCode.EUR);
+    }
+}
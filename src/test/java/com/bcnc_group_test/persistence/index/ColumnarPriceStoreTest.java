@@ -0,0 +1,110 @@
+package com.bcnc_group_test.persistence.index;
+
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.repository.projection.PriceRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ColumnarPriceStoreTest {
+
+    private static final long BRAND_ID = 1L;
+    private static final long PRODUCT_ID = 35455L;
+
+    private ColumnarPriceStore store;
+
+    @BeforeEach
+    public void setUp() {
+        store = ColumnarPriceStore.of(List.of(
+            row(4L, PRODUCT_ID, LocalDateTime.of(2020, 6, 15, 16, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 4L, 1, 38.95),
+            row(1L, PRODUCT_ID, LocalDateTime.of(2020, 6, 14, 0, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1L, 0, 35.50),
+            row(3L, PRODUCT_ID, LocalDateTime.of(2020, 6, 15, 0, 0, 0), LocalDateTime.of(2020, 6, 15, 11, 0, 0), 3L, 1, 30.50),
+            row(2L, PRODUCT_ID, LocalDateTime.of(2020, 6, 14, 15, 0, 0), LocalDateTime.of(2020, 6, 14, 18, 30, 0), 2L, 1, 25.45)
+        ));
+    }
+
+    private static PriceRow row(long id, long productId, LocalDateTime startDate, LocalDateTime endDate, long priceList, int priority, double price) {
+        return new PriceRow(id, BRAND_ID, productId, startDate, endDate, priceList, priority, price, CurrencyCode.EUR);
+    }
+
+    private Optional<PriceView> find(LocalDateTime applicationDate) {
+        return store.find(BRAND_ID, PRODUCT_ID, applicationDate);
+    }
+
+    @Test
+    public void find_appliesTheSameRulesAsTheIndex() {
+        assertEquals(1L, find(LocalDateTime.of(2020, 6, 14, 10, 0, 0)).orElseThrow().id());
+        assertEquals(2L, find(LocalDateTime.of(2020, 6, 14, 16, 0, 0)).orElseThrow().id());
+        assertEquals(1L, find(LocalDateTime.of(2020, 6, 14, 21, 0, 0)).orElseThrow().id());
+        assertEquals(3L, find(LocalDateTime.of(2020, 6, 15, 10, 0, 0)).orElseThrow().id());
+        assertEquals(4L, find(LocalDateTime.of(2020, 6, 16, 21, 0, 0)).orElseThrow().id());
+        assertEquals(2L, find(LocalDateTime.of(2020, 6, 14, 18, 30, 0)).orElseThrow().id());
+        assertTrue(find(LocalDateTime.of(2020, 6, 13, 23, 59, 59)).isEmpty());
+        assertTrue(find(LocalDateTime.of(2021, 1, 1, 0, 0, 0)).isEmpty());
+        assertTrue(store.find(2L, PRODUCT_ID, LocalDateTime.of(2020, 6, 14, 10, 0, 0)).isEmpty());
+    }
+
+    @Test
+    public void find_returnsAViewWithTheStoredValues() {
+        PriceView view = find(LocalDateTime.of(2020, 6, 14, 16, 0, 0)).orElseThrow();
+
+        assertEquals(BRAND_ID, view.brandId());
+        assertEquals(PRODUCT_ID, view.productId());
+        assertEquals(LocalDateTime.of(2020, 6, 14, 15, 0, 0), view.startDate());
+        assertEquals(LocalDateTime.of(2020, 6, 14, 18, 30, 0), view.endDate());
+        assertEquals(2L, view.priceList());
+        assertEquals(1, view.priority());
+        assertEquals(25.45, view.price());
+        assertEquals(CurrencyCode.EUR, view.currency());
+    }
+
+    @Test
+    public void find_keepsDatesOutsideTheCompactRangeExact() {
+        LocalDateTime openEnded = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+        store = ColumnarPriceStore.of(List.of(
+            row(1L, PRODUCT_ID, LocalDateTime.of(1900, 1, 1, 0, 0, 0), openEnded, 1L, 0, 10.0),
+            row(2L, PRODUCT_ID, LocalDateTime.of(2020, 1, 1, 0, 0, 0), LocalDateTime.of(2150, 1, 1, 0, 0, 0), 2L, 1, 20.0)
+        ));
+
+        assertEquals(2L, find(LocalDateTime.of(2120, 1, 1, 0, 0, 0)).orElseThrow().id());
+        assertEquals(1L, find(LocalDateTime.of(2200, 1, 1, 0, 0, 0)).orElseThrow().id());
+        assertEquals(openEnded, find(LocalDateTime.of(1950, 1, 1, 0, 0, 0)).orElseThrow().endDate());
+        assertEquals(LocalDateTime.of(1900, 1, 1, 0, 0, 0), find(LocalDateTime.of(1950, 1, 1, 0, 0, 0)).orElseThrow().startDate());
+    }
+
+    @Test
+    public void memoryFootprint_staysUnderFortyBytesPerPrice() {
+        List<PriceRow> rows = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0, 0);
+        long id = 1;
+        for (long productId = 100_000; productId < 125_000; productId++) {
+            for (int priority = 3; priority >= 0; priority--) {
+                rows.add(row(id++, productId, start.plusDays(priority), start.plusMonths(6), id, priority, 19.99));
+            }
+        }
+
+        ColumnarPriceStore large = ColumnarPriceStore.of(rows);
+
+        assertEquals(100_000, large.size());
+        assertEquals(25_000, large.groups());
+        assertTrue((double) large.memoryFootprint() / large.size() < 40, large.memoryFootprint() + " bytes");
+        assertEquals(3L, large.find(BRAND_ID, 100_000L, start.plusDays(1)).orElseThrow().id());
+    }
+
+    @Test
+    public void builder_rejectsRowsOutOfOrder() {
+        ColumnarPriceStore.Builder builder = ColumnarPriceStore.builder()
+            .add(row(2L, PRODUCT_ID, LocalDateTime.of(2020, 6, 14, 15, 0, 0), LocalDateTime.of(2020, 6, 14, 18, 30, 0), 2L, 1, 25.45));
+
+        assertThrows(IllegalArgumentException.class, () ->
+            builder.add(row(1L, PRODUCT_ID, LocalDateTime.of(2020, 6, 14, 0, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1L, 1, 35.50)));
+    }
+}
@@ -0,0 +1,248 @@
+package com.bcnc_group_test.persistence.index;
+
+import com.bcnc_group_test.entities.Brand;
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PriceBookTest {
+
+    private static final Brand BRAND = new Brand(1L, "Zara");
+    private static final Product PRODUCT = new Product(35455L, "Product 35455");
+    private static final Product OTHER_PRODUCT = new Product(35456L, "Product 35456");
+    private static final LocalDateTime APPLICATION_DATE = LocalDateTime.of(2020, 6, 14, 10, 0, 0);
+    private static final long MOVING_PRICE_ID = 100L;
+    private static final long MOVING_PRODUCT_ID = 36000L;
+    private static final int WRITERS = 4;
+    private static final int WRITES_PER_WRITER = 2_000;
+    private static final Duration PHASE = Duration.ofSeconds(1);
+    private static final double MIN_READS_WITH_WRITERS = 0.5;
+    private static final Path REPORT = Path.of("target", "load-tests", "price-book-reads.json");
+
+    private static Price createPrice(long id, Product product, int priority, double price) {
+        return new Price(id, BRAND, LocalDateTime.of(2020, 1, 1, 0, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), id,
+            product, priority, price, CurrencyCode.EUR);
+    }
+
+    private static Optional<Price> find(PriceBook book, Product product) {
+        return book.find(product.getId(), BRAND.getId(), APPLICATION_DATE);
+    }
+
+    @Test
+    public void with_returnsANewVersionAndLeavesThePreviousOneUntouched() {
+        PriceBook first = PriceBook.of(List.of(createPrice(1L, PRODUCT, 0, 35.50)));
+        PriceBook second = first.with(List.of(createPrice(2L, PRODUCT, 1, 25.45)));
+        PriceBook third = second.without(2L);
+
+        assertEquals(0, first.version());
+        assertEquals(1, second.version());
+        assertEquals(2, third.version());
+        assertEquals(1L, find(first, PRODUCT).orElseThrow().getId());
+        assertEquals(2L, find(second, PRODUCT).orElseThrow().getId());
+        assertEquals(1L, find(third, PRODUCT).orElseThrow().getId());
+        assertEquals(List.of(1, 2, 1), List.of(first.size(), second.size(), third.size()));
+    }
+
+    @Test
+    public void with_movesAPriceBetweenPairsInASingleVersion() {
+        PriceBook book = PriceBook.of(List.of(createPrice(MOVING_PRICE_ID, PRODUCT, 0, 10.0)));
+
+        PriceBook moved = book.with(List.of(createPrice(MOVING_PRICE_ID, OTHER_PRODUCT, 0, 11.0)));
+
+        assertTrue(find(moved, PRODUCT).isEmpty());
+        assertEquals(11.0, find(moved, OTHER_PRODUCT).orElseThrow().getPrice());
+        assertEquals(1, moved.size());
+    }
+
+    @Test
+    public void with_keepsTheSameContentOnceTheChangesAreMerged() {
+        PriceBook book = PriceBook.empty();
+        List<Price> prices = new ArrayList<>();
+        for (long id = 1; id <= 1_000; id++) {
+            Price price = createPrice(id, new Product(id, "Product " + id), 0, id);
+            prices.add(price);
+            book = book.with(List.of(price));
+        }
+        for (long id = 1; id <= 1_000; id += 2) {
+            book = book.without(id);
+        }
+
+        assertEquals(1_500, book.version());
+        assertEquals(500, book.size());
+        for (Price price : prices) {
+            Optional<Price> found = find(book, price.getProduct());
+            assertEquals(price.getId() % 2 == 0, found.isPresent(), "price " + price.getId());
+        }
+    }
+
+    /**
+     * Several writers each move a price of their own back and forth between two pairs, giving it the number of the
+     * write as its value, while several readers check that every book they get is a state the writes went through:
+     * each price is in one of its pairs only, the one its value says, and neither versions nor values ever go back.
+     */
+    @Test
+    public void readersSeeEveryVersionAsASequentialStateWhileWritersMovePrices() throws Exception {
+        PriceIndex priceIndex = movingPricesIndex();
+        long baseVersion = priceIndex.version();
+        int readers = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(readers + WRITERS);
+        try {
+            AtomicBoolean running = new AtomicBoolean(true);
+            List<Future<Long>> reads = startReaders(executor, readers, priceIndex, running);
+            List<Future<?>> writes = new ArrayList<>();
+            for (int writer = 0; writer < WRITERS; writer++) {
+                int id = writer;
+                writes.add(executor.submit(() -> {
+                    for (int write = 1; write <= WRITES_PER_WRITER; write++) {
+                        move(priceIndex, id, write);
+                    }
+                }));
+            }
+            for (Future<?> write : writes) {
+                write.get();
+            }
+            running.set(false);
+            sum(reads);
+
+            assertEquals(baseVersion + (long) WRITERS * WRITES_PER_WRITER, priceIndex.version());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Compares the reads done in {@link #PHASE} with and without {@link #WRITERS} writers, each writing every 50
+     * microseconds, and requires the readers to keep at least {@link #MIN_READS_WITH_WRITERS} of their reads: they
+     * never wait for a write, so only the CPU the writers take should slow them down. The counts are written to
+     * {@code target/load-tests/price-book-reads.json}.
+     */
+    @Test
+    @Tag("load")
+    public void readersKeepTheirThroughputWhileWritersMovePrices() throws Exception {
+        PriceIndex priceIndex = movingPricesIndex();
+        int readers = Math.max(1, Runtime.getRuntime().availableProcessors() - WRITERS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(readers + WRITERS);
+        try {
+            long readsWithoutWriters = readFor(executor, readers, priceIndex, 0);
+            long readsWithWriters = readFor(executor, readers, priceIndex, WRITERS);
+
+            Files.createDirectories(REPORT.getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(REPORT.toFile(),
+                new ReadsReport(PHASE.toMillis(), readers, WRITERS, readsWithoutWriters, readsWithWriters));
+            assertTrue(readsWithWriters >= MIN_READS_WITH_WRITERS * readsWithoutWriters,
+                readsWithWriters + " reads with writers against " + readsWithoutWriters + " without");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static PriceIndex movingPricesIndex() {
+        PriceIndex priceIndex = new PriceIndex();
+        List<Price> prices = new ArrayList<>();
+        for (int writer = 0; writer < WRITERS; writer++) {
+            prices.add(createPrice(MOVING_PRICE_ID + writer, productOf(writer, 0), 0, 0));
+        }
+        priceIndex.loadAll(prices);
+        return priceIndex;
+    }
+
+    /**
+     * The product the price of the writer is in after the given write: the first of its two while the count is even.
+     */
+    private static Product productOf(int writer, long write) {
+        long productId = MOVING_PRODUCT_ID + 2L * writer + write % 2;
+        return new Product(productId, "Product " + productId);
+    }
+
+    private static void move(PriceIndex priceIndex, int writer, long write) {
+        priceIndex.put(createPrice(MOVING_PRICE_ID + writer, productOf(writer, write), 0, write));
+    }
+
+    private static long readFor(ExecutorService executor, int readers, PriceIndex priceIndex, int writers) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<Long>> reads = startReaders(executor, readers, priceIndex, running);
+        List<Future<?>> writes = new ArrayList<>();
+        for (int writer = 0; writer < writers; writer++) {
+            int id = writer;
+            writes.add(executor.submit(() -> {
+                for (long write = 1; running.get(); write++) {
+                    move(priceIndex, id, write);
+                    LockSupport.parkNanos(50_000);
+                }
+            }));
+        }
+
+        Thread.sleep(PHASE.toMillis());
+        running.set(false);
+        for (Future<?> write : writes) {
+            write.get();
+        }
+        return sum(reads);
+    }
+
+    private static List<Future<Long>> startReaders(ExecutorService executor, int readers, PriceIndex priceIndex,
+                                                   AtomicBoolean running) {
+        List<Future<Long>> reads = new ArrayList<>();
+        for (int reader = 0; reader < readers; reader++) {
+            reads.add(executor.submit(() -> read(priceIndex, running)));
+        }
+        return reads;
+    }
+
+    private static long sum(List<Future<Long>> reads) throws Exception {
+        long total = 0;
+        for (Future<Long> read : reads) {
+            total += read.get();
+        }
+        return total;
+    }
+
+    private static long read(PriceIndex priceIndex, AtomicBoolean running) {
+        long reads = 0;
+        long lastVersion = priceIndex.version();
+        long[] lastWrites = new long[WRITERS];
+        while (running.get()) {
+            PriceBook book = priceIndex.current();
+            assertTrue(book.version() >= lastVersion, "versions went back from " + lastVersion + " to " + book.version());
+            lastVersion = book.version();
+
+            for (int writer = 0; writer < WRITERS; writer++) {
+                Optional<Price> inFirst = find(book, productOf(writer, 0));
+                Optional<Price> inSecond = find(book, productOf(writer, 1));
+                assertTrue(inFirst.isPresent() != inSecond.isPresent(),
+                    "version " + book.version() + " has the price of writer " + writer + " in both pairs or in none");
+                long write = (long) inFirst.or(() -> inSecond).orElseThrow().getPrice();
+                assertEquals(write % 2 == 0, inFirst.isPresent(), "version " + book.version());
+                assertTrue(write >= lastWrites[writer], "writer " + writer + " went back from " + lastWrites[writer] + " to " + write);
+                lastWrites[writer] = write;
+            }
+            reads++;
+        }
+        return reads;
+    }
+
+    private record ReadsReport(long phaseMillis, int readers, int writers, long readsWithoutWriters, long readsWithWriters) {
+    }
+}
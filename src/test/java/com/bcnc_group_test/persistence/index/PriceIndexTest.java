@@ -0,0 +1,123 @@
+package com.bcnc_group_test.persistence.index;
+
+import com.bcnc_group_test.entities.Brand;
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PriceIndexTest {
+
+    private final Brand brand = new Brand(1L, "Zara");
+    private final Product product = new Product(35455L, "Product 35455");
+    private PriceIndex priceIndex;
+
+    @BeforeEach
+    public void setUp() {
+        priceIndex = new PriceIndex();
+        priceIndex.loadAll(List.of(
+            createPrice(1L, LocalDateTime.of(2020, 6, 14, 0, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1L, 0, 35.50),
+            createPrice(2L, LocalDateTime.of(2020, 6, 14, 15, 0, 0), LocalDateTime.of(2020, 6, 14, 18, 30, 0), 2L, 1, 25.45),
+            createPrice(3L, LocalDateTime.of(2020, 6, 15, 0, 0, 0), LocalDateTime.of(2020, 6, 15, 11, 0, 0), 3L, 1, 30.50),
+            createPrice(4L, LocalDateTime.of(2020, 6, 15, 16, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 4L, 1, 38.95)
+        ));
+    }
+
+    private Price createPrice(long id, LocalDateTime startDate, LocalDateTime endDate, long priceList, int priority, double price) {
+        return new Price(id, brand, startDate, endDate, priceList, product, priority, price, CurrencyCode.EUR);
+    }
+
+    private Optional<Price> find(LocalDateTime applicationDate) {
+        return priceIndex.find(product.getId(), brand.getId(), applicationDate);
+    }
+
+    @Test
+    public void find_resolvesTheCasesRequestedInTheTest() {
+        assertEquals(1L, find(LocalDateTime.of(2020, 6, 14, 10, 0, 0)).orElseThrow().getPriceList());
+        assertEquals(2L, find(LocalDateTime.of(2020, 6, 14, 16, 0, 0)).orElseThrow().getPriceList());
+        assertEquals(1L, find(LocalDateTime.of(2020, 6, 14, 21, 0, 0)).orElseThrow().getPriceList());
+        assertEquals(3L, find(LocalDateTime.of(2020, 6, 15, 10, 0, 0)).orElseThrow().getPriceList());
+        assertEquals(4L, find(LocalDateTime.of(2020, 6, 16, 21, 0, 0)).orElseThrow().getPriceList());
+    }
+
+    @Test
+    public void find_boundariesAreInclusive() {
+        assertEquals(2L, find(LocalDateTime.of(2020, 6, 14, 15, 0, 0)).orElseThrow().getPriceList());
+        assertEquals(2L, find(LocalDateTime.of(2020, 6, 14, 18, 30, 0)).orElseThrow().getPriceList());
+        assertEquals(1L, find(LocalDateTime.of(2020, 6, 14, 18, 30, 1)).orElseThrow().getPriceList());
+        assertEquals(4L, find(LocalDateTime.of(2020, 12, 31, 23, 59, 59)).orElseThrow().getPriceList());
+    }
+
+    @Test
+    public void find_outsideEveryIntervalOrUnknownKeyIsEmpty() {
+        assertTrue(find(LocalDateTime.of(2020, 6, 13, 23, 59, 59)).isEmpty());
+        assertTrue(find(LocalDateTime.of(2021, 1, 1, 0, 0, 0)).isEmpty());
+        assertTrue(priceIndex.find(1L, brand.getId(), LocalDateTime.of(2020, 6, 14, 10, 0, 0)).isEmpty());
+        assertTrue(priceIndex.find(null, brand.getId(), LocalDateTime.of(2020, 6, 14, 10, 0, 0)).isEmpty());
+    }
+
+    @Test
+    public void find_samePriorityIsWonByTheOldestPrice() {
+        priceIndex.put(createPrice(5L, LocalDateTime.of(2020, 6, 14, 0, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 5L, 0, 99.99));
+
+        assertEquals(1L, find(LocalDateTime.of(2020, 6, 14, 10, 0, 0)).orElseThrow().getPriceList());
+    }
+
+    @Test
+    public void put_replacesThePriceWithTheSameId() {
+        priceIndex.put(createPrice(2L, LocalDateTime.of(2020, 6, 14, 8, 0, 0), LocalDateTime.of(2020, 6, 14, 12, 0, 0), 2L, 1, 20.00));
+
+        assertEquals(4, priceIndex.size());
+        assertEquals(20.00, find(LocalDateTime.of(2020, 6, 14, 10, 0, 0)).orElseThrow().getPrice());
+        assertEquals(1L, find(LocalDateTime.of(2020, 6, 14, 16, 0, 0)).orElseThrow().getPriceList());
+    }
+
+    @Test
+    public void remove_dropsThePriceFromItsGroup() {
+        priceIndex.remove(3L);
+
+        assertEquals(3, priceIndex.size());
+        assertEquals(1L, find(LocalDateTime.of(2020, 6, 15, 10, 0, 0)).orElseThrow().getPriceList());
+    }
+
+    @Test
+    public void load_replaysTheWritesMadeWhileThePricesAreRead() {
+        long version = priceIndex.version();
+
+        priceIndex.load(() -> {
+            List<Price> stored = List.of(
+                createPrice(1L, LocalDateTime.of(2020, 6, 14, 0, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1L, 0, 35.50),
+                createPrice(3L, LocalDateTime.of(2020, 6, 15, 0, 0, 0), LocalDateTime.of(2020, 6, 15, 11, 0, 0), 3L, 1, 30.50));
+            priceIndex.put(createPrice(5L, LocalDateTime.of(2020, 6, 14, 8, 0, 0), LocalDateTime.of(2020, 6, 14, 12, 0, 0), 5L, 1, 20.00));
+            priceIndex.remove(3L);
+            return stored;
+        });
+
+        assertEquals(version + 3, priceIndex.version());
+        assertEquals(2, priceIndex.size());
+        assertEquals(5L, find(LocalDateTime.of(2020, 6, 14, 10, 0, 0)).orElseThrow().getPriceList());
+        assertEquals(1L, find(LocalDateTime.of(2020, 6, 15, 10, 0, 0)).orElseThrow().getPriceList());
+    }
+
+    @Test
+    public void load_keepsTheCurrentBookWhenThePricesCannotBeRead() {
+        long version = priceIndex.version();
+
+        assertThrows(IllegalStateException.class, () -> priceIndex.load(() -> {
+            throw new IllegalStateException("database down");
+        }));
+        priceIndex.remove(3L);
+
+        assertEquals(version + 1, priceIndex.version());
+        assertEquals(3, priceIndex.size());
+    }
+}
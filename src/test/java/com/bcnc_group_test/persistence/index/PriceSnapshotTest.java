@@ -0,0 +1,108 @@
+package com.bcnc_group_test.persistence.index;
+
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.repository.projection.PriceRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PriceSnapshotTest {
+
+    private static final long BRAND_ID = 1L;
+    private static final long PRODUCT_ID = 35455L;
+
+    @TempDir
+    private Path directory;
+
+    private static PriceRow row(long id, long productId, LocalDateTime startDate, LocalDateTime endDate, int priority, double price,
+                                CurrencyCode currency) {
+        return new PriceRow(id, BRAND_ID, productId, startDate, endDate, id, priority, price, currency);
+    }
+
+    private static ColumnarPriceStore store() {
+        return ColumnarPriceStore.of(List.of(
+            row(1L, PRODUCT_ID, LocalDateTime.of(2020, 6, 14, 0, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 0, 35.50, CurrencyCode.EUR),
+            row(2L, PRODUCT_ID, LocalDateTime.of(2020, 6, 14, 15, 0, 0), LocalDateTime.of(2020, 6, 14, 18, 30, 0), 1, 25.45, CurrencyCode.EUR),
+            row(7L, 35456L, LocalDateTime.of(1900, 1, 1, 0, 0, 0), LocalDateTime.of(9999, 12, 31, 23, 59, 59), 0, 10.0, CurrencyCode.USD)
+        ));
+    }
+
+    @Test
+    public void open_servesTheSameLookupsAsTheWrittenStore() throws IOException {
+        Path path = directory.resolve("prices.snapshot");
+        PriceSnapshot.write(store(), path);
+
+        PriceSnapshot snapshot = PriceSnapshot.open(path);
+        ColumnarPriceStore mapped = snapshot.store();
+
+        assertEquals(3, mapped.size());
+        assertEquals(2, mapped.groups());
+        assertEquals(7L, snapshot.maxPriceId());
+        assertEquals(2L, mapped.find(BRAND_ID, PRODUCT_ID, LocalDateTime.of(2020, 6, 14, 16, 0, 0)).orElseThrow().id());
+        PriceView view = mapped.find(BRAND_ID, PRODUCT_ID, LocalDateTime.of(2020, 6, 14, 10, 0, 0)).orElseThrow();
+        assertEquals(35.50, view.price());
+        assertEquals(LocalDateTime.of(2020, 12, 31, 23, 59, 59), view.endDate());
+        PriceView outOfRange = mapped.find(BRAND_ID, 35456L, LocalDateTime.of(2020, 1, 1, 0, 0, 0)).orElseThrow();
+        assertEquals(LocalDateTime.of(1900, 1, 1, 0, 0, 0), outOfRange.startDate());
+        assertEquals(LocalDateTime.of(9999, 12, 31, 23, 59, 59), outOfRange.endDate());
+        assertEquals(CurrencyCode.USD, outOfRange.currency());
+        assertFalse(Files.exists(directory.resolve("prices.snapshot.tmp")));
+    }
+
+    @Test
+    public void open_readsAnEmptyStore() throws IOException {
+        Path path = directory.resolve("empty.snapshot");
+        PriceSnapshot.write(ColumnarPriceStore.empty(), path);
+
+        PriceSnapshot snapshot = PriceSnapshot.open(path);
+
+        assertEquals(0, snapshot.store().size());
+        assertTrue(snapshot.store().find(BRAND_ID, PRODUCT_ID, LocalDateTime.of(2020, 6, 14, 10, 0, 0)).isEmpty());
+    }
+
+    @Test
+    public void open_rejectsACorruptFile() throws IOException {
+        Path path = directory.resolve("prices.snapshot");
+        PriceSnapshot.write(store(), path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {42}), PriceSnapshot.HEADER_SIZE + 3);
+        }
+
+        IOException exception = assertThrows(IOException.class, () -> PriceSnapshot.open(path));
+        assertTrue(exception.getMessage().contains("checksum"));
+    }
+
+    @Test
+    public void open_rejectsAnotherFormatVersion() throws IOException {
+        Path path = directory.resolve("prices.snapshot");
+        PriceSnapshot.write(store(), path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(PriceSnapshot.FORMAT_VERSION + 1).flip(), Integer.BYTES);
+        }
+
+        IOException exception = assertThrows(IOException.class, () -> PriceSnapshot.open(path));
+        assertTrue(exception.getMessage().contains("format version"));
+    }
+
+    @Test
+    public void open_rejectsAFileThatIsNotASnapshot() throws IOException {
+        Path path = directory.resolve("prices.csv");
+        Files.writeString(path, "brand_id,product_id,start_date,end_date,price_list,priority,price,currency\n".repeat(2));
+
+        assertThrows(IOException.class, () -> PriceSnapshot.open(path));
+    }
+}
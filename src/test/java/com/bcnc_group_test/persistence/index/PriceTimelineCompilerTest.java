@@ -0,0 +1,100 @@
+package com.bcnc_group_test.persistence.index;
+
+import com.bcnc_group_test.entities.Brand;
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.Product;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PriceTimelineCompilerTest {
+
+    private final Brand brand = new Brand(1L, "Zara");
+    private final Product product = new Product(35455L, "Product 35455");
+
+    private Price createPrice(long id, LocalDateTime startDate, LocalDateTime endDate, long priceList, int priority) {
+        return new Price(id, brand, startDate, endDate, priceList, product, priority, 10.0 * priceList, CurrencyCode.EUR);
+    }
+
+    private static void assertSegment(PriceSegment segment, LocalDateTime startDate, LocalDateTime endDate, long priceList) {
+        assertEquals(startDate, segment.startDate());
+        assertEquals(endDate, segment.endDate());
+        assertEquals(priceList, segment.price().getPriceList());
+    }
+
+    @Test
+    public void compile_flattensTheTariffsOfTheImportScript() {
+        List<PriceSegment> segments = PriceTimelineCompiler.compile(List.of(
+            createPrice(1L, LocalDateTime.of(2020, 6, 14, 0, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1L, 0),
+            createPrice(2L, LocalDateTime.of(2020, 6, 14, 15, 0, 0), LocalDateTime.of(2020, 6, 14, 18, 30, 0), 2L, 1),
+            createPrice(3L, LocalDateTime.of(2020, 6, 15, 0, 0, 0), LocalDateTime.of(2020, 6, 15, 11, 0, 0), 3L, 1),
+            createPrice(4L, LocalDateTime.of(2020, 6, 15, 16, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 4L, 1)
+        ));
+
+        assertEquals(6, segments.size());
+        assertSegment(segments.get(0), LocalDateTime.of(2020, 6, 14, 0, 0, 0), LocalDateTime.of(2020, 6, 14, 14, 59, 59, 999_999_999), 1L);
+        assertSegment(segments.get(1), LocalDateTime.of(2020, 6, 14, 15, 0, 0), LocalDateTime.of(2020, 6, 14, 18, 30, 0), 2L);
+        assertSegment(segments.get(2), LocalDateTime.of(2020, 6, 14, 18, 30, 0, 1), LocalDateTime.of(2020, 6, 14, 23, 59, 59, 999_999_999), 1L);
+        assertSegment(segments.get(3), LocalDateTime.of(2020, 6, 15, 0, 0, 0), LocalDateTime.of(2020, 6, 15, 11, 0, 0), 3L);
+        assertSegment(segments.get(4), LocalDateTime.of(2020, 6, 15, 11, 0, 0, 1), LocalDateTime.of(2020, 6, 15, 15, 59, 59, 999_999_999), 1L);
+        assertSegment(segments.get(5), LocalDateTime.of(2020, 6, 15, 16, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 4L);
+    }
+
+    @Test
+    public void compile_leavesGapsWithoutSegments() {
+        List<PriceSegment> segments = PriceTimelineCompiler.compile(List.of(
+            createPrice(1L, LocalDateTime.of(2020, 1, 1, 0, 0, 0), LocalDateTime.of(2020, 1, 31, 23, 59, 59), 1L, 0),
+            createPrice(2L, LocalDateTime.of(2020, 3, 1, 0, 0, 0), LocalDateTime.of(2020, 3, 31, 23, 59, 59), 2L, 0)
+        ));
+
+        assertEquals(2, segments.size());
+        assertSegment(segments.get(0), LocalDateTime.of(2020, 1, 1, 0, 0, 0), LocalDateTime.of(2020, 1, 31, 23, 59, 59), 1L);
+        assertSegment(segments.get(1), LocalDateTime.of(2020, 3, 1, 0, 0, 0), LocalDateTime.of(2020, 3, 31, 23, 59, 59), 2L);
+        assertTrue(PriceTimeline.of(List.of(segments.get(0).price(), segments.get(1).price()))
+            .find(LocalDateTime.of(2020, 2, 15, 0, 0, 0)).isEmpty());
+    }
+
+    @Test
+    public void compile_lowerPriorityResumesAfterANestedHigherPriority() {
+        List<PriceSegment> segments = PriceTimelineCompiler.compile(List.of(
+            createPrice(1L, LocalDateTime.of(2020, 1, 1, 0, 0, 0), LocalDateTime.of(2020, 1, 31, 0, 0, 0), 1L, 0),
+            createPrice(2L, LocalDateTime.of(2020, 1, 5, 0, 0, 0), LocalDateTime.of(2020, 1, 25, 0, 0, 0), 2L, 1),
+            createPrice(3L, LocalDateTime.of(2020, 1, 10, 0, 0, 0), LocalDateTime.of(2020, 1, 20, 0, 0, 0), 3L, 2)
+        ));
+
+        assertEquals(5, segments.size());
+        assertEquals(List.of(1L, 2L, 3L, 2L, 1L), segments.stream().map(segment -> segment.price().getPriceList()).toList());
+        assertSegment(segments.get(3), LocalDateTime.of(2020, 1, 20, 0, 0, 0, 1), LocalDateTime.of(2020, 1, 25, 0, 0, 0), 2L);
+    }
+
+    @Test
+    public void compile_samePriorityIsWonByTheOldestPrice() {
+        List<PriceSegment> segments = PriceTimelineCompiler.compile(List.of(
+            createPrice(2L, LocalDateTime.of(2020, 1, 1, 0, 0, 0), LocalDateTime.of(2020, 1, 31, 0, 0, 0), 2L, 0),
+            createPrice(1L, LocalDateTime.of(2020, 1, 1, 0, 0, 0), LocalDateTime.of(2020, 1, 31, 0, 0, 0), 1L, 0)
+        ));
+
+        assertEquals(1, segments.size());
+        assertEquals(1L, segments.get(0).price().getPriceList());
+    }
+
+    @Test
+    public void timeline_recompilesOnlyWithTheChangedPrice() {
+        Price base = createPrice(1L, LocalDateTime.of(2020, 1, 1, 0, 0, 0), LocalDateTime.of(2020, 1, 31, 0, 0, 0), 1L, 0);
+        PriceTimeline timeline = PriceTimeline.of(List.of(base));
+
+        PriceTimeline withPromotion = timeline.with(
+            createPrice(2L, LocalDateTime.of(2020, 1, 10, 0, 0, 0), LocalDateTime.of(2020, 1, 12, 0, 0, 0), 2L, 1));
+
+        assertEquals(1, timeline.segments().size());
+        assertEquals(3, withPromotion.segments().size());
+        assertEquals(2L, withPromotion.find(LocalDateTime.of(2020, 1, 11, 0, 0, 0)).orElseThrow().getPriceList());
+        assertEquals(1, withPromotion.without(2L).segments().size());
+        assertTrue(withPromotion.without(1L).without(2L).isEmpty());
+    }
+}
@@ -0,0 +1,247 @@
+package com.bcnc_group_test.services;
+
+import com.bcnc_group_test.entities.Brand;
+import com.bcnc_group_test.entities.CurrencyCode;
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.entities.PriceChangeType;
+import com.bcnc_group_test.entities.Product;
+import com.bcnc_group_test.events.InProcessPriceChangeBroker;
+import com.bcnc_group_test.events.PriceChangeEvent;
+import com.bcnc_group_test.events.PriceChangeNode;
+import com.bcnc_group_test.metrics.PriceLookupMetrics;
+import com.bcnc_group_test.services.impl.PriceCachedServiceImpl;
+import com.bcnc_group_test.services.impl.PriceServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PriceCachedServiceImplTest {
+
+    private static final long BRAND_ID = 1L;
+    private static final long PRODUCT_ID = 35455L;
+    private static final long OTHER_PRODUCT_ID = 35456L;
+    private static final String LOCAL_NODE = "local";
+    private static final String PEER_NODE = "peer";
+    private static final LocalDateTime APPLICATION_DATE = LocalDateTime.of(2020, 6, 14, 16, 0, 0);
+
+    private PriceServiceImpl priceService;
+    private MeterRegistry meterRegistry;
+    private InProcessPriceChangeBroker broker;
+    private PriceCachedServiceImpl priceCachedService;
+    private Price basePrice;
+    private Price promotion;
+    private Price otherProductPrice;
+
+    @BeforeEach
+    public void setUp() {
+        priceService = mock(PriceServiceImpl.class);
+        meterRegistry = new SimpleMeterRegistry();
+        broker = new InProcessPriceChangeBroker();
+        priceCachedService = new PriceCachedServiceImpl(priceService, new PriceLookupMetrics(ObservationRegistry.NOOP, meterRegistry), meterRegistry,
+            broker, new PriceChangeNode(LOCAL_NODE), 100, 0);
+        priceCachedService.start();
+        basePrice = price(1L, PRODUCT_ID, LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 0, 35.50);
+        promotion = price(2L, PRODUCT_ID, LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30), 1, 25.45);
+        otherProductPrice = price(3L, OTHER_PRODUCT_ID, LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 0, 10.0);
+        when(priceService.findByBrandIdAndProductIds(BRAND_ID, List.of(PRODUCT_ID))).thenReturn(List.of(basePrice, promotion));
+        when(priceService.findByBrandIdAndProductIds(BRAND_ID, List.of(OTHER_PRODUCT_ID))).thenReturn(List.of(otherProductPrice));
+    }
+
+    @Test
+    public void getPrice_readsEachBrandAndProductOnce() {
+        Optional<Price> first = priceCachedService.getPrice(PRODUCT_ID, BRAND_ID, LocalDateTime.of(2020, 6, 14, 16, 0, 0));
+        Optional<Price> second = priceCachedService.getPrice(PRODUCT_ID, BRAND_ID, LocalDateTime.of(2020, 6, 14, 16, 0, 1));
+        Optional<Price> third = priceCachedService.getPrice(PRODUCT_ID, BRAND_ID, LocalDateTime.of(2020, 6, 14, 20, 0, 0));
+
+        assertEquals(2L, first.orElseThrow().getId());
+        assertEquals(2L, second.orElseThrow().getId());
+        assertEquals(1L, third.orElseThrow().getId());
+        verify(priceService, times(1)).findByBrandIdAndProductIds(BRAND_ID, List.of(PRODUCT_ID));
+        assertEquals(2, priceCachedService.stats().hitCount());
+        assertEquals(1, priceCachedService.stats().missCount());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", PriceCachedServiceImpl.CACHE_NAME).tag("result", "hit").functionCounter().count());
+        assertEquals(2.0 / 3, meterRegistry.get("price.cache.hit.ratio").gauge().value(), 1e-9);
+    }
+
+    @Test
+    public void save_onlyInvalidatesTheAffectedBrandAndProduct() {
+        LocalDateTime applicationDate = LocalDateTime.of(2020, 6, 14, 16, 0, 0);
+        priceCachedService.getPrice(PRODUCT_ID, BRAND_ID, applicationDate);
+        priceCachedService.getPrice(OTHER_PRODUCT_ID, BRAND_ID, applicationDate);
+
+        Price updatedPromotion = price(2L, PRODUCT_ID, promotion.getStartDate(), promotion.getEndDate(), 1, 20.0);
+        when(priceService.findById(2L)).thenReturn(Optional.of(promotion));
+        when(priceService.findByBrandIdAndProductIds(BRAND_ID, List.of(PRODUCT_ID))).thenReturn(List.of(basePrice, updatedPromotion));
+        priceCachedService.save(updatedPromotion);
+
+        assertEquals(20.0, priceCachedService.getPrice(PRODUCT_ID, BRAND_ID, applicationDate).orElseThrow().getPrice());
+        assertEquals(10.0, priceCachedService.getPrice(OTHER_PRODUCT_ID, BRAND_ID, applicationDate).orElseThrow().getPrice());
+        verify(priceService).save(updatedPromotion);
+        verify(priceService, times(2)).findByBrandIdAndProductIds(BRAND_ID, List.of(PRODUCT_ID));
+        verify(priceService, times(1)).findByBrandIdAndProductIds(BRAND_ID, List.of(OTHER_PRODUCT_ID));
+    }
+
+    @Test
+    public void deleteById_makesTheDeletedPriceDisappear() {
+        LocalDateTime applicationDate = LocalDateTime.of(2020, 6, 14, 16, 0, 0);
+        priceCachedService.getPrice(PRODUCT_ID, BRAND_ID, applicationDate);
+
+        when(priceService.findById(2L)).thenReturn(Optional.of(promotion));
+        when(priceService.findByBrandIdAndProductIds(BRAND_ID, List.of(PRODUCT_ID))).thenReturn(List.of(basePrice));
+        priceCachedService.deleteById(2L);
+
+        assertEquals(1L, priceCachedService.getPrice(PRODUCT_ID, BRAND_ID, applicationDate).orElseThrow().getId());
+        verify(priceService).deleteById(2L);
+    }
+
+    @Test
+    public void save_invalidatesOnceTheTransactionCommits() {
+        LocalDateTime applicationDate = LocalDateTime.of(2020, 6, 14, 16, 0, 0);
+        priceCachedService.getPrice(PRODUCT_ID, BRAND_ID, applicationDate);
+
+        Price updatedPromotion = price(2L, PRODUCT_ID, promotion.getStartDate(), promotion.getEndDate(), 1, 20.0);
+        when(priceService.findById(2L)).thenReturn(Optional.of(promotion));
+        when(priceService.findByBrandIdAndProductIds(BRAND_ID, List.of(PRODUCT_ID))).thenReturn(List.of(basePrice, updatedPromotion));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            priceCachedService.save(updatedPromotion);
+            assertEquals(25.45, priceCachedService.getPrice(PRODUCT_ID, BRAND_ID, applicationDate).orElseThrow().getPrice());
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(20.0, priceCachedService.getPrice(PRODUCT_ID, BRAND_ID, applicationDate).orElseThrow().getPrice());
+    }
+
+    @Test
+    public void priceBookVersion_isHeldBackUntilTheCommitIsEvicted() {
+        when(priceService.priceBookVersion()).thenReturn(OptionalLong.of(1L));
+        assertEquals(OptionalLong.of(1L), priceCachedService.priceBookVersion());
+
+        when(priceService.findById(2L)).thenReturn(Optional.of(promotion));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            priceCachedService.deleteById(2L);
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            when(priceService.priceBookVersion()).thenReturn(OptionalLong.of(2L));
+            assertEquals(OptionalLong.of(1L), priceCachedService.priceBookVersion());
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(OptionalLong.of(2L), priceCachedService.priceBookVersion());
+    }
+
+    @Test
+    public void getPrices_loadsTheMissingProductsWithOneQuery() {
+        when(priceService.findByBrandIdAndProductIds(eq(BRAND_ID), anyCollection())).thenReturn(List.of(basePrice, promotion, otherProductPrice));
+
+        Map<Long, Optional<Price>> prices = priceCachedService.getPrices(BRAND_ID, List.of(PRODUCT_ID, OTHER_PRODUCT_ID, 99L),
+            LocalDateTime.of(2020, 6, 14, 16, 0, 0));
+
+        assertEquals(List.of(PRODUCT_ID, OTHER_PRODUCT_ID, 99L), List.copyOf(prices.keySet()));
+        assertEquals(2L, prices.get(PRODUCT_ID).orElseThrow().getId());
+        assertEquals(3L, prices.get(OTHER_PRODUCT_ID).orElseThrow().getId());
+        assertTrue(prices.get(99L).isEmpty());
+        verify(priceService, times(1)).findByBrandIdAndProductIds(eq(BRAND_ID), eq(Set.of(PRODUCT_ID, OTHER_PRODUCT_ID, 99L)));
+    }
+
+    @Test
+    public void aChangePublishedByAPeer_evictsOnlyItsPair() {
+        priceCachedService.getPrice(PRODUCT_ID, BRAND_ID, APPLICATION_DATE);
+        priceCachedService.getPrice(OTHER_PRODUCT_ID, BRAND_ID, APPLICATION_DATE);
+
+        Price updatedPromotion = price(2L, PRODUCT_ID, promotion.getStartDate(), promotion.getEndDate(), 1, 20.0);
+        when(priceService.findByBrandIdAndProductIds(BRAND_ID, List.of(PRODUCT_ID))).thenReturn(List.of(basePrice, updatedPromotion));
+        broker.publish(List.of(event(PriceChangeEvent.PROTOCOL_VERSION, PEER_NODE, updatedPromotion, PRODUCT_ID)));
+
+        assertEquals(20.0, priceCachedService.getPrice(PRODUCT_ID, BRAND_ID, APPLICATION_DATE).orElseThrow().getPrice());
+        assertEquals(10.0, priceCachedService.getPrice(OTHER_PRODUCT_ID, BRAND_ID, APPLICATION_DATE).orElseThrow().getPrice());
+        verify(priceService, times(2)).findByBrandIdAndProductIds(BRAND_ID, List.of(PRODUCT_ID));
+        verify(priceService, times(1)).findByBrandIdAndProductIds(BRAND_ID, List.of(OTHER_PRODUCT_ID));
+    }
+
+    @Test
+    public void aPriceMovedByAPeer_evictsThePairItLeftToo() {
+        priceCachedService.getPrice(PRODUCT_ID, BRAND_ID, APPLICATION_DATE);
+        priceCachedService.getPrice(OTHER_PRODUCT_ID, BRAND_ID, APPLICATION_DATE);
+
+        Price movedPromotion = price(2L, OTHER_PRODUCT_ID, promotion.getStartDate(), promotion.getEndDate(), 1, 25.45);
+        when(priceService.findByBrandIdAndProductIds(BRAND_ID, List.of(PRODUCT_ID))).thenReturn(List.of(basePrice));
+        when(priceService.findByBrandIdAndProductIds(BRAND_ID, List.of(OTHER_PRODUCT_ID))).thenReturn(List.of(otherProductPrice, movedPromotion));
+        broker.publish(List.of(event(PriceChangeEvent.PROTOCOL_VERSION, PEER_NODE, movedPromotion, PRODUCT_ID)));
+
+        assertEquals(1L, priceCachedService.getPrice(PRODUCT_ID, BRAND_ID, APPLICATION_DATE).orElseThrow().getId());
+        assertEquals(2L, priceCachedService.getPrice(OTHER_PRODUCT_ID, BRAND_ID, APPLICATION_DATE).orElseThrow().getId());
+    }
+
+    @Test
+    public void aChangeMadeLocally_isNotEvictedAgainWhenPublished() {
+        priceCachedService.getPrice(PRODUCT_ID, BRAND_ID, APPLICATION_DATE);
+
+        broker.publish(List.of(event(PriceChangeEvent.PROTOCOL_VERSION, LOCAL_NODE, promotion, PRODUCT_ID)));
+        priceCachedService.getPrice(PRODUCT_ID, BRAND_ID, APPLICATION_DATE);
+
+        verify(priceService, times(1)).findByBrandIdAndProductIds(BRAND_ID, List.of(PRODUCT_ID));
+    }
+
+    @Test
+    public void aChangeOfANewerProtocol_clearsTheWholeCache() {
+        priceCachedService.getPrice(PRODUCT_ID, BRAND_ID, APPLICATION_DATE);
+        priceCachedService.getPrice(OTHER_PRODUCT_ID, BRAND_ID, APPLICATION_DATE);
+
+        broker.publish(List.of(event(PriceChangeEvent.PROTOCOL_VERSION + 1, PEER_NODE, promotion, PRODUCT_ID)));
+        priceCachedService.getPrice(PRODUCT_ID, BRAND_ID, APPLICATION_DATE);
+        priceCachedService.getPrice(OTHER_PRODUCT_ID, BRAND_ID, APPLICATION_DATE);
+
+        verify(priceService, times(2)).findByBrandIdAndProductIds(BRAND_ID, List.of(PRODUCT_ID));
+        verify(priceService, times(2)).findByBrandIdAndProductIds(BRAND_ID, List.of(OTHER_PRODUCT_ID));
+    }
+
+    private static PriceChangeEvent event(int protocol, String origin, Price price, long previousProductId) {
+        return new PriceChangeEvent(protocol, 1L, PriceChangeType.SAVED, price.getId(), BRAND_ID, "Zara", price.getProduct().getId(),
+            price.getProduct().getName(), price.getStartDate(), price.getEndDate(), price.getPriceList(), price.getPriority(),
+            price.getPrice(), price.getCurrency(), origin, APPLICATION_DATE, BRAND_ID, previousProductId);
+    }
+
+    private static Price price(Long id, long productId, LocalDateTime startDate, LocalDateTime endDate, int priority, double value) {
+        return Price.builder()
+            .id(id)
+            .brand(Brand.builder().id(BRAND_ID).name("Zara").build())
+            .product(Product.builder().id(productId).name("Product " + productId).build())
+            .startDate(startDate)
+            .endDate(endDate)
+            .priceList(id)
+            .priority(priority)
+            .price(value)
+            .currency(CurrencyCode.EUR)
+            .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.bcnc_group_test.services;
+
+import com.bcnc_group_test.handler.ExportResponseHandler;
+import com.bcnc_group_test.handler.ExportResponseHandler.ExportFormat;
+import com.bcnc_group_test.repository.projection.PriceRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "bcnc_group_test.price.import.batch-size=2")
+@Transactional
+public class PriceImportServiceImplTest {
+
+    private static final long PRODUCT_ID = 3000L;
+
+    @Autowired
+    private IPriceImportService priceImportService;
+    @Autowired
+    private IPriceService priceService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("INSERT INTO product (id, name) VALUES (?, ?)", PRODUCT_ID, "Product " + PRODUCT_ID);
+    }
+
+    @Test
+    public void importPrices_csvStoresValidRowsAndReportsTheRest() throws Exception {
+        String csv = """
+            brand_id,product_id,start_date,end_date,price_list,priority,price,currency
+            1,3000,2020-06-14 00:00:00,2020-12-31 23:59:59,1,0,35.50,EUR
+            1,3000,2020-06-14T15:00:00,2020-06-14T18:30:00,2,1,25.45,EUR
+
+            1,3000,2020-06-15 00:00:00,2020-06-14 00:00:00,3,0,30.50,EUR
+            99,3000,2020-06-15 00:00:00,2020-06-15 11:00:00,3,0,30.50,EUR
+            1,3000,2020-06-15 16:00:00,2020-12-31 23:59:59,4,1,38.95,XXX
+            1,3000,not-a-date,2020-12-31 23:59:59,4,1,38.95,EUR
+            1,3000,2020-06-15 16:00:00,2020-12-31 23:59:59,4,1,38.95,EUR
+            """;
+
+        PriceImportReport report = priceImportService.importPrices(reader(csv), PriceImportFormat.CSV);
+
+        assertEquals(3, report.imported());
+        assertEquals(4, report.rejected());
+        assertEquals(List.of(
+            "Line 5: startDate must not be after endDate",
+            "Line 7: currency XXX is not supported",
+            "Line 8: start_date must have the format yyyy-MM-dd HH:mm:ss",
+            "Line 6: Brand 99 does not exist"
+        ), report.errors());
+        assertEquals(3, countPrices());
+    }
+
+    @Test
+    public void importPrices_ndjsonStoresValidRows() throws Exception {
+        String ndjson = """
+            {"brandId":1,"productId":3000,"startDate":"2020-06-14T00:00:00","endDate":"2020-12-31T23:59:59","priceList":1,"priority":0,"price":35.5,"currency":"EUR"}
+            {"brandId":1,"productId":3000,"startDate":"2020-06-14T15:00:00","endDate":"2020-06-14T18:30:00","priceList":2,"priority":1,"currency":"EUR"}
+            {"brandId":1,"productId":3001,"startDate":"2020-06-14T15:00:00","endDate":"2020-06-14T18:30:00","priceList":2,"priority":1,"price":25.45,"currency":"EUR"}
+            {"brandId":1,
+            """;
+
+        PriceImportReport report = priceImportService.importPrices(reader(ndjson), PriceImportFormat.NDJSON);
+
+        assertEquals(1, report.imported());
+        assertEquals(3, report.rejected());
+        assertEquals("Line 2: price is required", report.errors().get(0));
+        assertEquals("Line 3: Product 3001 does not exist", report.errors().get(1));
+        assertTrue(report.errors().get(2).startsWith("Line 4: "));
+        assertEquals(1, countPrices());
+    }
+
+    @Test
+    public void importPrices_acceptsItsOwnExport() throws Exception {
+        priceImportService.importPrices(reader("""
+            1,3000,2020-06-14 00:00:00,2020-12-31 23:59:59,1,0,35.50,EUR
+            1,3000,2020-06-14 15:00:00,2020-06-14 18:30:00,2,1,25.45,EUR
+            """), PriceImportFormat.CSV);
+
+        for (ExportFormat exportFormat : ExportFormat.values()) {
+            long before = countPrices();
+            assertTrue(before >= 2, exportFormat.name());
+            String export = export(exportFormat);
+
+            PriceImportReport report = priceImportService.importPrices(reader(export),
+                exportFormat == ExportFormat.CSV ? PriceImportFormat.CSV : PriceImportFormat.NDJSON);
+
+            assertEquals(List.of(), report.errors(), exportFormat.name());
+            assertEquals(before, report.imported(), exportFormat.name());
+            assertEquals(2 * before, countPrices(), exportFormat.name());
+        }
+    }
+
+    private String export(ExportFormat exportFormat) throws IOException {
+        ExportResponseHandler.RowSource<PriceRow> source = action -> priceService.forEachRow(row -> {
+            if (row.productId() == PRODUCT_ID) {
+                action.accept(row);
+            }
+        });
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        ExportResponseHandler.generateExportResponse(objectMapper, source, PriceRow.class, exportFormat, false, "prices")
+            .getBody()
+            .writeTo(body);
+        return body.toString(StandardCharsets.UTF_8);
+    }
+
+    private long countPrices() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM price WHERE product_id = ?", Long.class, PRODUCT_ID);
+    }
+
+    private static BufferedReader reader(String body) {
+        return new BufferedReader(new StringReader(body));
+    }
+}
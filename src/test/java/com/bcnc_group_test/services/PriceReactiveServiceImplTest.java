@@ -0,0 +1,49 @@
+package com.bcnc_group_test.services;
+
+import com.bcnc_group_test.entities.Price;
+import com.bcnc_group_test.services.impl.PriceReactiveServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+public class PriceReactiveServiceImplTest {
+
+    private static final long PRODUCT_ID = 35455L;
+    private static final long BRAND_ID = 1L;
+
+    @Autowired
+    private PriceReactiveServiceImpl priceReactiveService;
+
+    @Test
+    public void findAll_streamsEveryPriceWithItsBrandAndProduct() {
+        List<Price> prices = priceReactiveService.findAll().collectList().block();
+
+        assertEquals(4, prices.size());
+        assertEquals(List.of(1L, 2L, 3L, 4L), prices.stream().map(Price::getId).toList());
+        assertEquals("Zara", prices.get(0).getBrand().getName());
+        assertEquals(PRODUCT_ID, prices.get(0).getProduct().getId());
+    }
+
+    @Test
+    public void getPrice_returnsTheHighestPriorityPriceInForce() {
+        Price price = priceReactiveService.getPrice(PRODUCT_ID, BRAND_ID, LocalDateTime.of(2020, 6, 14, 16, 0, 0)).block();
+
+        assertEquals(2L, price.getId());
+        assertEquals(1, price.getPriority());
+        assertEquals(25.45, price.getPrice());
+        assertEquals(LocalDateTime.of(2020, 6, 14, 15, 0, 0), price.getStartDate());
+        assertEquals(LocalDateTime.of(2020, 6, 14, 18, 30, 0), price.getEndDate());
+    }
+
+    @Test
+    public void getPrice_isEmptyOutsideEveryPrice() {
+        assertNull(priceReactiveService.getPrice(PRODUCT_ID, BRAND_ID, LocalDateTime.of(2019, 1, 1, 0, 0, 0)).block());
+    }
+}
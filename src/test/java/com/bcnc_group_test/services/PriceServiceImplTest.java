@@ -9,6 +9,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -128,4 +129,17 @@ public class PriceServiceImplTest {
         assertEquals(38.95, price.get().getPrice());
         assertEquals("EUR", price.get().getCurrency().getIsoCode());
     }
+
+    @Test
+    public void getPrices_resolvesEveryRequestedProduct() {
+        LocalDateTime applicationDate = LocalDateTime.of(2020, 6, 14, 16, 0, 0);
+
+        Map<Long, Optional<Price>> prices = priceService.getPrices(brandId, List.of(productId, 1L), applicationDate);
+
+        assertEquals(2, prices.size());
+        assertTrue(prices.get(productId).isPresent());
+        assertEquals(2L, prices.get(productId).get().getId());
+        assertEquals(25.45, prices.get(productId).get().getPrice());
+        assertTrue(prices.get(1L).isEmpty());
+    }
 }
@@ -8,4 +8,6 @@ INSERT INTO product (id, name) VALUES (35455, 'Product 35455');
 INSERT INTO price (brand_id, product_id, start_date, end_date, price_list, priority, price, currency) VALUES (1, 35455, '2020-06-14T00:00:00', '2020-12-31T23:59:59', 1, 0, 35.50, 'EUR');
 INSERT INTO price (brand_id, product_id, start_date, end_date, price_list, priority, price, currency) VALUES (1, 35455, '2020-06-14T15:00:00', '2020-06-14T18:30:00', 2, 1, 25.45, 'EUR');
 INSERT INTO price (brand_id, product_id, start_date, end_date, price_list, priority, price, currency) VALUES (1, 35455, '2020-06-15T00:00:00', '2020-06-15T11:00:00', 3, 1, 30.50, 'EUR');
-INSERT INTO price (brand_id, product_id, start_date, end_date, price_list, priority, price, currency) VALUES (1, 35455, '2020-06-15T16:00:00', '2020-12-31T23:59:59', 4, 1, 38.95, 'EUR');
\ No newline at end of file
+INSERT INTO price (brand_id, product_id, start_date, end_date, price_list, priority, price, currency) VALUES (1, 35455, '2020-06-15T16:00:00', '2020-12-31T23:59:59', 4, 1, 38.95, 'EUR');
+
+INSERT INTO price_history (price_id, brand_id, product_id, start_date, end_date, price_list, priority, price, currency, recorded_from, recorded_to) SELECT id, brand_id, product_id, start_date, end_date, price_list, priority, price, currency, CURRENT_TIMESTAMP, '9999-12-31T23:59:59' FROM price;